@@ -99,6 +99,8 @@ public final class ChecksumChecker {
         options.addOption("c", "count", true, "Check count");
         options.addOption("a", "handle", true, "Specify a handle to check");
         options.addOption("v", "verbose", false, "Report all processing");
+        options.addOption("t", "threads", true, "Number of bitstreams checked in parallel");
+        options.addOption("r", "rate", true, "Maximum number of bytes read per second from the assetstores");
 
         Option option;
 
@@ -203,6 +205,12 @@ public final class ChecksumChecker {
             if (line.hasOption('v')) {
                 checker.setReportVerbose(true);
             }
+            if (line.hasOption('t')) {
+                checker.setThreads(Integer.parseInt(line.getOptionValue('t')));
+            }
+            if (line.hasOption('r')) {
+                checker.setMaxBytesPerSecond(Long.parseLong(line.getOptionValue('r')));
+            }
 
             checker.setProcessStartDate(processStart);
             checker.setDispatcher(dispatcher);
@@ -236,6 +244,8 @@ public final class ChecksumChecker {
         System.out.println("\nLoop continuously through all bitstreams: ChecksumChecker -L");
         System.out.println("\nCheck a defined number of bitstreams: ChecksumChecker -c 10");
         System.out.println("\nReport all processing (verbose)(default reports only errors): ChecksumChecker -v");
+        System.out.println("\nCheck 4 bitstreams at a time, reading at most 50MB per second: "
+                               + "ChecksumChecker -l -t 4 -r 52428800");
         System.out.println("\nDefault (no arguments) is equivalent to '-c 1'");
         System.exit(0);
     }
@@ -40,7 +40,8 @@ import org.dspace.utils.DSpace;
  * recreate index after processing bitstreams; -i [identifier] limits processing
  * scope to a community, collection or item; -m [max] limits processing to a
  * maximum number of items; -fd [fromdate] takes only items starting from this date,
- * filtering by last_modified in the item table.
+ * filtering by last_modified in the item table; -t [threads] filters several
+ * items at the same time.
  */
 public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfiguration> {
 
@@ -53,6 +54,9 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     //suffix (in dspace.cfg) for input formats supported by each filter
     private static final String INPUT_FORMATS_SUFFIX = "inputFormats";
 
+    //key (in dspace.cfg) for the default number of items filtered at the same time
+    private static final String THREADS_KEY = "filter-media.threads";
+
     private boolean help;
     private boolean isVerbose = false;
     private boolean isQuiet = false;
@@ -63,6 +67,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
     private String[] skipIds = null;
     private Map<String, List<String>> filterFormats = new HashMap<>();
     private LocalDate fromDate = null;
+    private int threads = 1;
 
     public MediaFilterScriptConfiguration getScriptConfiguration() {
         return new DSpace().getServiceManager()
@@ -119,6 +124,16 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
             fromDate = LocalDate.parse(commandLine.getOptionValue('d'));
         }
 
+        if (commandLine.hasOption('t')) {
+            threads = Integer.parseInt(commandLine.getOptionValue('t'));
+        } else {
+            threads = DSpaceServicesFactory.getInstance().getConfigurationService().getIntProperty(THREADS_KEY, 1);
+        }
+        if (threads < 1) {
+            handler.logWarning("Invalid number of threads '" + threads + "' - ignoring");
+            threads = 1;
+        }
+
 
     }
 
@@ -134,6 +149,7 @@ public class MediaFilterScript extends DSpaceRunnable<MediaFilterScriptConfigura
         mediaFilterService.setQuiet(isQuiet);
         mediaFilterService.setVerbose(isVerbose);
         mediaFilterService.setMax2Process(max2Process);
+        mediaFilterService.setThreads(threads);
 
         //initialize an array of our enabled filters
         List<FormatFilter> filterList = new ArrayList<>();
@@ -53,6 +53,8 @@ public class MediaFilterScriptConfiguration<T extends MediaFilterScript> extends
         options.addOption(pluginOption);
 
         options.addOption("d", "fromdate", true, "Process only item from specified last modified date");
+        options.addOption("t", "threads", true,
+                          "number of items filtered at the same time, each one in its own transaction");
 
         Option skipOption = Option.builder("s")
                                   .longOpt("skip")
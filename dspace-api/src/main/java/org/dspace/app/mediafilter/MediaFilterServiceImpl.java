@@ -8,6 +8,9 @@
 package org.dspace.app.mediafilter;
 
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -17,6 +20,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -30,19 +42,24 @@ import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.DCDate;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.content.service.BitstreamFormatService;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.BundleService;
 import org.dspace.content.service.CollectionService;
 import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.ItemService;
+import org.dspace.content.service.MetadataFieldService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.SelfNamedPlugin;
+import org.dspace.core.Utils;
+import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
+import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.dspace.util.ThrowableUtils;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -75,14 +92,18 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected ItemService itemService;
     @Autowired(required = true)
     protected ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected MetadataFieldService metadataFieldService;
+    @Autowired(required = true)
+    protected BitstreamStorageService bitstreamStorageService;
 
     protected DSpaceRunnableHandler handler;
 
     protected int max2Process = Integer.MAX_VALUE;  // maximum number items to process
 
-    protected int processed = 0;   // number items processed
+    protected final AtomicInteger processed = new AtomicInteger();   // number items processed
 
-    protected Item currentItem = null;   // current item being processed
+    protected final ThreadLocal<Item> currentItem = new ThreadLocal<>();   // current item being processed
 
     protected List<FormatFilter> filterClasses = null;
 
@@ -97,6 +118,19 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     protected boolean isForce = false; // default to not forced
     protected LocalDate fromDate = null;
 
+    protected int threads = 1; // number of items filtered at the same time
+
+    /**
+     * Limits the number of bitstreams filtered at the same time by the filters configured with
+     * filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].maxThreads, by filter key.
+     */
+    protected final Map<String, Semaphore> filterPermits = new ConcurrentHashMap<>();
+
+    /**
+     * The workers filtering the items, while items are filtered in parallel.
+     */
+    protected ItemWorkers itemWorkers = null;
+
     protected MediaFilterServiceImpl() {
 
     }
@@ -115,6 +149,10 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersAllItems(Context context) throws Exception {
+        inParallel(context, () -> doApplyFiltersAllItems(context));
+    }
+
+    protected void doApplyFiltersAllItems(Context context) throws Exception {
         if (skipList != null) {
             //if a skip-list exists, we need to filter community-by-community
             //so we can respect what is in the skip-list
@@ -129,13 +167,13 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                             context,
                             fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant()
                     );
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
         } else {
             //otherwise, just find every item and process
             Iterator<Item> itemIterator = itemService.findAll(context);
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
@@ -143,6 +181,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public void applyFiltersCommunity(Context context, Community community)
+        throws Exception {
+        inParallel(context, () -> doApplyFiltersCommunity(context, community));
+    }
+
+    protected void doApplyFiltersCommunity(Context context, Community community)
         throws Exception {   //only apply filters if community not in skip-list
         // ensure that the community is attached to the current hibernate session
         // as we are committing after each item (handles, sub-communties and
@@ -151,20 +194,25 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         if (!inSkipList(community.getHandle())) {
             List<Community> subcommunities = community.getSubcommunities();
             for (Community subcommunity : subcommunities) {
-                applyFiltersCommunity(context, subcommunity);
+                doApplyFiltersCommunity(context, subcommunity);
             }
             // ensure that the community is attached to the current hibernate session
             // as we are committing after each item
             community = context.reloadEntity(community);
             List<Collection> collections = community.getCollections();
             for (Collection collection : collections) {
-                applyFiltersCollection(context, collection);
+                doApplyFiltersCollection(context, collection);
             }
         }
     }
 
     @Override
     public void applyFiltersCollection(Context context, Collection collection)
+        throws Exception {
+        inParallel(context, () -> doApplyFiltersCollection(context, collection));
+    }
+
+    protected void doApplyFiltersCollection(Context context, Collection collection)
         throws Exception {
         // ensure that the collection is attached to the current hibernate session
         // as we are committing after each item (handles are lazy attributes)
@@ -172,7 +220,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         //only apply filters if collection not in skip-list
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
+            while (itemIterator.hasNext() && processed.get() < max2Process) {
                 applyFiltersItem(context, itemIterator.next());
             }
         }
@@ -182,19 +230,82 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void applyFiltersItem(Context c, Item item) throws Exception {
         //only apply filters if item not in skip-list
         if (!inSkipList(item.getHandle())) {
+            if (itemWorkers != null) {
+                // filtered by a worker, in its own context
+                itemWorkers.submit(item.getID(), item.getHandle());
+                c.uncacheEntity(item);
+                return;
+            }
+
             //cache this item in MediaFilterManager
             //so it can be accessed by MediaFilters as necessary
-            currentItem = item;
+            currentItem.set(item);
 
             if (filterItem(c, item)) {
                 // increment processed count
-                ++processed;
+                processed.incrementAndGet();
             }
             // clear item objects from context cache and internal cache
-            c.uncacheEntity(currentItem);
+            c.uncacheEntity(item);
             // commit after each item to release DB resources
             c.commit();
-            currentItem = null;
+            currentItem.remove();
+        }
+    }
+
+    /**
+     * Run a processing of several items, filtering them in parallel when more than one thread is configured: the
+     * items found by the processing are then submitted to workers, and this method returns when all of them are
+     * filtered.
+     *
+     * @param context    the context of the processing, whose current user is also the one of the workers
+     * @param processing finds the items and calls {@link #applyFiltersItem(Context, Item)} for each of them
+     * @throws Exception if the processing or the filtering of an item failed
+     */
+    protected void inParallel(Context context, ItemProcessing processing) throws Exception {
+        if (threads <= 1 || itemWorkers != null) {
+            processing.run();
+            return;
+        }
+        itemWorkers = new ItemWorkers(context.getCurrentUser(), context.ignoreAuthorization());
+        try {
+            processing.run();
+            itemWorkers.awaitCompletion();
+        } finally {
+            itemWorkers.shutdown();
+            itemWorkers = null;
+        }
+    }
+
+    /**
+     * Filter an item in its own context, committed once all its bitstreams are filtered: the derivative bundles of
+     * the item are either all saved, or not saved at all if one of them can't be.
+     *
+     * @param itemID      the item
+     * @param currentUser the user filtering the items
+     * @param ignoreAuthorization whether the authorization system is turned off
+     * @throws Exception if the item can't be filtered
+     */
+    protected void filterItemInOwnContext(UUID itemID, EPerson currentUser, boolean ignoreAuthorization)
+        throws Exception {
+        try (Context workerContext = new Context()) {
+            workerContext.setCurrentUser(currentUser == null ? null : workerContext.reloadEntity(currentUser));
+            if (ignoreAuthorization) {
+                workerContext.turnOffAuthorisationSystem();
+            }
+            Item item = itemService.find(workerContext, itemID);
+            if (item == null) {
+                return;
+            }
+            currentItem.set(item);
+            try {
+                if (filterItem(workerContext, item)) {
+                    processed.incrementAndGet();
+                }
+            } finally {
+                currentItem.remove();
+            }
+            workerContext.complete();
         }
     }
 
@@ -244,7 +355,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
             if (fmts.contains(myBitstream.getFormat(context).getShortDescription())) {
                 try {
                     // only update item if bitstream not skipped
-                    if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                    if (processBitstreamWithinLimit(context, myItem, myBitstream, filterClass)) {
                         itemService.update(context, myItem); // Make sure new bitstream has a sequence
                         // number
                         filtered = true;
@@ -299,7 +410,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 if (applyFilter) {
                     try {
                         // only update item if bitstream not skipped
-                        if (processBitstream(context, myItem, myBitstream, filterClass)) {
+                        if (processBitstreamWithinLimit(context, myItem, myBitstream, filterClass)) {
                             itemService.update(context, myItem); // Make sure new bitstream has a sequence
                             // number
                             filtered = true;
@@ -315,6 +426,45 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return filtered;
     }
 
+    /**
+     * Call {@link #processBitstream(Context, Item, Bitstream, FormatFilter)}, once the number of bitstreams being
+     * processed by the filter is below its limit.
+     */
+    protected boolean processBitstreamWithinLimit(Context context, Item item, Bitstream source,
+                                                  FormatFilter formatFilter) throws Exception {
+        Semaphore permits = getFilterPermits(formatFilter);
+        if (permits == null) {
+            return processBitstream(context, item, source, formatFilter);
+        }
+        permits.acquire();
+        try {
+            return processBitstream(context, item, source, formatFilter);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Get the permits limiting the number of bitstreams processed at the same time by a filter, configured by
+     * filter.&lt;class-name&gt;[.&lt;plugin-name&gt;].maxThreads.
+     *
+     * @param formatFilter the filter
+     * @return the permits of the filter, or null if it is not limited
+     */
+    protected Semaphore getFilterPermits(FormatFilter formatFilter) {
+        if (threads <= 1) {
+            return null;
+        }
+        String pluginName = formatFilter instanceof SelfNamedPlugin
+            ? ((SelfNamedPlugin) formatFilter).getPluginInstanceName() : null;
+        String key = formatFilter.getClass().getName() + (pluginName != null ? "." + pluginName : "");
+        int maxThreads = configurationService.getIntProperty("filter." + key + ".maxThreads", 0);
+        if (maxThreads <= 0) {
+            return null;
+        }
+        return filterPermits.computeIfAbsent(key, k -> new Semaphore(maxThreads));
+    }
+
     @Override
     public boolean processBitstream(Context context, Item item, Bitstream source, FormatFilter formatFilter)
         throws Exception {
@@ -364,6 +514,21 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
         logInfo("File: " + newName);
 
+        // reuse the derivative of a bitstream with the same content, unless forced to filter again
+        String cacheKey = getDerivativeCacheKey(source, formatFilter);
+        Bitstream cachedDerivative = isForce ? null : findCachedDerivative(context, cacheKey);
+        if (cachedDerivative != null) {
+            Bitstream b = bitstreamStorageService.clone(context, cachedDerivative);
+            bundleService.addBitstream(context, getTargetBundle(context, item, bundles, formatFilter), b);
+            initDerivativeBitstream(context, item, source, b, newName, formatFilter, cacheKey);
+
+            if (!isQuiet) {
+                logInfo("REUSED: derivative " + cachedDerivative.getID() + " for bitstream " + source.getID()
+                            + " (item: " + item.getHandle() + ") and created '" + newName + "'");
+            }
+            return true;
+        }
+
         // start filtering of the bitstream, using try with resource to close all InputStreams properly
         try (
                 // get the source stream
@@ -380,33 +545,11 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
                 return false;
             }
 
-            Bundle targetBundle; // bundle we're modifying
-            if (bundles.isEmpty()) {
-                // create new bundle if needed
-                targetBundle = bundleService.create(context, item, formatFilter.getBundleName());
-            } else {
-                // take the first match as we already looked out for the correct bundle name
-                targetBundle = bundles.get(0);
-            }
+            Bundle targetBundle = getTargetBundle(context, item, bundles, formatFilter); // bundle we're modifying
 
             // create bitstream to store the filter result
             Bitstream b = bitstreamService.create(context, targetBundle, destStream);
-            // set the name, source and description of the bitstream
-            b.setName(context, newName);
-            b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
-                    " on " + DCDate.getCurrent() + " (GMT).");
-            b.setDescription(context, formatFilter.getDescription());
-            // Set the format of the bitstream
-            BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
-                    formatFilter.getFormatString());
-            bitstreamService.setFormat(context, b, bf);
-            bitstreamService.update(context, b);
-
-            //Set permissions on the derivative bitstream
-            updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
-
-            //do post-processing of the generated bitstream
-            formatFilter.postProcessBitstream(context, item, b);
+            initDerivativeBitstream(context, item, source, b, newName, formatFilter, cacheKey);
 
         } catch (OutOfMemoryError oome) {
             logError("!!! OutOfMemoryError !!!");
@@ -426,6 +569,108 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return true;
     }
 
+    /**
+     * Get the bundle receiving the derivatives of a filter.
+     *
+     * @param context      the context
+     * @param item         the item of the source bitstream
+     * @param bundles      the bundles of the item with the bundle name of the filter
+     * @param formatFilter the filter
+     * @return the first bundle, or a new bundle if the item has none
+     */
+    private Bundle getTargetBundle(Context context, Item item, List<Bundle> bundles, FormatFilter formatFilter)
+        throws SQLException, AuthorizeException {
+        if (bundles.isEmpty()) {
+            // create new bundle if needed
+            return bundleService.create(context, item, formatFilter.getBundleName());
+        }
+        // take the first match as we already looked out for the correct bundle name
+        return bundles.get(0);
+    }
+
+    /**
+     * Set the properties and permissions of a derivative bitstream, either generated or reused.
+     */
+    private void initDerivativeBitstream(Context context, Item item, Bitstream source, Bitstream b, String newName,
+                                         FormatFilter formatFilter, String cacheKey) throws Exception {
+        // set the name, source and description of the bitstream
+        b.setName(context, newName);
+        b.setSource(context, "Written by FormatFilter " + formatFilter.getClass().getName() +
+                " on " + DCDate.getCurrent() + " (GMT).");
+        b.setDescription(context, formatFilter.getDescription());
+        if (cacheKey != null) {
+            bitstreamService.setMetadataSingleValue(context, b, DERIVATIVE_KEY_SCHEMA, DERIVATIVE_KEY_ELEMENT,
+                                                    DERIVATIVE_KEY_QUALIFIER, null, cacheKey);
+        }
+        // Set the format of the bitstream
+        BitstreamFormat bf = bitstreamFormatService.findByShortDescription(context,
+                formatFilter.getFormatString());
+        bitstreamService.setFormat(context, b, bf);
+        bitstreamService.update(context, b);
+
+        //Set permissions on the derivative bitstream
+        updatePoliciesOfDerivativeBitstream(context, b, formatFilter, source);
+
+        //do post-processing of the generated bitstream
+        formatFilter.postProcessBitstream(context, item, b);
+    }
+
+    /**
+     * Get the key of the derivatives generated by a filter from the content of a bitstream: the checksum of the
+     * bitstream, the filter key and a hash of the configuration properties used by the filters, listed by
+     * filter-media.derivative-cache.properties.
+     *
+     * @param source       the source bitstream
+     * @param formatFilter the filter
+     * @return the key, or null if the derivatives of the filter are not reused
+     */
+    protected String getDerivativeCacheKey(Bitstream source, FormatFilter formatFilter)
+        throws NoSuchAlgorithmException {
+        String filterClassName = formatFilter.getClass().getName();
+        if (!configurationService.getBooleanProperty("filter-media.derivative-cache.enabled", false)
+            || StringUtils.isBlank(source.getChecksum())
+            || List.of(configurationService.getArrayProperty("filter-media.derivative-cache.exclude"))
+                   .contains(filterClassName)) {
+            return null;
+        }
+        String pluginName = formatFilter instanceof SelfNamedPlugin
+            ? ((SelfNamedPlugin) formatFilter).getPluginInstanceName() : null;
+        String filterKey = filterClassName + (pluginName != null ? "." + pluginName : "");
+
+        Map<String, String> properties = new TreeMap<>();
+        for (String prefix : configurationService.getArrayProperty("filter-media.derivative-cache.properties")) {
+            for (String key : configurationService.getPropertyKeys(prefix)) {
+                properties.put(key, configurationService.getProperty(key));
+            }
+        }
+        MessageDigest digest = MessageDigest.getInstance("MD5");
+        digest.update(filterKey.getBytes(StandardCharsets.UTF_8));
+        properties.forEach((key, value) -> digest.update(("\n" + key + "=" + value).getBytes(StandardCharsets.UTF_8)));
+
+        return source.getChecksumAlgorithm() + ":" + source.getChecksum() + ":" + Utils.toHex(digest.digest());
+    }
+
+    /**
+     * Find a derivative generated with a key.
+     *
+     * @param context  the context
+     * @param cacheKey the key of the derivative, see {@link #getDerivativeCacheKey(Bitstream, FormatFilter)}
+     * @return a bitstream generated with the key, or null if none
+     * @throws SQLException If something goes wrong in the database
+     */
+    protected Bitstream findCachedDerivative(Context context, String cacheKey) throws SQLException {
+        if (cacheKey == null) {
+            return null;
+        }
+        MetadataField keyField = metadataFieldService.findByElement(context, DERIVATIVE_KEY_SCHEMA,
+                                                                    DERIVATIVE_KEY_ELEMENT, DERIVATIVE_KEY_QUALIFIER);
+        if (keyField == null) {
+            return null;
+        }
+        List<Bitstream> derivatives = bitstreamService.findByMetadataValue(context, keyField, cacheKey, 1);
+        return derivatives.isEmpty() ? null : derivatives.get(0);
+    }
+
     @Override
     public void updatePoliciesOfDerivativeBitstreams(Context context, Item item, Bitstream source)
         throws SQLException, AuthorizeException {
@@ -493,7 +738,7 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
 
     @Override
     public Item getCurrentItem() {
-        return currentItem;
+        return currentItem.get();
     }
 
     @Override
@@ -539,21 +784,21 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
         return sb.toString();
     }
 
-    private void logInfo(String message) {
+    private synchronized void logInfo(String message) {
         if (handler != null) {
             handler.logInfo(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message) {
+    private synchronized void logError(String message) {
         if (handler != null) {
             handler.logError(message);
         } else {
             System.out.println(message);
         }
     }
-    private void logError(String message, Exception e) {
+    private synchronized void logError(String message, Exception e) {
         if (handler != null) {
             handler.logError(message, e);
         } else {
@@ -605,4 +850,70 @@ public class MediaFilterServiceImpl implements MediaFilterService, InitializingB
     public void setFromDate(LocalDate fromDate) {
         this.fromDate = fromDate;
     }
+
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Finds the items to filter, see {@link #inParallel(Context, ItemProcessing)}.
+     */
+    @FunctionalInterface
+    protected interface ItemProcessing {
+        void run() throws Exception;
+    }
+
+    /**
+     * Pool of threads filtering items, each in its own context. At most twice as many items as threads are waiting
+     * to be filtered, so that the items are found as they are filtered. Once an item can't be filtered, no other item
+     * is submitted, and the error is thrown once the items already submitted are filtered.
+     */
+    protected class ItemWorkers {
+        private final EPerson currentUser;
+        private final boolean ignoreAuthorization;
+        private final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        private final Semaphore pendingItems = new Semaphore(threads * 2);
+        private final AtomicReference<Exception> error = new AtomicReference<>();
+
+        ItemWorkers(EPerson currentUser, boolean ignoreAuthorization) {
+            this.currentUser = currentUser;
+            this.ignoreAuthorization = ignoreAuthorization;
+        }
+
+        void submit(UUID itemID, String handle) throws Exception {
+            throwError();
+            pendingItems.acquire();
+            executorService.execute(() -> {
+                try {
+                    if (error.get() == null) {
+                        filterItemInOwnContext(itemID, currentUser, ignoreAuthorization);
+                    }
+                } catch (Exception e) {
+                    logError("ERROR filtering item " + handle, e);
+                    error.compareAndSet(null, e);
+                } finally {
+                    pendingItems.release();
+                }
+            });
+        }
+
+        void awaitCompletion() throws Exception {
+            executorService.shutdown();
+            while (!executorService.awaitTermination(1, TimeUnit.MINUTES)) {
+                // still filtering large bitstreams
+            }
+            throwError();
+        }
+
+        void shutdown() {
+            executorService.shutdownNow();
+        }
+
+        private void throwError() throws Exception {
+            if (error.get() != null) {
+                throw error.get();
+            }
+        }
+    }
 }
@@ -36,6 +36,12 @@ public interface MediaFilterService {
     //for MediaFilters which extend SelfNamedPlugin (\034 is "file separator" char)
     public static final String FILTER_PLUGIN_SEPARATOR = "\034";
 
+    //metadata field (dspace.derivative.key) of the derivative bitstreams, identifying the content, filter and
+    //filter configuration they were generated from, so that they can be reused for bitstreams with the same content
+    public static final String DERIVATIVE_KEY_SCHEMA = "dspace";
+    public static final String DERIVATIVE_KEY_ELEMENT = "derivative";
+    public static final String DERIVATIVE_KEY_QUALIFIER = "key";
+
 
     public void applyFiltersAllItems(Context context) throws Exception;
 
@@ -152,4 +158,14 @@ public interface MediaFilterService {
     public void setLogHandler(DSpaceRunnableHandler handler);
 
     public void setFromDate(LocalDate fromDate);
+
+    /**
+     * Set the number of items filtered at the same time. With more than one thread, each item is filtered and
+     * committed in its own context, and the filters configured with
+     * {@code filter.<class-name>[.<plugin-name>].maxThreads} process at most this number of bitstreams at the
+     * same time.
+     *
+     * @param threads the number of threads, 1 to filter the items one after the other
+     */
+    public void setThreads(int threads);
 }
@@ -91,6 +91,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         policyToBeCreated.setEPerson(ePerson);
         policyToBeCreated.setGroup(group);
         ResourcePolicy resourcePolicy = resourcePolicyDAO.create(context, policyToBeCreated);
+        context.clearAuthorizationCache();
         return resourcePolicy;
     }
 
@@ -152,6 +153,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
         // FIXME: authorizations
         // Remove ourself
         resourcePolicyDAO.delete(context, resourcePolicy);
+        context.clearAuthorizationCache();
 
         context.turnOffAuthorisationSystem();
         if (resourcePolicy.getdSpaceObject() != null) {
@@ -229,6 +231,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllPolicies(Context c, DSpaceObject o) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDso(c, o);
+        c.clearAuthorizationCache();
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -237,6 +240,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removePolicies(Context c, DSpaceObject o, String type) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndType(c, o, type);
+        c.clearAuthorizationCache();
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -246,6 +250,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removePolicies(Context c, DSpaceObject o, String type, int action)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeAndAction(c, o, type, action);
+        c.clearAuthorizationCache();
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -255,6 +260,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoGroupPolicies(Context context, DSpaceObject dso, Group group)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoGroupPolicies(context, dso, group);
+        context.clearAuthorizationCache();
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -264,6 +270,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoEPersonPolicies(Context context, DSpaceObject dso, EPerson ePerson)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoEPersonPolicies(context, dso, ePerson);
+        context.clearAuthorizationCache();
         context.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(dso).updateLastModified(context, dso);
         context.restoreAuthSystemState();
@@ -273,11 +280,13 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     @Override
     public void removeAllEPersonPolicies(Context context, EPerson ePerson) throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByEPerson(context, ePerson);
+        context.clearAuthorizationCache();
     }
 
     @Override
     public void removeGroupPolicies(Context c, Group group) throws SQLException {
         resourcePolicyDAO.deleteByGroup(c, group);
+        c.clearAuthorizationCache();
     }
 
     @Override
@@ -286,6 +295,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
             removeAllPolicies(c, o);
         } else {
             resourcePolicyDAO.deleteByDsoAndAction(c, o, actionId);
+            c.clearAuthorizationCache();
             c.turnOffAuthorisationSystem();
             contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
             c.restoreAuthSystemState();
@@ -296,6 +306,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
     public void removeDsoAndTypeNotEqualsToPolicies(Context c, DSpaceObject o, String type)
         throws SQLException, AuthorizeException {
         resourcePolicyDAO.deleteByDsoAndTypeNotEqualsTo(c, o, type);
+        c.clearAuthorizationCache();
         c.turnOffAuthorisationSystem();
         contentServiceFactory.getDSpaceObjectService(o).updateLastModified(c, o);
         c.restoreAuthSystemState();
@@ -330,6 +341,7 @@ public class ResourcePolicyServiceImpl implements ResourcePolicyService {
 
                 // FIXME: Check authorisation
                 resourcePolicyDAO.save(context, resourcePolicy);
+                context.clearAuthorizationCache();
             }
 
             //Update the last modified timestamp of all related DSpace Objects
@@ -8,18 +8,43 @@
 package org.dspace.checker;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.util.concurrent.RateLimiter;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.ProxyInputStream;
 import org.apache.logging.log4j.Logger;
 import org.dspace.checker.factory.CheckerServiceFactory;
 import org.dspace.checker.service.ChecksumHistoryService;
 import org.dspace.checker.service.ChecksumResultService;
 import org.dspace.checker.service.MostRecentChecksumService;
 import org.dspace.content.Bitstream;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
+import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.bitstore.factory.StorageServiceFactory;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 
@@ -44,6 +69,11 @@ public final class CheckerCommand {
      */
     private static final Logger LOG = org.apache.logging.log4j.LogManager.getLogger(CheckerCommand.class);
 
+    /**
+     * Algorithm of the checksums computed by the assetstores.
+     */
+    private static final String STORE_CHECKSUM_ALGORITHM = "MD5";
+
     private Context context;
 
     /**
@@ -57,6 +87,7 @@ public final class CheckerCommand {
     private ChecksumHistoryService checksumHistoryService = null;
     private BitstreamStorageService bitstreamStorageService = null;
     private ChecksumResultService checksumResultService = null;
+    private BitstreamService bitstreamService = null;
 
     /**
      * start time for current process.
@@ -78,6 +109,26 @@ public final class CheckerCommand {
      */
     private boolean reportVerbose = false;
 
+    /**
+     * Number of bitstreams whose checksum is computed at the same time.
+     */
+    private int threads;
+
+    /**
+     * Number of results saved to the database in a single transaction, when the bitstreams are checked in parallel.
+     */
+    private int batchSize;
+
+    /**
+     * Limits the number of bytes read per second from the assetstore by all the threads, or null for no limit.
+     */
+    private RateLimiter rateLimiter = null;
+
+    /**
+     * Algorithm of the checksums verified, the one of the bitstreams or one of their additional checksums.
+     */
+    private String checksumAlgorithm;
+
     /**
      * Default constructor uses DSpace plugin manager to construct dependencies.
      *
@@ -88,7 +139,15 @@ public final class CheckerCommand {
         checksumHistoryService = CheckerServiceFactory.getInstance().getChecksumHistoryService();
         bitstreamStorageService = StorageServiceFactory.getInstance().getBitstreamStorageService();
         checksumResultService = CheckerServiceFactory.getInstance().getChecksumResultService();
+        bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
         this.context = context;
+
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        setThreads(configurationService.getIntProperty("checker.threads", 1));
+        setBatchSize(configurationService.getIntProperty("checker.batch-size", 100));
+        setMaxBytesPerSecond(configurationService.getLongProperty("checker.max-bytes-per-second", 0));
+        setChecksumAlgorithm(configurationService.getProperty("checker.checksum-algorithm",
+                                                              STORE_CHECKSUM_ALGORITHM));
     }
 
     /**
@@ -120,19 +179,108 @@ public final class CheckerCommand {
         // bitstream table - this always done.
         checksumService.updateMissingBitstreams(context);
 
+        if (threads > 1) {
+            processInParallel();
+            return;
+        }
+
         Bitstream bitstream = dispatcher.next();
 
         while (bitstream != null) {
             LOG.debug("Processing bitstream id = " + bitstream.getID());
-            MostRecentChecksum info = checkBitstream(bitstream);
+            collect(checkBitstream(bitstream));
+            context.uncacheEntity(bitstream);
+            bitstream = dispatcher.next();
+        }
+    }
+
+    /**
+     * Check the bitstreams of the dispatcher with several threads. The database is only accessed by the current
+     * thread: it loads the bitstreams to check, and saves the results in batches, each in its own transaction. The
+     * other threads only compute the checksums.
+     * <p>
+     * The start date of a bitstream is set as soon as it is dispatched, so that the dispatcher does not return it
+     * again while its checksum is computed. The bitstreams dispatched before a batch is committed are loaded again
+     * to save their results, as the commit detaches them.
+     *
+     * @throws SQLException if database error
+     */
+    protected void processInParallel() throws SQLException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        Deque<PendingCheck> pendingChecks = new ArrayDeque<>();
+        Set<UUID> pendingBitstreams = new HashSet<>();
+        List<MostRecentChecksum> results = new ArrayList<>(batchSize);
+        int batch = 0;
+        try {
+            Bitstream bitstream = dispatcher.next();
+            while (bitstream != null || !pendingChecks.isEmpty()) {
+                // keep all the threads busy, with a few more bitstreams waiting
+                while (bitstream != null && pendingChecks.size() < threads * 2
+                    && !pendingBitstreams.contains(bitstream.getID())) {
+                    LOG.debug("Processing bitstream id = " + bitstream.getID());
+                    MostRecentChecksum info = checksumService.findByBitstream(context, bitstream);
+                    if (info != null && info.isToBeProcessed() && !info.getBitstream().isDeleted()) {
+                        info.setProcessStartDate(Instant.now());
+                        Bitstream toCheck = info.getBitstream();
+                        String algorithm = prepareExpectedChecksum(info);
+                        // load it now, it must not be loaded by another thread
+                        toCheck.getInternalId();
+                        pendingChecks.add(new PendingCheck(info, batch, executorService.submit(
+                            () -> computeChecksum(toCheck, algorithm))));
+                        pendingBitstreams.add(bitstream.getID());
+                    } else {
+                        collect(checkBitstream(bitstream));
+                        context.uncacheEntity(bitstream);
+                    }
+                    bitstream = dispatcher.next();
+                }
 
-            if (reportVerbose
-                || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
-                collector.collect(context, info);
+                if (!pendingChecks.isEmpty()) {
+                    PendingCheck pendingCheck = pendingChecks.poll();
+                    MostRecentChecksum info = pendingCheck.batch() == batch ? pendingCheck.info()
+                        : checksumService.findByBitstream(context, pendingCheck.info().getBitstream());
+                    setChecksumResult(info, pendingCheck.getComputation());
+                    pendingBitstreams.remove(info.getBitstream().getID());
+                    results.add(info);
+                }
+                if (results.size() >= batchSize || (bitstream == null && pendingChecks.isEmpty())) {
+                    saveResults(results);
+                    results.clear();
+                    batch++;
+                }
             }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
 
-            context.uncacheEntity(bitstream);
-            bitstream = dispatcher.next();
+    /**
+     * Save the results of the bitstreams checked in parallel, and commit them.
+     *
+     * @param results the checked bitstreams
+     * @throws SQLException if database error
+     */
+    protected void saveResults(List<MostRecentChecksum> results) throws SQLException {
+        for (MostRecentChecksum info : results) {
+            checksumService.update(context, info);
+            checksumHistoryService.addHistory(context, info);
+            collect(info);
+            context.uncacheEntity(info.getBitstream());
+        }
+        context.commit();
+    }
+
+    /**
+     * Report the result of a bitstream to the collector, unless its checksum matches and the report is not
+     * verbose.
+     *
+     * @param info the checked bitstream
+     * @throws SQLException if database error
+     */
+    protected void collect(MostRecentChecksum info) throws SQLException {
+        if (reportVerbose
+            || !ChecksumResultCode.CHECKSUM_MATCH.equals(info.getChecksumResult().getResultCode())) {
+            collector.collect(context, info);
         }
     }
 
@@ -245,46 +393,124 @@ public final class CheckerCommand {
         info.setProcessStartDate(Instant.now());
 
         try {
-            Map<String, Object> checksumMap = bitstreamStorageService.computeChecksum(context, info.getBitstream());
-            if (MapUtils.isNotEmpty(checksumMap)) {
-                info.setBitstreamFound(true);
-                if (checksumMap.containsKey("checksum")) {
-                    info.setCurrentChecksum(checksumMap.get("checksum").toString());
-                }
-
-                if (checksumMap.containsKey("checksum_algorithm")) {
-                    info.setChecksumAlgorithm(checksumMap.get("checksum_algorithm").toString());
-                }
-
-                // compare new checksum to previous checksum
-                info.setChecksumResult(compareChecksums(info.getExpectedChecksum(), info.getCurrentChecksum()));
+            setChecksumResult(info, computeChecksum(info.getBitstream(), prepareExpectedChecksum(info)));
+        } finally {
+            // record new checksum and comparison result in db
+            checksumService.update(context, info);
+            checksumHistoryService.addHistory(context, info);
+        }
+    }
 
+    /**
+     * Set the checksum a bitstream is expected to have for the verified algorithm, when it was checked with another
+     * algorithm before. A bitstream stored without the additional checksum of this algorithm is checked with its
+     * own checksum.
+     *
+     * @param info the bitstream to check
+     * @return the algorithm of the checksum to compute
+     * @throws SQLException if database error
+     */
+    protected String prepareExpectedChecksum(MostRecentChecksum info) throws SQLException {
+        Bitstream bitstream = info.getBitstream();
+        String algorithm = checksumAlgorithm;
+        String expectedChecksum = bitstream.getChecksum();
+        if (!algorithm.equalsIgnoreCase(bitstream.getChecksumAlgorithm())) {
+            String additionalChecksum = bitstreamService.getMetadataFirstValue(
+                bitstream, BitstreamStorageService.CHECKSUM_SCHEMA, BitstreamStorageService.CHECKSUM_ELEMENT,
+                algorithm.toLowerCase(), Item.ANY);
+            if (additionalChecksum != null) {
+                expectedChecksum = additionalChecksum;
             } else {
-                info.setCurrentChecksum("");
-                info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
-                info.setToBeProcessed(false);
+                algorithm = Objects.requireNonNullElse(bitstream.getChecksumAlgorithm(), STORE_CHECKSUM_ALGORITHM);
             }
+        }
+        if (!algorithm.equalsIgnoreCase(info.getChecksumAlgorithm())) {
+            info.setExpectedChecksum(expectedChecksum);
+            info.setChecksumAlgorithm(algorithm);
+        }
+        return algorithm;
+    }
+
+    /**
+     * Compute the checksum of a bitstream. This does not access the database, so that it can be called by any
+     * thread.
+     *
+     * @param bitstream the bitstream, whose fields are already loaded
+     * @param algorithm the algorithm of the checksum
+     * @return the computed checksum, or the error which prevented it
+     */
+    protected ChecksumComputation computeChecksum(Bitstream bitstream, String algorithm) {
+        try {
+            return new ChecksumComputation(readChecksum(bitstream, algorithm), null, Instant.now());
+        } catch (IOException | SQLException e) {
+            return new ChecksumComputation(null, e, Instant.now());
+        }
+    }
+
+    /**
+     * Read the whole content of a bitstream from the assetstore to compute its checksum. When the throughput is
+     * limited, or for the additional checksums, the content is read here instead of by the assetstore.
+     */
+    private Map<String, Object> readChecksum(Bitstream bitstream, String algorithm)
+        throws IOException, SQLException {
+        if (rateLimiter == null && STORE_CHECKSUM_ALGORITHM.equalsIgnoreCase(algorithm)) {
+            return bitstreamStorageService.computeChecksum(context, bitstream);
+        }
+        InputStream content = bitstreamStorageService.retrieve(context, bitstream);
+        try (InputStream inputStream = rateLimiter != null ? new RateLimitedInputStream(content, rateLimiter)
+                 : content;
+             DigestInputStream digestInputStream = new DigestInputStream(inputStream,
+                                                                         MessageDigest.getInstance(algorithm))
+        ) {
+            IOUtils.consume(digestInputStream);
+            return Map.of("checksum", Utils.toHex(digestInputStream.getMessageDigest().digest()),
+                          "checksum_algorithm", algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
 
-        } catch (IOException e) {
+    /**
+     * Record the computed checksum of a bitstream, and compare it to the expected one.
+     *
+     * @param info        BitstreamInfo to handle
+     * @param computation the computed checksum
+     * @throws SQLException if database error
+     */
+    protected void setChecksumResult(MostRecentChecksum info, ChecksumComputation computation) throws SQLException {
+        Map<String, Object> checksumMap = computation.checksumMap();
+        if (computation.error() instanceof IOException) {
             // bitstream located, but file missing from asset store
             info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
             info.setToBeProcessed(false);
             LOG.error("Error retrieving bitstream ID " + info.getBitstream().getID()
-                          + " from " + "asset store.", e);
-        } catch (SQLException e) {
+                          + " from " + "asset store.", computation.error());
+        } else if (computation.error() != null) {
             // ??this code only executes if an SQL
             // exception occurs in *DSpace* code, probably
             // indicating a general db problem?
             info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_INFO_NOT_FOUND));
             LOG.error("Error retrieving metadata for bitstream ID "
-                          + info.getBitstream().getID(), e);
-        } finally {
-            info.setProcessEndDate(Instant.now());
+                          + info.getBitstream().getID(), computation.error());
+        } else if (MapUtils.isNotEmpty(checksumMap)) {
+            info.setBitstreamFound(true);
+            if (checksumMap.containsKey("checksum")) {
+                info.setCurrentChecksum(checksumMap.get("checksum").toString());
+            }
 
-            // record new checksum and comparison result in db
-            checksumService.update(context, info);
-            checksumHistoryService.addHistory(context, info);
+            if (checksumMap.containsKey("checksum_algorithm")) {
+                info.setChecksumAlgorithm(checksumMap.get("checksum_algorithm").toString());
+            }
+
+            // compare new checksum to previous checksum
+            info.setChecksumResult(compareChecksums(info.getExpectedChecksum(), info.getCurrentChecksum()));
+
+        } else {
+            info.setCurrentChecksum("");
+            info.setChecksumResult(getChecksumResultByCode(ChecksumResultCode.BITSTREAM_NOT_FOUND));
+            info.setToBeProcessed(false);
         }
+        info.setProcessEndDate(computation.endDate());
     }
 
     protected ChecksumResult getChecksumResultByCode(ChecksumResultCode checksumResultCode) throws SQLException {
@@ -362,4 +588,101 @@ public final class CheckerCommand {
     public void setReportVerbose(boolean reportVerbose) {
         this.reportVerbose = reportVerbose;
     }
+
+    /**
+     * Get the number of bitstreams whose checksum is computed at the same time.
+     *
+     * @return the number of threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of bitstreams whose checksum is computed at the same time. With more than one thread, the
+     * results are committed in batches while the bitstreams are checked.
+     *
+     * @param threads the number of threads, 1 to check the bitstreams one after the other
+     */
+    public void setThreads(int threads) {
+        this.threads = Math.max(threads, 1);
+    }
+
+    /**
+     * Set the number of results committed in a single transaction when the bitstreams are checked in parallel.
+     *
+     * @param batchSize the number of results
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    /**
+     * Limit the number of bytes read per second from the assetstores, to leave their bandwidth to the other users.
+     *
+     * @param maxBytesPerSecond the maximum throughput of all the threads, 0 or less for no limit
+     */
+    public void setMaxBytesPerSecond(long maxBytesPerSecond) {
+        rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
+    }
+
+    /**
+     * Set the algorithm of the checksums to verify. Bitstreams are checked with their own checksum when they don't
+     * have an additional checksum of this algorithm.
+     *
+     * @param checksumAlgorithm the name of the algorithm, e.g. MD5 or SHA-256
+     */
+    public void setChecksumAlgorithm(String checksumAlgorithm) {
+        this.checksumAlgorithm = checksumAlgorithm;
+    }
+
+    /**
+     * Result of the computation of the checksum of a bitstream.
+     *
+     * @param checksumMap the computed checksum and its algorithm, or null on error
+     * @param error       the error which prevented the computation, or null
+     * @param endDate     the time at which the computation ended
+     */
+    protected record ChecksumComputation(Map<String, Object> checksumMap, Exception error, Instant endDate) {
+    }
+
+    /**
+     * A bitstream whose checksum is being computed by another thread.
+     */
+    private record PendingCheck(MostRecentChecksum info, int batch, Future<ChecksumComputation> computation) {
+
+        ChecksumComputation getComputation() {
+            try {
+                return computation.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while checking bitstream "
+                                                    + info.getBitstream().getID(), e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Unable to check bitstream " + info.getBitstream().getID(),
+                                                e.getCause());
+            }
+        }
+    }
+
+    /**
+     * InputStream which waits for the rate limiter before each read returns, so that all the readers sharing the
+     * rate limiter never read more bytes per second than it allows.
+     */
+    private static class RateLimitedInputStream extends ProxyInputStream {
+
+        private final RateLimiter rateLimiter;
+
+        RateLimitedInputStream(InputStream inputStream, RateLimiter rateLimiter) {
+            super(inputStream);
+            this.rateLimiter = rateLimiter;
+        }
+
+        @Override
+        protected void afterRead(int n) {
+            if (n > 0) {
+                rateLimiter.acquire(n);
+            }
+        }
+    }
 }
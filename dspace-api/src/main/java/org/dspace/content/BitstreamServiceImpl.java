@@ -7,6 +7,7 @@
  */
 package org.dspace.content;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -307,6 +308,22 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamStorageService.retrieve(context, bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieve(context, bitstream, offset, length);
+    }
+
+    @Override
+    public File getLocalFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.getLocalFile(context, bitstream);
+    }
+
     @Override
     public boolean isRegisteredBitstream(Bitstream bitstream) {
         return bitstreamStorageService.isRegisteredBitstream(bitstream.getInternalId());
@@ -453,6 +470,12 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.countByStoreNumber(context, storeNumber);
     }
 
+    @Override
+    public List<Bitstream> findByMetadataValue(Context context, MetadataField metadataField, String value, int limit)
+        throws SQLException {
+        return bitstreamDAO.findByMetadataValue(context, metadataField, value, limit);
+    }
+
     @Override
     public int countTotal(Context context) throws SQLException {
         return bitstreamDAO.countRows(context);
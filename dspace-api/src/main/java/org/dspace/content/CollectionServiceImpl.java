@@ -318,6 +318,16 @@ public class CollectionServiceImpl extends DSpaceObjectServiceImpl<Collection> i
         return collectionDAO.findByID(context, Collection.class, id);
     }
 
+    @Override
+    public List<Collection> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return collectionDAO.findByIDs(context, Collection.class, ids);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        return collectionDAO.findIDs(context, Collection.class, ids);
+    }
+
     @Override
     public void setMetadataSingleValue(Context context, Collection collection,
             MetadataFieldName field, String language, String value)
@@ -156,6 +156,16 @@ public class CommunityServiceImpl extends DSpaceObjectServiceImpl<Community> imp
         return communityDAO.findByID(context, Community.class, id);
     }
 
+    @Override
+    public List<Community> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return communityDAO.findByIDs(context, Community.class, ids);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        return communityDAO.findIDs(context, Community.class, ids);
+    }
+
     @Override
     public List<Community> findAll(Context context) throws SQLException {
         MetadataField sortField = metadataFieldService.findByElement(context, MetadataSchemaEnum.DC.getName(),
@@ -0,0 +1,211 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.dspace.content.dao.EntityTypeDAO;
+import org.dspace.content.dao.RelationshipTypeDAO;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Registry, shared by all the requests, of the configured entity types and relationship types. The configuration of
+ * the entities almost never changes, so the entity type and relationship type services look up the types of an
+ * entity here instead of querying the database each time; the types themselves are then loaded by id, from the
+ * Hibernate second-level cache.
+ * <p>
+ * The registry is an immutable {@link Snapshot}, loaded the first time it is needed and replaced as a whole once the
+ * changes to the types are committed. A snapshot is loaded from the database without any lock, so a change could be
+ * committed while it is loaded: each invalidation increments a version number, and a snapshot is only kept if no
+ * invalidation happened since its loading started. A thread which changed types, but did not commit them yet, does
+ * not use the registry at all, as the registry only knows about the committed types (all the contexts of a thread
+ * share the same database transaction, so none of them can use it).
+ * <p>
+ * The registry is also loaded again after {@code relationship.type-registry.expiration} seconds (default 3600), for
+ * the changes made without this service, e.g. by another DSpace process or directly in the database. Until then, the
+ * services check the database when the registry does not know a type, and {@link #refresh()} the registry if the
+ * database does.
+ *
+ * @see org.dspace.content.service.EntityTypeService
+ * @see org.dspace.content.service.RelationshipTypeService
+ */
+public class EntityTypeRegistry {
+
+    @Autowired(required = true)
+    protected EntityTypeDAO entityTypeDAO;
+
+    @Autowired(required = true)
+    protected RelationshipTypeDAO relationshipTypeDAO;
+
+    private final long expirationMillis;
+
+    private volatile Snapshot snapshot;
+
+    private long version;
+
+    /**
+     * Context which changed entity types or relationship types in the current thread, until it commits.
+     */
+    private final ThreadLocal<Context> modifyingContext = new ThreadLocal<>();
+
+    @Autowired(required = true)
+    public EntityTypeRegistry(ConfigurationService configurationService) {
+        this.expirationMillis =
+            configurationService.getLongProperty("relationship.type-registry.expiration", 3600) * 1000;
+    }
+
+    /**
+     * Get the registry of the committed types, loading it with the given context if needed.
+     *
+     * @param context DSpace context object
+     * @return the registry, or null if types were changed in the current thread and are not committed yet: they must
+     * then be read from the database
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    public Snapshot get(Context context) throws SQLException {
+        if (isModifiedInCurrentThread()) {
+            return null;
+        }
+        long loadedVersion;
+        synchronized (this) {
+            if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < expirationMillis) {
+                return snapshot;
+            }
+            loadedVersion = version;
+        }
+        Snapshot loaded = new Snapshot(entityTypeDAO.findAll(context, EntityType.class),
+                                       relationshipTypeDAO.findAll(context, RelationshipType.class));
+        synchronized (this) {
+            if (loadedVersion == version) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Record that entity types or relationship types are changed with the given context: the current thread stops
+     * using the registry, which is replaced once the changes are committed.
+     *
+     * @param context DSpace context object
+     */
+    public void invalidate(Context context) {
+        modifyingContext.set(context);
+        context.addAfterCommitTask(() -> {
+            modifyingContext.remove();
+            refresh();
+        });
+    }
+
+    /**
+     * Drop the registry, which is loaded again the next time it is needed, e.g. when a type missing from the registry
+     * was found in the database.
+     */
+    public synchronized void refresh() {
+        version++;
+        snapshot = null;
+    }
+
+    private boolean isModifiedInCurrentThread() {
+        Context context = modifyingContext.get();
+        if (context != null && !context.isValid()) {
+            // the context was closed without committing: its changes were discarded
+            modifyingContext.remove();
+            return false;
+        }
+        return context != null;
+    }
+
+    /**
+     * Immutable registry of the entity types and relationship types at a given time.
+     */
+    public static final class Snapshot {
+
+        private final Map<String, Integer> entityTypeIds;
+
+        private final Map<Integer, List<RelationshipTypeDescriptor>> relationshipTypes;
+
+        private final long loadedAt = System.currentTimeMillis();
+
+        Snapshot(List<EntityType> entityTypes, List<RelationshipType> allRelationshipTypes) {
+            Map<String, Integer> ids = new HashMap<>();
+            for (EntityType entityType : entityTypes) {
+                ids.put(normalize(entityType.getLabel()), entityType.getID());
+            }
+            Map<Integer, List<RelationshipTypeDescriptor>> types = new HashMap<>();
+            List<RelationshipType> sorted = new ArrayList<>(allRelationshipTypes);
+            sorted.sort((a, b) -> Integer.compare(a.getID(), b.getID()));
+            for (RelationshipType relationshipType : sorted) {
+                RelationshipTypeDescriptor descriptor = new RelationshipTypeDescriptor(relationshipType);
+                types.computeIfAbsent(descriptor.getLeftTypeId(), id -> new ArrayList<>()).add(descriptor);
+                if (descriptor.getRightTypeId() != descriptor.getLeftTypeId()) {
+                    types.computeIfAbsent(descriptor.getRightTypeId(), id -> new ArrayList<>()).add(descriptor);
+                }
+            }
+            this.entityTypeIds = Map.copyOf(ids);
+            Map<Integer, List<RelationshipTypeDescriptor>> immutableTypes = new HashMap<>();
+            types.forEach((id, list) -> immutableTypes.put(id, List.copyOf(list)));
+            this.relationshipTypes = Map.copyOf(immutableTypes);
+        }
+
+        /**
+         * @param label the label of an entity type, compared ignoring case
+         * @return the id of the entity type, or null if there is no such entity type
+         */
+        public Integer getEntityTypeId(String label) {
+            return label == null ? null : entityTypeIds.get(normalize(label));
+        }
+
+        /**
+         * @param entityTypeId the id of an entity type
+         * @return the relationship types having this entity type on their left or right side, ordered by id
+         */
+        public List<RelationshipTypeDescriptor> getRelationshipTypes(int entityTypeId) {
+            return relationshipTypes.getOrDefault(entityTypeId, List.of());
+        }
+
+        private static String normalize(String label) {
+            return label.toUpperCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Immutable copy of the id of a {@link RelationshipType} and of the ids of the entity types on its sides.
+     */
+    public static final class RelationshipTypeDescriptor {
+
+        private final int id;
+        private final int leftTypeId;
+        private final int rightTypeId;
+
+        RelationshipTypeDescriptor(RelationshipType relationshipType) {
+            this.id = relationshipType.getID();
+            this.leftTypeId = relationshipType.getLeftType().getID();
+            this.rightTypeId = relationshipType.getRightType().getID();
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getLeftTypeId() {
+            return leftTypeId;
+        }
+
+        public int getRightTypeId() {
+            return rightTypeId;
+        }
+    }
+}
@@ -48,9 +48,25 @@ public class EntityTypeServiceImpl implements EntityTypeService {
     @Autowired
     protected SolrSearchCore solrSearchCore;
 
+    @Autowired(required = true)
+    protected EntityTypeRegistry entityTypeRegistry;
+
     @Override
     public EntityType findByEntityType(Context context, String entityType) throws SQLException {
-        return entityTypeDAO.findByEntityType(context, entityType);
+        EntityTypeRegistry.Snapshot registry = entityTypeRegistry.get(context);
+        if (registry == null) {
+            return entityTypeDAO.findByEntityType(context, entityType);
+        }
+        Integer id = registry.getEntityTypeId(entityType);
+        if (id != null) {
+            return find(context, id);
+        }
+        // the entity type may have been created after the registry was loaded, without this service
+        EntityType found = entityTypeDAO.findByEntityType(context, entityType);
+        if (found != null) {
+            entityTypeRegistry.refresh();
+        }
+        return found;
     }
 
     @Override
@@ -71,6 +87,7 @@ public class EntityTypeServiceImpl implements EntityTypeService {
             throw new AuthorizeException(
                 "Only administrators can modify entityType");
         }
+        entityTypeRegistry.invalidate(context);
         return entityTypeDAO.create(context, new EntityType());
     }
 
@@ -82,6 +99,7 @@ public class EntityTypeServiceImpl implements EntityTypeService {
         }
         EntityType entityType = new EntityType();
         entityType.setLabel(entityTypeString);
+        entityTypeRegistry.invalidate(context);
         return entityTypeDAO.create(context, entityType);
     }
 
@@ -105,6 +123,7 @@ public class EntityTypeServiceImpl implements EntityTypeService {
                     "Only administrators can modify entityType");
             }
 
+            entityTypeRegistry.invalidate(context);
             for (EntityType entityType : entityTypes) {
                 entityTypeDAO.save(context, entityType);
             }
@@ -117,6 +136,7 @@ public class EntityTypeServiceImpl implements EntityTypeService {
             throw new AuthorizeException(
                 "Only administrators can delete entityType");
         }
+        entityTypeRegistry.invalidate(context);
         entityTypeDAO.delete(context, entityType);
     }
 
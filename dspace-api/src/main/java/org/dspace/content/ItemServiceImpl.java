@@ -217,6 +217,16 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return null;
     }
 
+    @Override
+    public List<Item> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findByIDs(context, Item.class, ids);
+    }
+
+    @Override
+    public List<UUID> findExistingIds(Context context, List<UUID> ids) throws SQLException {
+        return itemDAO.findIDs(context, Item.class, ids);
+    }
+
     @Override
     public Item find(Context context, UUID id) throws SQLException {
         Item item = itemDAO.findByID(context, Item.class, id);
@@ -356,6 +366,11 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
+        return itemDAO.findAllRegularItemIds(context);
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -1766,6 +1781,12 @@ prevent the generation of resource policy entry values with null dspace_object a
     @Override
     public List<MetadataValue> getMetadata(Item item, String schema, String element, String qualifier, String lang,
                                            boolean enableVirtualMetadata) {
+        return getMetadata(null, item, schema, element, qualifier, lang, enableVirtualMetadata);
+    }
+
+    @Override
+    public List<MetadataValue> getMetadata(Context context, Item item, String schema, String element,
+                                           String qualifier, String lang, boolean enableVirtualMetadata) {
         if (!enableVirtualMetadata) {
             log.debug("Called getMetadata for " + item.getID() + " without enableVirtualMetadata");
             return super.getMetadata(item, schema, element, qualifier, lang);
@@ -1776,7 +1797,9 @@ prevent the generation of resource policy entry values with null dspace_object a
             List<MetadataValue> dbMetadataValues = item.getMetadata();
 
             List<MetadataValue> fullMetadataValueList = new LinkedList<>();
-            fullMetadataValueList.addAll(relationshipMetadataService.getRelationshipMetadata(item, true));
+            fullMetadataValueList.addAll(context != null
+                ? relationshipMetadataService.getRelationshipMetadata(context, item, true)
+                : relationshipMetadataService.getRelationshipMetadata(item, true));
             fullMetadataValueList.addAll(dbMetadataValues);
 
             item.setCachedMetadata(MetadataValueComparators.sort(fullMetadataValueList));
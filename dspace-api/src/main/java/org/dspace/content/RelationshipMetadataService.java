@@ -30,6 +30,20 @@ public interface RelationshipMetadataService {
      */
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata);
 
+    /**
+     * This method retrieves a list of MetadataValue objects that get constructed from processing
+     * the given Item's Relationships through the config given to the {@link VirtualMetadataPopulator}, using the
+     * given context instead of a new one.
+     * @param context The relevant DSpace context
+     * @param item  The Item that will be processed through it's Relationships
+     * @param enableVirtualMetadata This parameter will determine whether the list of Relationship metadata
+     *                              should be populated with metadata that is being generated through the
+     *                              VirtualMetadataPopulator functionality or not
+     * @return      The list of MetadataValue objects constructed through the Relationships
+     */
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item,
+                                                                   boolean enableVirtualMetadata);
+
     /**
      * Retrieves the list of RelationshipMetadataValue objects specific to only one Relationship of the item.
      *
@@ -55,7 +55,12 @@ public class RelationshipMetadataServiceImpl implements RelationshipMetadataServ
 
     @Override
     public List<RelationshipMetadataValue> getRelationshipMetadata(Item item, boolean enableVirtualMetadata) {
-        Context context = new Context();
+        return getRelationshipMetadata(new Context(), item, enableVirtualMetadata);
+    }
+
+    @Override
+    public List<RelationshipMetadataValue> getRelationshipMetadata(Context context, Item item,
+                                                                   boolean enableVirtualMetadata) {
         List<RelationshipMetadataValue> fullMetadataValueList = new LinkedList<>();
         try {
             EntityType entityType = itemService.getEntityType(context, item);
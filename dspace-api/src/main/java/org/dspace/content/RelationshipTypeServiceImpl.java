@@ -8,6 +8,7 @@
 package org.dspace.content;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -27,12 +28,16 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
     @Autowired(required = true)
     protected AuthorizeService authorizeService;
 
+    @Autowired(required = true)
+    protected EntityTypeRegistry entityTypeRegistry;
+
     @Override
     public RelationshipType create(Context context) throws SQLException, AuthorizeException {
         if (!authorizeService.isAdmin(context)) {
             throw new AuthorizeException(
                 "Only administrators can modify relationshipType");
         }
+        entityTypeRegistry.invalidate(context);
         return relationshipTypeDAO.create(context, new RelationshipType());
     }
 
@@ -43,6 +48,7 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
             throw new AuthorizeException(
                 "Only administrators can modify relationshipType");
         }
+        entityTypeRegistry.invalidate(context);
         return relationshipTypeDAO.create(context, relationshipType);
     }
 
@@ -78,7 +84,16 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
 
     @Override
     public List<RelationshipType> findByEntityType(Context context, EntityType entityType) throws SQLException {
-        return findByEntityType(context, entityType, -1, -1);
+        EntityTypeRegistry.Snapshot registry = entityTypeRegistry.get(context);
+        if (registry == null || entityType == null || entityType.getID() == null) {
+            return findByEntityType(context, entityType, -1, -1);
+        }
+        List<EntityTypeRegistry.RelationshipTypeDescriptor> descriptors =
+            registry.getRelationshipTypes(entityType.getID());
+        if (descriptors.isEmpty()) {
+            return refreshIfFound(findByEntityType(context, entityType, -1, -1));
+        }
+        return findByDescriptors(context, descriptors);
     }
 
     @Override
@@ -90,7 +105,22 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
     @Override
     public List<RelationshipType> findByEntityType(Context context, EntityType entityType, boolean isLeft)
             throws SQLException {
-        return findByEntityType(context, entityType, isLeft, -1, -1);
+        EntityTypeRegistry.Snapshot registry = entityTypeRegistry.get(context);
+        if (registry == null || entityType == null || entityType.getID() == null) {
+            return findByEntityType(context, entityType, isLeft, -1, -1);
+        }
+        List<EntityTypeRegistry.RelationshipTypeDescriptor> descriptors = new ArrayList<>();
+        for (EntityTypeRegistry.RelationshipTypeDescriptor descriptor
+            : registry.getRelationshipTypes(entityType.getID())) {
+            int typeId = isLeft ? descriptor.getLeftTypeId() : descriptor.getRightTypeId();
+            if (typeId == entityType.getID()) {
+                descriptors.add(descriptor);
+            }
+        }
+        if (descriptors.isEmpty()) {
+            return refreshIfFound(findByEntityType(context, entityType, isLeft, -1, -1));
+        }
+        return findByDescriptors(context, descriptors);
     }
 
     @Override
@@ -159,6 +189,7 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
                     "Only administrators can modify RelationshipType");
             }
 
+            entityTypeRegistry.invalidate(context);
             for (RelationshipType relationshipType : relationshipTypes) {
                 relationshipTypeDAO.save(context, relationshipType);
             }
@@ -172,9 +203,37 @@ public class RelationshipTypeServiceImpl implements RelationshipTypeService {
             throw new AuthorizeException(
                 "Only administrators can delete entityType");
         }
+        entityTypeRegistry.invalidate(context);
         relationshipTypeDAO.delete(context, relationshipType);
     }
 
+    /**
+     * Load the relationship types of the registry by id, which are found in the second-level cache of Hibernate.
+     */
+    private List<RelationshipType> findByDescriptors(Context context,
+                                                     List<EntityTypeRegistry.RelationshipTypeDescriptor> descriptors)
+            throws SQLException {
+        List<RelationshipType> relationshipTypes = new ArrayList<>(descriptors.size());
+        for (EntityTypeRegistry.RelationshipTypeDescriptor descriptor : descriptors) {
+            RelationshipType relationshipType = find(context, descriptor.getId());
+            if (relationshipType != null) {
+                relationshipTypes.add(relationshipType);
+            }
+        }
+        return relationshipTypes;
+    }
+
+    /**
+     * Check the result of a database query made because the registry knows no relationship type for an entity type:
+     * if the database does, they were created after the registry was loaded, without this service.
+     */
+    private List<RelationshipType> refreshIfFound(List<RelationshipType> relationshipTypes) {
+        if (!relationshipTypes.isEmpty()) {
+            entityTypeRegistry.refresh();
+        }
+        return relationshipTypes;
+    }
+
     @Override
     public int countByEntityType(Context context, EntityType entityType) throws SQLException {
         return relationshipTypeDAO.countByEntityType(context, entityType);
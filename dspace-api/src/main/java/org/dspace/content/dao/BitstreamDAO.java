@@ -15,6 +15,7 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.core.Context;
 
 /**
@@ -43,6 +44,9 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public Iterator<Bitstream> findByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    public List<Bitstream> findByMetadataValue(Context context, MetadataField metadataField, String value, int limit)
+        throws SQLException;
+
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
     int countRows(Context context) throws SQLException;
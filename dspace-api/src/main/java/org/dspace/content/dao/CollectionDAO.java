@@ -10,6 +10,7 @@ package org.dspace.content.dao;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import org.dspace.content.Collection;
 import org.dspace.content.Item;
@@ -53,4 +54,27 @@ public interface CollectionDAO extends DSpaceObjectLegacySupportDAO<Collection>
     int countRows(Context context) throws SQLException;
 
     List<Map.Entry<Collection, Long>> getCollectionsWithBitstreamSizesTotal(Context context) throws SQLException;
+
+    /**
+     * Find the collections with the given UUIDs, and their metadata values, using a single query.
+     * @param context current DSpace context.
+     * @param clazz   the collection class.
+     * @param ids     the UUIDs of the collections to retrieve.
+     * @return the collections which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Collection> findByIDs(Context context, Class<Collection> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
+
+    /**
+     * Find which of the given UUIDs identify existing collections, using a single query which only reads the
+     * identifiers.
+     * @param context current DSpace context.
+     * @param clazz   the collection class.
+     * @param ids     the UUIDs to look for.
+     * @return the UUIDs of the collections which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<UUID> findIDs(Context context, Class<Collection> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
 }
@@ -9,6 +9,7 @@ package org.dspace.content.dao;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 
 import org.dspace.content.Community;
 import org.dspace.content.MetadataField;
@@ -41,4 +42,27 @@ public interface CommunityDAO extends DSpaceObjectLegacySupportDAO<Community> {
         throws SQLException;
 
     int countRows(Context context) throws SQLException;
+
+    /**
+     * Find the communities with the given UUIDs, and their metadata values, using a single query.
+     * @param context current DSpace context.
+     * @param clazz   the community class.
+     * @param ids     the UUIDs of the communities to retrieve.
+     * @return the communities which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Community> findByIDs(Context context, Class<Community> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
+
+    /**
+     * Find which of the given UUIDs identify existing communities, using a single query which only reads the
+     * identifiers.
+     * @param context current DSpace context.
+     * @param clazz   the community class.
+     * @param ids     the UUIDs to look for.
+     * @return the UUIDs of the communities which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<UUID> findIDs(Context context, Class<Community> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
 }
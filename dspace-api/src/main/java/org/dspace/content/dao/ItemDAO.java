@@ -48,6 +48,20 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all items that are:
+     * - NOT in the workspace
+     * - NOT in the workflow
+     * - NOT a template item for e.g. a collection
+     *
+     * The identifiers are returned in ascending order, so that they can be split into
+     * contiguous partitions.
+     * @param context the DSpace context.
+     * @return the ordered list of UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
@@ -215,4 +229,26 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
                    boolean discoverable)
         throws SQLException;
 
+    /**
+     * Find the items with the given UUIDs, and their metadata values, using a single query.
+     * @param context current DSpace context.
+     * @param clazz   the item class.
+     * @param ids     the UUIDs of the items to retrieve.
+     * @return the items which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Item> findByIDs(Context context, Class<Item> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
+
+    /**
+     * Find which of the given UUIDs identify existing items, using a single query which only reads the
+     * identifiers.
+     * @param context current DSpace context.
+     * @param clazz   the item class.
+     * @param ids     the UUIDs to look for.
+     * @return the UUIDs of the items which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<UUID> findIDs(Context context, Class<Item> clazz, java.util.Collection<UUID> ids)
+        throws SQLException;
 }
@@ -28,6 +28,7 @@ import org.dspace.content.Collection_;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
 import org.dspace.content.Item_;
+import org.dspace.content.MetadataField;
 import org.dspace.content.dao.BitstreamDAO;
 import org.dspace.core.AbstractHibernateDSODAO;
 import org.dspace.core.Constants;
@@ -153,6 +154,17 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return new UUIDIterator<Bitstream>(context, uuids, Bitstream.class, this);
     }
 
+    @Override
+    public List<Bitstream> findByMetadataValue(Context context, MetadataField metadataField, String value, int limit)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT b FROM Bitstream b JOIN b.metadata m " +
+            "WHERE m.metadataField = :metadataField AND m.value = :value AND b.deleted = false");
+        query.setParameter("metadataField", metadataField);
+        query.setParameter("value", value);
+        query.setMaxResults(limit);
+        return list(query);
+    }
+
     @Override
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException {
 
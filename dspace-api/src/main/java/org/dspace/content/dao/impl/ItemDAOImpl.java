@@ -49,6 +49,11 @@ import org.dspace.util.JpaCriteriaBuilderKit;
 public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDAO {
     private static final Logger log = org.apache.logging.log4j.LogManager.getLogger(ItemDAOImpl.class);
 
+    /**
+     * Number of items (and their metadata) retrieved with a single query by the iterators returned by this DAO
+     */
+    protected static final int ITERATOR_BATCH_SIZE = 100;
+
     protected ItemDAOImpl() {
     }
 
@@ -58,7 +63,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("in_archive", archived);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -69,7 +74,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setMaxResults(limit);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
 
@@ -81,11 +86,17 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("withdrawn", withdrawn);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
     public Iterator<Item> findAllRegularItems(Context context) throws SQLException {
+        return new UUIDIterator<Item>(context, findAllRegularItemIds(context), Item.class, this,
+                                      ITERATOR_BATCH_SIZE);
+    }
+
+    @Override
+    public List<UUID> findAllRegularItemIds(Context context) throws SQLException {
         // NOTE: This query includes archived items, withdrawn items and older versions of items.
         //       It does not include workspace, workflow or template items.
         Query query = createQuery(
@@ -97,7 +108,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         );
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return uuids;
     }
 
     @Override
@@ -123,7 +134,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         }
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -134,7 +145,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("submitter", eperson);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -147,7 +158,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("submitter", eperson);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -168,7 +179,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         hibernateQuery.setMaxResults(limit);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = hibernateQuery.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -188,7 +199,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         }
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -301,7 +312,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("authority", authority);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -327,7 +338,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         }
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -372,7 +383,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         Query query = createQuery(context, criteriaQuery);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -396,7 +407,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         }
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -444,7 +455,7 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         query.setParameter("last_modified", since);
         @SuppressWarnings("unchecked")
         List<UUID> uuids = query.getResultList();
-        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+        return new UUIDIterator<Item>(context, uuids, Item.class, this, ITERATOR_BATCH_SIZE);
     }
 
     @Override
@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -22,6 +23,7 @@ import org.dspace.content.Bundle;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
+import org.dspace.content.MetadataField;
 import org.dspace.core.Context;
 
 /**
@@ -166,6 +168,35 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Retrieve a range of the contents of the bitstream, e.g. to answer an HTTP Range request
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return a stream from which the range of the bitstream can be read.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws IOException, SQLException, AuthorizeException;
+
+    /**
+     * Get the file holding the contents of the bitstream, if it is stored in the local file system, e.g. to let
+     * the servlet container send it without copying it through the JVM
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @return the file holding the contents, or null if the bitstream is not stored in a local file
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public File getLocalFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Determine if this bitstream is registered (available elsewhere on
      * filesystem than in assetstore). More about registered items:
@@ -218,6 +249,19 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public Long countByStoreNumber(Context context, Integer storeNumber) throws SQLException;
 
+    /**
+     * Find the bitstreams which are not deleted and have a metadata value
+     *
+     * @param context       the dspace context
+     * @param metadataField the field of the metadata value
+     * @param value         the metadata value
+     * @param limit         the maximum number of bitstreams to find
+     * @return the bitstreams with the metadata value
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findByMetadataValue(Context context, MetadataField metadataField, String value, int limit)
+        throws SQLException;
+
     int countTotal(Context context) throws SQLException;
 
     int countDeletedBitstreams(Context context) throws SQLException;
@@ -63,6 +63,43 @@ public interface DSpaceObjectService<T extends DSpaceObject> {
      */
     public T find(Context context, UUID uuid) throws SQLException;
 
+    /**
+     * Find several objects at once. Implementations may retrieve them, and their metadata, with a single query
+     * instead of one query per object.
+     *
+     * @param context - the context
+     * @param uuids   - the uuids of the objects
+     * @return the objects which exist, in no particular order
+     * @throws SQLException only upon failure accessing the database.
+     */
+    public default List<T> findByIds(Context context, List<UUID> uuids) throws SQLException {
+        List<T> result = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            T dso = find(context, uuid);
+            if (dso != null) {
+                result.add(dso);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find which of the given uuids identify an existing object. Implementations may check all of them with a single
+     * query which does not load the objects.
+     *
+     * @param context - the context
+     * @param uuids   - the uuids to look for
+     * @return the uuids of the objects which exist, in no particular order
+     * @throws SQLException only upon failure accessing the database.
+     */
+    public default List<UUID> findExistingIds(Context context, List<UUID> uuids) throws SQLException {
+        List<UUID> result = new ArrayList<>(uuids.size());
+        for (T dso : findByIds(context, uuids)) {
+            result.add(dso.getID());
+        }
+        return result;
+    }
+
     /**
      * Get a proper name for the object. This may return <code>null</code>.
      * Name should be suitable for display in a user interface.
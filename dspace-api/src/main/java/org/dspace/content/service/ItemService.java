@@ -140,6 +140,20 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find the UUIDs of all items that are:
+     * - NOT in the workspace
+     * - NOT in the workflow
+     * - NOT a template item for e.g. a collection
+     *
+     * The identifiers are returned in ascending order, so that they can be split into
+     * contiguous partitions.
+     * @param context the DSpace context.
+     * @return the ordered list of UUIDs of all regular items.
+     * @throws SQLException if database error.
+     */
+    List<UUID> findAllRegularItemIds(Context context) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
@@ -994,6 +1008,25 @@ public interface ItemService
     List<MetadataValue> getMetadata(Item item, String schema, String element, String qualifier,
                                            String lang, boolean enableVirtualMetadata);
 
+    /**
+     * Get metadata for the item in a chosen schema, see
+     * {@link #getMetadata(Item, String, String, String, String, boolean)}. The virtual metadata are computed with
+     * the given context instead of a new one, and are cached on the item until its metadata or relationships change.
+     *
+     * @param context      DSpace context object, may be null
+     * @param item         Item
+     * @param schema       the schema for the metadata field
+     * @param element      the element name
+     * @param qualifier    the qualifier
+     * @param lang         the ISO639 language code
+     * @param enableVirtualMetadata
+     *                     Enables virtual metadata calculation and inclusion from the
+     *                     relationships.
+     * @return metadata fields that match the parameters
+     */
+    List<MetadataValue> getMetadata(Context context, Item item, String schema, String element, String qualifier,
+                                    String lang, boolean enableVirtualMetadata);
+
     /**
      * Retrieve the label of the entity type of the given item.
      * @param item the item.
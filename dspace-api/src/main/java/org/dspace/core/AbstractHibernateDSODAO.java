@@ -9,15 +9,19 @@ package org.dspace.core;
 
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Root;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.dspace.content.DSpaceObject;
+import org.dspace.content.DSpaceObject_;
 import org.dspace.content.MetadataField;
 
 /**
@@ -51,6 +55,51 @@ public abstract class AbstractHibernateDSODAO<T extends DSpaceObject> extends Ab
         return uniqueResult(context, criteriaQuery, false, clazz);
     }
 
+    /**
+     * Find the DSOs with the given UUIDs using a single query. The metadata values of the DSOs are fetched
+     * by the same query, so that they are available without an additional (lazy) query per DSO.
+     * UUIDs for which no DSO exists are ignored, and the order of the returned list is undefined.
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records identified by {@link ids}.
+     * @param ids the UUIDs of the DSOs to retrieve.
+     * @return the DSOs which were found, with their metadata initialized.
+     * @throws SQLException
+     */
+    public List<T> findByIDs(Context context, Class<T> clazz, Collection<UUID> ids) throws SQLException {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<T> criteriaQuery = getCriteriaQuery(criteriaBuilder, clazz);
+        Root<T> root = criteriaQuery.from(clazz);
+        root.fetch(DSpaceObject_.metadata, JoinType.LEFT);
+        criteriaQuery.select(root);
+        criteriaQuery.where(root.get(DSpaceObject_.id).in(ids));
+        // Hibernate removes the duplicate root entities caused by the fetch join, no need for a SQL DISTINCT
+        return list(context, criteriaQuery, false, clazz, -1, -1, false);
+    }
+
+    /**
+     * Find which of the given UUIDs identify an existing DSO, using a single query which only reads the
+     * identifiers.
+     * @param context current DSpace context.
+     * @param clazz DSO subtype of the records identified by {@link ids}.
+     * @param ids the UUIDs to look for.
+     * @return the UUIDs of the DSOs which were found, in no particular order.
+     * @throws SQLException
+     */
+    public List<UUID> findIDs(Context context, Class<T> clazz, Collection<UUID> ids) throws SQLException {
+        if (CollectionUtils.isEmpty(ids)) {
+            return Collections.emptyList();
+        }
+        CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
+        CriteriaQuery<UUID> criteriaQuery = criteriaBuilder.createQuery(UUID.class);
+        Root<T> root = criteriaQuery.from(clazz);
+        criteriaQuery.select(root.get(DSpaceObject_.id));
+        criteriaQuery.where(root.get(DSpaceObject_.id).in(ids));
+        return getHibernateSession(context).createQuery(criteriaQuery).getResultList();
+    }
+
     /**
      * Add left outer join on all metadata fields which are passed to this function.
      * The identifier of the join will be the toString() representation of the metadata field.
@@ -114,15 +114,20 @@ public class Context implements AutoCloseable {
      */
     private String dispName = null;
 
+    /**
+     * Tasks to run once the current transaction is committed
+     */
+    private List<Runnable> afterCommitTasks = null;
+
     /**
      * Context mode
      */
     private Mode mode;
 
     /**
-     * Cache that is only used the context is in READ_ONLY mode
+     * Cache of the authorization decisions and group memberships, used in all modes but BATCH_EDIT
      */
-    private final ContextReadOnlyCache readOnlyCache = new ContextReadOnlyCache();
+    private final ContextAuthorizationCache authorizationCache = new ContextAuthorizationCache();
 
     protected EventService eventService;
 
@@ -252,6 +257,7 @@ public class Context implements AutoCloseable {
      */
     public void setCurrentUser(EPerson user) {
         currentUser = user;
+        authorizationCache.clear();
     }
 
     /**
@@ -446,7 +452,39 @@ public class Context implements AutoCloseable {
             if (dbConnection != null) {
                 // Commit our changes (this closes the transaction but leaves database connection open)
                 dbConnection.commit();
+                authorizationCache.clear();
                 reloadContextBoundEntities();
+                runAfterCommitTasks();
+            }
+        }
+    }
+
+    /**
+     * Register a task to run once the changes of the current transaction are committed to the database, e.g. to
+     * invalidate a cache shared with other threads. Event consumers, which are called before the commit, may use it
+     * to make sure that other threads cannot read the old data again after the cache was invalidated.
+     * The tasks are discarded if the transaction is rolled back.
+     *
+     * @param task the task to run after the next commit
+     */
+    public void addAfterCommitTask(Runnable task) {
+        if (afterCommitTasks == null) {
+            afterCommitTasks = new ArrayList<>();
+        }
+        afterCommitTasks.add(task);
+    }
+
+    private void runAfterCommitTasks() {
+        if (afterCommitTasks == null) {
+            return;
+        }
+        List<Runnable> tasks = afterCommitTasks;
+        afterCommitTasks = null;
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                log.error("Error running a task after commit", e);
             }
         }
     }
@@ -510,6 +548,8 @@ public class Context implements AutoCloseable {
         }
 
         events.add(event);
+        // the change may affect authorization decisions
+        authorizationCache.clear();
     }
 
     /**
@@ -566,10 +606,12 @@ public class Context implements AutoCloseable {
             // Rollback ONLY if we have a database transaction, and it is NOT Read Only
             if (!isReadOnly() && isTransactionAlive()) {
                 dbConnection.rollback();
+                authorizationCache.clear();
                 reloadContextBoundEntities();
             }
         } finally {
             events = null;
+            afterCommitTasks = null;
         }
     }
 
@@ -608,6 +650,7 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            afterCommitTasks = null;
         }
     }
 
@@ -665,6 +708,7 @@ public class Context implements AutoCloseable {
      */
     public void setSpecialGroup(UUID groupID) {
         specialGroups.add(groupID);
+        authorizationCache.clear();
     }
 
     /**
@@ -720,6 +764,7 @@ public class Context implements AutoCloseable {
         specialGroupsPreviousState = specialGroups;
         specialGroups = new HashSet<>();
         currentUser = newUser;
+        authorizationCache.clear();
     }
 
     /**
@@ -735,6 +780,7 @@ public class Context implements AutoCloseable {
         specialGroups = specialGroupsPreviousState;
         specialGroupsPreviousState = null;
         currentUserPreviousState = null;
+        authorizationCache.clear();
     }
 
     /**
@@ -811,8 +857,8 @@ public class Context implements AutoCloseable {
 
         //Always clear the cache, except when going from READ_ONLY to READ_ONLY
         if (mode != Mode.READ_ONLY || newMode != Mode.READ_ONLY) {
-            //clear our read-only cache to prevent any inconsistencies
-            readOnlyCache.clear();
+            //clear our authorization cache to prevent any inconsistencies
+            authorizationCache.clear();
         }
 
         // When going to READ_ONLY, flush database changes to ensure that the current data is retrieved
@@ -906,9 +952,31 @@ public class Context implements AutoCloseable {
         dbConnection.uncacheEntity(entity);
     }
 
+    /**
+     * Get an authorization decision cached in this context.
+     *
+     * @param dspaceObject the object the action applies to
+     * @param action       the action ID
+     * @param eperson      the EPerson, or null for anonymous
+     * @return the cached decision, or null if the decision is not known
+     */
     public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
-        if (isReadOnly()) {
-            return readOnlyCache.getCachedAuthorizationResult(dspaceObject, action, eperson);
+        return getCachedAuthorizationResult(dspaceObject, action, eperson, true);
+    }
+
+    /**
+     * Get an authorization decision cached in this context.
+     *
+     * @param dspaceObject   the object the action applies to
+     * @param action         the action ID
+     * @param eperson        the EPerson, or null for anonymous
+     * @param useInheritance whether the decision takes the admin rights on the parent objects into account
+     * @return the cached decision, or null if the decision is not known
+     */
+    public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson,
+                                                boolean useInheritance) {
+        if (isAuthorizationCacheEnabled()) {
+            return authorizationCache.getCachedAuthorizationResult(dspaceObject, action, eperson, useInheritance);
         } else {
             return null;
         }
@@ -916,8 +984,26 @@ public class Context implements AutoCloseable {
 
     public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result,
                                       ResourcePolicy rp) {
+        cacheAuthorizedAction(dspaceObject, action, eperson, true, result, rp);
+    }
+
+    /**
+     * Cache an authorization decision in this context.
+     *
+     * @param dspaceObject   the object the action applies to
+     * @param action         the action ID
+     * @param eperson        the EPerson, or null for anonymous
+     * @param useInheritance whether the decision takes the admin rights on the parent objects into account
+     * @param result         the decision
+     * @param rp             the resource policy granting the action, if any. It is removed from the Hibernate
+     *                       session in READ_ONLY mode.
+     */
+    public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, boolean useInheritance,
+                                      Boolean result, ResourcePolicy rp) {
+        if (isAuthorizationCacheEnabled()) {
+            authorizationCache.cacheAuthorizedAction(dspaceObject, action, eperson, useInheritance, result);
+        }
         if (isReadOnly()) {
-            readOnlyCache.cacheAuthorizedAction(dspaceObject, action, eperson, result);
             try {
                 uncacheEntity(rp);
             } catch (SQLException e) {
@@ -927,33 +1013,49 @@ public class Context implements AutoCloseable {
     }
 
     public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
-        if (isReadOnly()) {
-            return readOnlyCache.getCachedGroupMembership(group, eperson);
+        if (isAuthorizationCacheEnabled()) {
+            return authorizationCache.getCachedGroupMembership(group, eperson);
         } else {
             return null;
         }
     }
 
     public void cacheGroupMembership(Group group, EPerson eperson, Boolean isMember) {
-        if (isReadOnly()) {
-            readOnlyCache.cacheGroupMembership(group, eperson, isMember);
+        if (isAuthorizationCacheEnabled()) {
+            authorizationCache.cacheGroupMembership(group, eperson, isMember);
         }
     }
 
     public void cacheAllMemberGroupsSet(EPerson ePerson, Set<Group> groups) {
-        if (isReadOnly()) {
-            readOnlyCache.cacheAllMemberGroupsSet(ePerson, groups);
+        if (isAuthorizationCacheEnabled()) {
+            authorizationCache.cacheAllMemberGroupsSet(ePerson, groups);
         }
     }
 
     public Set<Group> getCachedAllMemberGroupsSet(EPerson ePerson) {
-        if (isReadOnly()) {
-            return readOnlyCache.getCachedAllMemberGroupsSet(ePerson);
+        if (isAuthorizationCacheEnabled()) {
+            return authorizationCache.getCachedAllMemberGroupsSet(ePerson);
         } else {
             return null;
         }
     }
 
+    /**
+     * Forget the authorization decisions and group memberships cached in this context. This must be called when
+     * something affecting them changes without a content event, e.g. the resource policies of an object.
+     */
+    public void clearAuthorizationCache() {
+        authorizationCache.clear();
+    }
+
+    /**
+     * The authorization cache is used in all modes but BATCH_EDIT, where a large number of objects are processed
+     * and the decisions are rarely reused.
+     */
+    private boolean isAuthorizationCacheEnabled() {
+        return getCurrentMode() != Mode.BATCH_EDIT;
+    }
+
     /**
      * Reload all entities related to this context.
      *
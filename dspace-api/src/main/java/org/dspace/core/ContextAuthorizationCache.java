@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.content.DSpaceObject;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Object that manages the authorization caches of the Context class: the authorization decisions and the group
+ * memberships computed during the lifetime of the Context (usually a single request).
+ * <p>
+ * The Context clears these caches whenever something that may affect a decision changes: on every content event,
+ * on resource policy changes, when the current user or special groups change, and on commit or rollback.
+ */
+public class ContextAuthorizationCache {
+
+    /**
+     * Maximum number of cached authorization decisions. The cache is cleared when it grows beyond this size, so
+     * that long-running contexts (e.g. command line tools) don't accumulate decisions indefinitely.
+     */
+    static final int MAX_AUTHORIZED_ACTIONS = 10000;
+
+    /**
+     * Authorized actions cache.
+     * The key of the cache is: DSpace Object ID, action ID, Eperson ID and whether inherited admin rights apply.
+     */
+    private final HashMap<AuthorizedActionKey, Boolean> authorizedActionsCache = new HashMap<>();
+
+    /**
+     * Group membership cache.
+     * The key of the cache is: Group ID, Eperson ID.
+     */
+    private final HashMap<GroupMembershipKey, Boolean> groupMembershipCache = new HashMap<>();
+
+    /**
+     * Cache for all the groups an ePerson is a member of, by ePerson ID.
+     */
+    private final HashMap<UUID, Set<Group>> allMemberGroupsCache = new HashMap<>();
+
+    public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson) {
+        return getCachedAuthorizationResult(dspaceObject, action, eperson, true);
+    }
+
+    public Boolean getCachedAuthorizationResult(DSpaceObject dspaceObject, int action, EPerson eperson,
+                                                boolean useInheritance) {
+        return authorizedActionsCache.get(
+            new AuthorizedActionKey(getID(dspaceObject), action, getID(eperson), useInheritance));
+    }
+
+    public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, Boolean result) {
+        cacheAuthorizedAction(dspaceObject, action, eperson, true, result);
+    }
+
+    public void cacheAuthorizedAction(DSpaceObject dspaceObject, int action, EPerson eperson, boolean useInheritance,
+                                      Boolean result) {
+        if (authorizedActionsCache.size() >= MAX_AUTHORIZED_ACTIONS) {
+            authorizedActionsCache.clear();
+        }
+        authorizedActionsCache.put(
+            new AuthorizedActionKey(getID(dspaceObject), action, getID(eperson), useInheritance), result);
+    }
+
+    public Boolean getCachedGroupMembership(Group group, EPerson eperson) {
+        Set<Group> allMemberGroups = allMemberGroupsCache.get(getID(eperson));
+
+        if (CollectionUtils.isEmpty(allMemberGroups)) {
+            return groupMembershipCache.get(new GroupMembershipKey(getID(group), getID(eperson)));
+
+        } else {
+            return allMemberGroups.contains(group);
+        }
+
+    }
+
+    public void cacheGroupMembership(Group group, EPerson eperson, Boolean isMember) {
+        if (CollectionUtils.isEmpty(allMemberGroupsCache.get(getID(eperson)))) {
+            groupMembershipCache.put(new GroupMembershipKey(getID(group), getID(eperson)), isMember);
+        }
+    }
+
+    public void cacheAllMemberGroupsSet(EPerson ePerson, Set<Group> groups) {
+        allMemberGroupsCache.put(getID(ePerson), groups);
+
+        //clear the individual groupMembershipCache as we have all memberships now.
+        groupMembershipCache.clear();
+    }
+
+    public Set<Group> getCachedAllMemberGroupsSet(EPerson ePerson) {
+        return allMemberGroupsCache.get(getID(ePerson));
+    }
+
+    public void clear() {
+        authorizedActionsCache.clear();
+        groupMembershipCache.clear();
+        allMemberGroupsCache.clear();
+    }
+
+    private static UUID getID(DSpaceObject dspaceObject) {
+        return dspaceObject == null ? null : dspaceObject.getID();
+    }
+
+    /**
+     * Key of an authorization decision.
+     */
+    private static final class AuthorizedActionKey {
+        private final UUID object;
+        private final int action;
+        private final UUID eperson;
+        private final boolean useInheritance;
+
+        AuthorizedActionKey(UUID object, int action, UUID eperson, boolean useInheritance) {
+            this.object = object;
+            this.action = action;
+            this.eperson = eperson;
+            this.useInheritance = useInheritance;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof AuthorizedActionKey)) {
+                return false;
+            }
+            AuthorizedActionKey other = (AuthorizedActionKey) o;
+            return action == other.action && useInheritance == other.useInheritance
+                && Objects.equals(object, other.object) && Objects.equals(eperson, other.eperson);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(object);
+            result = 31 * result + action;
+            result = 31 * result + Objects.hashCode(eperson);
+            return 31 * result + (useInheritance ? 1 : 0);
+        }
+    }
+
+    /**
+     * Key of a group membership.
+     */
+    private static final class GroupMembershipKey {
+        private final UUID group;
+        private final UUID eperson;
+
+        GroupMembershipKey(UUID group, UUID eperson) {
+            this.group = group;
+            this.eperson = eperson;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GroupMembershipKey)) {
+                return false;
+            }
+            GroupMembershipKey other = (GroupMembershipKey) o;
+            return Objects.equals(group, other.group) && Objects.equals(eperson, other.eperson);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(group) + Objects.hashCode(eperson);
+        }
+    }
+}
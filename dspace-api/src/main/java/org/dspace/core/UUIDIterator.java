@@ -8,8 +8,12 @@
 package org.dspace.core;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import com.google.common.collect.AbstractIterator;
@@ -20,6 +24,12 @@ import org.springframework.beans.factory.annotation.Autowired;
  * Iterator implementation which allows to iterate over items and commit while
  * iterating. Using an iterator over previous retrieved UUIDs the iterator doesn't
  * get invalidated after a commit that would instead close the database ResultSet
+ * <p>
+ * By default every object is retrieved with its own query. When a batch size larger than one is given, the
+ * iterator retrieves the next batch of objects, including their metadata values, with a single query (see
+ * {@link AbstractHibernateDSODAO#findByIDs(Context, Class, java.util.Collection)}). At most one batch of
+ * objects is held by the iterator; objects of the batch which were removed from the cache before they were
+ * returned (e.g. by {@link Context#uncacheEntities()}) are reloaded.
  *
  * @author Andrea Bollini (andrea.bollini at 4science.com)
  * @param  <T> class type
@@ -34,16 +44,37 @@ public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
 
     private Context ctx;
 
+    private int batchSize;
+
+    private Iterator<T> batch = Collections.emptyIterator();
+
     public UUIDIterator(Context ctx, List<UUID> uuids, Class<T> clazz, AbstractHibernateDSODAO<T> dao)
             throws SQLException {
+        this(ctx, uuids, clazz, dao, 1);
+    }
+
+    /**
+     * @param ctx       the DSpace context
+     * @param uuids     the UUIDs of the objects to iterate over
+     * @param clazz     the class of the objects
+     * @param dao       the DAO used to retrieve the objects
+     * @param batchSize the number of objects to retrieve with a single query
+     * @throws SQLException if database error
+     */
+    public UUIDIterator(Context ctx, List<UUID> uuids, Class<T> clazz, AbstractHibernateDSODAO<T> dao,
+                        int batchSize) throws SQLException {
         this.ctx = ctx;
         this.clazz = clazz;
         this.dao = dao;
         this.iterator = uuids.iterator();
+        this.batchSize = batchSize;
     }
 
     @Override
     protected T computeNext() {
+        if (batchSize > 1) {
+            return computeNextFromBatch();
+        }
         try {
             if (iterator.hasNext()) {
                 T item = dao.findByID(ctx, clazz, iterator.next());
@@ -60,4 +91,44 @@ public class UUIDIterator<T extends DSpaceObject> extends AbstractIterator<T> {
         }
     }
 
+    private T computeNextFromBatch() {
+        try {
+            while (true) {
+                while (!batch.hasNext()) {
+                    if (!iterator.hasNext()) {
+                        return endOfData();
+                    }
+                    batch = nextBatch();
+                }
+                // the object might have been evicted from the cache since the batch was loaded
+                T item = ctx.reloadEntity(batch.next());
+                if (item != null) {
+                    return item;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Iterator<T> nextBatch() throws SQLException {
+        List<UUID> uuids = new ArrayList<>(batchSize);
+        while (iterator.hasNext() && uuids.size() < batchSize) {
+            uuids.add(iterator.next());
+        }
+        Map<UUID, T> found = new HashMap<>();
+        for (T dso : dao.findByIDs(ctx, clazz, uuids)) {
+            found.put(dso.getID(), dso);
+        }
+        // keep the order of the given UUIDs
+        List<T> result = new ArrayList<>(found.size());
+        for (UUID uuid : uuids) {
+            T dso = found.get(uuid);
+            if (dso != null) {
+                result.add(dso);
+            }
+        }
+        return result.iterator();
+    }
+
 }
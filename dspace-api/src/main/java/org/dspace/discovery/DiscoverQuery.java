@@ -36,6 +36,7 @@ public class DiscoverQuery {
     private List<String> dspaceObjectFilters = new ArrayList<>();
     private final List<String> fieldPresentQueries;
     private boolean spellCheck;
+    private boolean indexProjection;
 
     private int start = 0;
     private int maxResults = -1;
@@ -335,6 +336,21 @@ public class DiscoverQuery {
         this.spellCheck = spellCheck;
     }
 
+    public boolean isIndexProjection() {
+        return indexProjection;
+    }
+
+    /**
+     * Build the items found from the fields stored in the index (see "discovery.index.projection"), without loading
+     * them from the database. The items are only loaded when {@link IndexableObject#getIndexedObject()} is called on
+     * their {@link org.dspace.discovery.indexobject.IndexableItemProjection}.
+     *
+     * @param indexProjection whether the items found are built from the index
+     */
+    public void setIndexProjection(boolean indexProjection) {
+        this.indexProjection = indexProjection;
+    }
+
     public void addYearRangeFacet(DiscoverySearchFilterFacet facet, FacetYearRange facetYearRange) {
         if (facetYearRange.isValid()) {
 
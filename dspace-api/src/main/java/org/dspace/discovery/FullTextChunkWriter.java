@@ -0,0 +1,81 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Writer splitting the full text of a document into chunks, which are passed on as soon as they are complete. The
+ * full text is indexed as several values of the multi-valued "fulltext" field, so that it is never held as a single
+ * String (and the copies needed to build it) while it is extracted.
+ * <p>
+ * A chunk is cut after the last whitespace of its last tenth if there is one, so that words are not split between
+ * two values of the field.
+ */
+public class FullTextChunkWriter extends Writer {
+
+    private final int chunkSize;
+
+    private final Consumer<String> chunkConsumer;
+
+    private final StringBuilder chunk;
+
+    /**
+     * @param chunkSize     the maximum number of characters of a chunk
+     * @param chunkConsumer receives the chunks, in order
+     */
+    public FullTextChunkWriter(int chunkSize, Consumer<String> chunkConsumer) {
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkConsumer = chunkConsumer;
+        this.chunk = new StringBuilder(Math.min(this.chunkSize, 8192));
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        while (len > 0) {
+            int n = Math.min(len, chunkSize - chunk.length());
+            chunk.append(cbuf, off, n);
+            off += n;
+            len -= n;
+            if (chunk.length() >= chunkSize) {
+                emitChunk();
+            }
+        }
+    }
+
+    /**
+     * Does nothing: chunks are only cut when they are full, or when the writer is closed.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Pass on the last chunk.
+     */
+    @Override
+    public void close() {
+        if (chunk.length() > 0) {
+            chunkConsumer.accept(chunk.toString());
+            chunk.setLength(0);
+        }
+    }
+
+    private void emitChunk() {
+        int end = chunk.length();
+        for (int i = chunk.length() - 1; i >= chunk.length() - chunkSize / 10 && i > 0; i--) {
+            if (Character.isWhitespace(chunk.charAt(i))) {
+                end = i + 1;
+                break;
+            }
+        }
+        chunkConsumer.accept(chunk.substring(0, end));
+        chunk.delete(0, end);
+    }
+}
@@ -7,6 +7,7 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.THREADS_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
@@ -69,6 +70,17 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        int threads = DSpaceServicesFactory.getInstance().getConfigurationService()
+                .getIntProperty("discovery.index.threads", 1);
+        if (commandLine.hasOption(THREADS_OPTION)) {
+            try {
+                threads = Integer.parseInt(commandLine.getOptionValue(THREADS_OPTION));
+            } catch (NumberFormatException e) {
+                handler.handleException(String.format("%s is not a valid number of threads",
+                        commandLine.getOptionValue(THREADS_OPTION)));
+            }
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -103,7 +115,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (threads > 1) {
+                    indexer.updateIndex(context, true, null, threads, handler);
+                } else {
+                    indexer.createIndex(context);
+                }
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -127,7 +143,7 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case UPDATE:
             case UPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, false, type);
+                indexer.updateIndex(context, false, type, threads, handler);
                 if (indexClientOptions == IndexClientOptions.UPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -135,7 +151,7 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case FORCEUPDATE:
             case FORCEUPDATEANDSPELLCHECK:
                 handler.logInfo("Updating Index");
-                indexer.updateIndex(context, true, type);
+                indexer.updateIndex(context, true, type, threads, handler);
                 if (indexClientOptions == IndexClientOptions.FORCEUPDATEANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
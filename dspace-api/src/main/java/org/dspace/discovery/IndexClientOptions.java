@@ -35,6 +35,7 @@ public enum IndexClientOptions {
     HELP;
 
     public static final String TYPE_OPTION = "t";
+    public static final String THREADS_OPTION = "p";
 
     /**
      * This method resolves the CommandLine parameters to figure out which action the index-discovery script should
@@ -95,6 +96,9 @@ public enum IndexClientOptions {
         options.addOption("s", "spellchecker", false, "Rebuild the spellchecker, can be combined with -b and -f.");
         options.addOption("f", "force", false,
                           "if updating existing index, force each handle to be reindexed even if up-to-date");
+        options.addOption(THREADS_OPTION, "threads", true,
+                          "number of threads used to (re)index items with -b or when updating the index. " +
+                          "Defaults to the discovery.index.threads configuration (1)");
         options.addOption("h", "help", false, "print this help message");
         return options;
     }
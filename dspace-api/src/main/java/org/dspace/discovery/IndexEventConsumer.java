@@ -19,6 +19,8 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.IndexQueueAction;
+import org.dspace.discovery.queue.service.IndexQueueService;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -48,6 +50,10 @@ public class IndexEventConsumer implements Consumer {
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
+    IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                              .getServiceByName(IndexQueueService.class.getName(),
+                                                                                IndexQueueService.class);
+
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
     @Override
@@ -206,10 +212,17 @@ public class IndexEventConsumer implements Consumer {
      * Process sets of objects to add, update, and delete in index. Correct for
      * interactions between the sets -- e.g. objects which were deleted do not
      * need to be added or updated, new objects don't also need an update, etc.
+     * When the asynchronous indexing mode is enabled, the sets are only written
+     * to the indexing queue, see {@link IndexQueueService}.
      */
     @Override
     public void end(Context ctx) throws Exception {
 
+        if (indexQueueService.isEnabled() && !ctx.isReadOnly()) {
+            enqueue(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
@@ -248,6 +261,35 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Write the collected sets to the indexing queue, as part of the transaction being committed.
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        try {
+            for (String uid : uniqueIdsToDelete) {
+                indexQueueService.enqueue(ctx, uid, IndexQueueAction.DELETE);
+            }
+            for (IndexableObject iu : objectsToUpdate) {
+                enqueue(ctx, iu, IndexQueueAction.INDEX);
+            }
+            for (IndexableObject iu : createdItemsToUpdate) {
+                enqueue(ctx, iu, IndexQueueAction.INDEX_PRE_DB);
+            }
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+        }
+    }
+
+    private void enqueue(Context ctx, IndexableObject iu, IndexQueueAction action) throws SQLException {
+        String uniqueIndexID = iu.getUniqueIndexID();
+        if (uniqueIndexID != null) {
+            indexQueueService.enqueue(ctx, uniqueIndexID, action);
+            log.debug("Queued " + action + " of unique_id=" + uniqueIndexID);
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
@@ -13,6 +13,7 @@ import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.core.Context;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 
 /**
  * Interface used for indexing IndexableObject into discovery
@@ -66,6 +67,18 @@ public interface IndexingService {
 
     void updateIndex(Context context, boolean force, String type);
 
+    /**
+     * Update the index for all objects of the given type (or all types), indexing items with a pool of worker
+     * threads which each use their own Context and send documents to the search core in batches.
+     * @param context   The DSpace Context
+     * @param force     Force update even if not stale
+     * @param type      The type of indexable objects to update, or null to update all types
+     * @param threads   The number of worker threads, a value of 1 or less falls back to
+     *                  {@link #updateIndex(Context, boolean, String)}
+     * @param handler   The handler used to report progress, may be null
+     */
+    void updateIndex(Context context, boolean force, String type, int threads, DSpaceRunnableHandler handler);
+
     void cleanIndex() throws IOException, SQLException, SearchServiceException;
 
     void deleteIndex();
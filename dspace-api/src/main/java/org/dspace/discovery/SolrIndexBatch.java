@@ -0,0 +1,157 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+/**
+ * Buffer of Solr documents which are sent to the search core in a single request once the configured batch size
+ * is reached. A batch is bound to the thread which opened it: while it is open, every document written by the
+ * {@link org.dspace.discovery.indexobject.factory.IndexFactory} implementations on that thread is added to the
+ * batch instead of being sent to Solr on its own. No commit is issued, this is left to the caller.
+ * <p>
+ * The batch may also be limited by the number of characters of the text values of its documents, so that a batch
+ * of documents with a large full text is sent before it fills the memory.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (SolrIndexBatch batch = SolrIndexBatch.open(solr, 500)) {
+ *     // index objects
+ * }
+ * </pre>
+ */
+public class SolrIndexBatch implements Closeable {
+
+    private static final ThreadLocal<SolrIndexBatch> currentBatch = new ThreadLocal<>();
+
+    private final SolrClient solr;
+    private final int batchSize;
+    private final long maxChars;
+    private final List<SolrInputDocument> documents;
+    private long chars = 0;
+
+    private SolrIndexBatch(SolrClient solr, int batchSize, long maxChars) {
+        this.solr = solr;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxChars = maxChars;
+        this.documents = new ArrayList<>(this.batchSize);
+    }
+
+    /**
+     * Open a new batch and bind it to the current thread.
+     * @param solr      the Solr client to send the documents to
+     * @param batchSize the number of documents to buffer before they are sent to Solr
+     * @return the new batch
+     * @throws IllegalStateException if a batch is already open on the current thread
+     */
+    public static SolrIndexBatch open(SolrClient solr, int batchSize) {
+        return open(solr, batchSize, -1);
+    }
+
+    /**
+     * Open a new batch and bind it to the current thread.
+     * @param solr      the Solr client to send the documents to
+     * @param batchSize the number of documents to buffer before they are sent to Solr
+     * @param maxChars  the number of characters of text values to buffer before the documents are sent to Solr,
+     *                  -1 for no limit
+     * @return the new batch
+     * @throws IllegalStateException if a batch is already open on the current thread
+     */
+    public static SolrIndexBatch open(SolrClient solr, int batchSize, long maxChars) {
+        if (currentBatch.get() != null) {
+            throw new IllegalStateException("A Solr index batch is already open on this thread");
+        }
+        SolrIndexBatch batch = new SolrIndexBatch(solr, batchSize, maxChars);
+        currentBatch.set(batch);
+        return batch;
+    }
+
+    /**
+     * @return the batch bound to the current thread, or null if no batch is open
+     */
+    public static SolrIndexBatch current() {
+        return currentBatch.get();
+    }
+
+    /**
+     * Add a document to the batch, sending the whole batch to Solr when it is full.
+     * @param document the document to add
+     * @throws IOException         If IO error
+     * @throws SolrServerException If the documents could not be written to the search core
+     */
+    public void add(SolrInputDocument document) throws IOException, SolrServerException {
+        documents.add(document);
+        if (maxChars >= 0) {
+            chars += countChars(document);
+        }
+        if (documents.size() >= batchSize || (maxChars >= 0 && chars >= maxChars)) {
+            flush();
+        }
+    }
+
+    /**
+     * Send all buffered documents to Solr. The buffer is emptied even if the request fails, so a single broken
+     * document can't block the rest of the batch from being indexed.
+     * @throws IOException         If IO error
+     * @throws SolrServerException If the documents could not be written to the search core
+     */
+    public void flush() throws IOException, SolrServerException {
+        if (documents.isEmpty()) {
+            return;
+        }
+        try {
+            solr.add(documents);
+        } finally {
+            documents.clear();
+            chars = 0;
+        }
+    }
+
+    /**
+     * @return true if no document is waiting in the batch, i.e. if all the added documents were sent to Solr or
+     * dropped after a failed request
+     */
+    public boolean isEmpty() {
+        return documents.isEmpty();
+    }
+
+    private static long countChars(SolrInputDocument document) {
+        long count = 0;
+        for (SolrInputField field : document) {
+            for (Object value : field) {
+                if (value instanceof CharSequence) {
+                    count += ((CharSequence) value).length();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Flush the remaining documents and unbind the batch from the current thread.
+     * @throws IOException If the remaining documents could not be written to the search core
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (SolrServerException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            currentBatch.remove();
+        }
+    }
+}
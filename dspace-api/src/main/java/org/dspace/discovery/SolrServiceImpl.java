@@ -26,13 +26,21 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import jakarta.mail.MessagingException;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.FacetField;
@@ -44,6 +52,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -75,6 +84,7 @@ import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
 import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -109,6 +119,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     // facet by indexing "each word to end of value' partial value
     public static final String SOLR_FIELD_SUFFIX_FACET_PREFIXES = "_prefix";
 
+    // Number of partitions per worker thread used when (re)indexing items in parallel
+    private static final int PARTITIONS_PER_THREAD = 4;
+    // Number of indexed items after which the progress of a parallel (re)index is reported
+    private static final long PROGRESS_INTERVAL = 10000;
+
     @Autowired
     protected ContentServiceFactory contentServiceFactory;
     @Autowired
@@ -151,7 +166,15 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     @Override
     public void indexContent(Context context, IndexableObject indexableObject,
                              boolean force) {
+        indexContentOrLogError(context, indexableObject, force);
+    }
 
+    /**
+     * Same as {@link #indexContent(Context, IndexableObject, boolean)}.
+     *
+     * @return false if the object could not be indexed, the error is logged
+     */
+    private boolean indexContentOrLogError(Context context, IndexableObject indexableObject, boolean force) {
         try {
             final IndexFactory indexableObjectFactory = indexObjectServiceFactory.
                     getIndexableObjectFactory(indexableObject);
@@ -159,8 +182,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 update(context, indexableObjectFactory, indexableObject);
                 log.info(LogHelper.getHeader(context, "indexed_object", indexableObject.getUniqueIndexID()));
             }
+            return true;
         } catch (IOException | SQLException | SolrServerException | SearchServiceException e) {
             log.error(e.getMessage(), e);
+            return false;
         }
     }
 
@@ -341,17 +366,22 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         try {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
-            int indexObject = 0;
+            final int pageSize = getStalenessCheckPageSize();
             for (IndexFactory indexableObjectService : indexableObjectServices) {
                 if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
                     final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+                    final List<IndexableObject> page = new ArrayList<>(pageSize);
                     while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
-                        indexObject++;
-                        if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
-                            context.uncacheEntities();
+                        page.add(indexableObjects.next());
+                        if (page.size() >= pageSize || !indexableObjects.hasNext()) {
+                            indexContent(context, page, force);
+                            for (IndexableObject indexableObject : page) {
+                                context.uncacheEntity(indexableObject.getIndexedObject());
+                            }
+                            page.clear();
+                            if (indexableObjectService instanceof ItemIndexFactory) {
+                                context.uncacheEntities();
+                            }
                         }
                     }
                 }
@@ -365,6 +395,189 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Iterates over all Items, Collections and Communities and updates them in the index, using a pool of worker
+     * threads for the items. The ordered list of item identifiers is split into contiguous partitions, which are
+     * handed out to the workers. Each worker uses its own Context (and hence its own database session), and sends
+     * the documents it builds to Solr in batches of "discovery.index.batch-size" documents. A single commit is
+     * issued once all objects have been indexed.
+     * <p>
+     * Any other type of indexable object is indexed on the calling thread, also using batched updates.
+     *
+     * @param context the dspace context
+     * @param force   whether or not to force the reindexing
+     * @param type    the type of indexable objects to update, or null to update all types
+     * @param threads the number of worker threads to index items with
+     * @param handler the handler used to report progress, may be null
+     */
+    @Override
+    public void updateIndex(Context context, boolean force, String type, int threads,
+                            DSpaceRunnableHandler handler) {
+        if (threads <= 1) {
+            updateIndex(context, force, type);
+            return;
+        }
+        try {
+            final SolrClient solr = solrSearchCore.getSolr();
+            if (solr == null) {
+                return;
+            }
+            final int batchSize = configurationService.getIntProperty("discovery.index.batch-size", 100);
+            final int pageSize = getStalenessCheckPageSize();
+            final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
+                getIndexFactories();
+            final List<String> failures = new ArrayList<>();
+            for (IndexFactory indexableObjectService : indexableObjectServices) {
+                if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                    if (indexableObjectService instanceof ItemIndexFactory) {
+                        failures.addAll(updateItemsInParallel(context, (ItemIndexFactory) indexableObjectService,
+                                                              force, threads, batchSize, handler));
+                    } else {
+                        long count = 0;
+                        try (SolrIndexBatch batch = SolrIndexBatch.open(solr, batchSize, getBatchMaxChars())) {
+                            final Iterator<IndexableObject> indexableObjects = indexableObjectService
+                                .findAll(context);
+                            final List<IndexableObject> page = new ArrayList<>();
+                            while (indexableObjects.hasNext()) {
+                                page.add(indexableObjects.next());
+                                if (page.size() >= pageSize || !indexableObjects.hasNext()) {
+                                    count += page.size() - indexContent(context, page, force);
+                                    for (IndexableObject indexableObject : page) {
+                                        context.uncacheEntity(indexableObject.getIndexedObject());
+                                    }
+                                    page.clear();
+                                }
+                            }
+                        }
+                        logProgress(handler, String.format("Indexed %d objects of type %s", count,
+                                                           indexableObjectService.getType()));
+                    }
+                }
+            }
+            // the items of the successful partitions are committed anyway
+            solr.commit();
+            if (!failures.isEmpty()) {
+                String message = String.format("Indexing failed for %d partitions of items:%n%s", failures.size(),
+                                               String.join(System.lineSeparator(), failures));
+                if (handler != null) {
+                    handler.handleException(message);
+                } else {
+                    log.error(message);
+                }
+            }
+        } catch (IOException | SQLException | SolrServerException e) {
+            log.error(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for the indexing threads to finish", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Index all items of the given factory by splitting their identifiers over a pool of worker threads.
+     * Returns once all partitions have been indexed.
+     *
+     * @return a description of each partition which failed, empty if all the items were indexed
+     */
+    protected List<String> updateItemsInParallel(Context context, ItemIndexFactory itemIndexFactory, boolean force,
+                                                 int threads, int batchSize, DSpaceRunnableHandler handler)
+        throws SQLException, InterruptedException {
+        final List<UUID> itemIds = itemIndexFactory.findAllIds(context);
+        final long total = itemIds.size();
+        final List<String> failures = new ArrayList<>();
+        if (total == 0) {
+            return failures;
+        }
+        // Use more partitions than threads so that a slow partition doesn't leave the other threads idle
+        final int partitionSize = (int) Math.max(1, Math.ceil((double) total / (threads * PARTITIONS_PER_THREAD)));
+        final List<List<UUID>> partitions = ListUtils.partition(itemIds, partitionSize);
+        logProgress(handler, String.format("Indexing %d items in %d partitions using %d threads", total,
+                                           partitions.size(), threads));
+
+        final long start = System.currentTimeMillis();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong indexed = new AtomicLong();
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(partitions.size());
+            for (List<UUID> partition : partitions) {
+                futures.add(executorService.submit(() -> {
+                    indexPartition(itemIndexFactory, partition, force, batchSize, processed, indexed, total, start,
+                                   handler);
+                    return null;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    List<UUID> partition = partitions.get(i);
+                    String failure = String.format("%d items from %s to %s: %s", partition.size(), partition.get(0),
+                                                   partition.get(partition.size() - 1), e.getCause().getMessage());
+                    log.error("Error while indexing a partition of " + failure, e.getCause());
+                    failures.add(failure);
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        logProgress(handler, String.format("Indexed %d items in %d seconds", indexed.get(),
+                                           (System.currentTimeMillis() - start) / 1000));
+        return failures;
+    }
+
+    /**
+     * Index a partition of items on the current thread, using a dedicated Context and Solr batch.
+     */
+    protected void indexPartition(ItemIndexFactory itemIndexFactory, List<UUID> partition, boolean force,
+                                  int batchSize, AtomicLong processed, AtomicLong indexed, long total,
+                                  long start, DSpaceRunnableHandler handler) throws SQLException, IOException {
+        Context workerContext = new Context(Context.Mode.READ_ONLY);
+        workerContext.turnOffAuthorisationSystem();
+        int failed = 0;
+        try (SolrIndexBatch batch = SolrIndexBatch.open(solrSearchCore.getSolr(), batchSize,
+                                                        getBatchMaxChars())) {
+            for (List<UUID> itemIds : ListUtils.partition(partition, getStalenessCheckPageSize())) {
+                // load the whole page, with the metadata of the items, in a single query and keep its order
+                Map<UUID, IndexableObject> found = new HashMap<>();
+                for (IndexableItem item : itemIndexFactory.findIndexableObjects(workerContext, itemIds.stream()
+                    .map(UUID::toString).collect(Collectors.toList()))) {
+                    found.put(item.getID(), item);
+                }
+                List<IndexableObject> page = new ArrayList<>(itemIds.size());
+                for (UUID itemId : itemIds) {
+                    if (found.containsKey(itemId)) {
+                        page.add(found.get(itemId));
+                    }
+                }
+                int pageFailed = indexContent(workerContext, page, force);
+                failed += pageFailed;
+                workerContext.uncacheEntities();
+
+                long done = processed.addAndGet(itemIds.size());
+                indexed.addAndGet(page.size() - pageFailed);
+                if ((done / PROGRESS_INTERVAL) > ((done - itemIds.size()) / PROGRESS_INTERVAL)) {
+                    long seconds = Math.max(1, (System.currentTimeMillis() - start) / 1000);
+                    logProgress(handler, String.format("Processed %d of %d items (%d items/s)", done, total,
+                                                       done / seconds));
+                }
+            }
+        } finally {
+            workerContext.abort();
+        }
+        if (failed > 0) {
+            throw new IOException(failed + " items could not be indexed, see the log for the errors");
+        }
+    }
+
+    private void logProgress(DSpaceRunnableHandler handler, String message) {
+        if (handler != null) {
+            handler.logInfo(message);
+        } else {
+            log.info(message);
+        }
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -397,49 +610,42 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             if (solrSearchCore.getSolr() == null) {
                 return;
             }
-            // First, we'll just get a count of the total results
-            SolrQuery countQuery = new SolrQuery("*:*");
-            countQuery.setRows(0);  // don't actually request any data
-            // Get the total amount of results
-            QueryResponse totalResponse = solrSearchCore.getSolr().query(countQuery,
-                                                                         solrSearchCore.REQUEST_METHOD);
-            long total = totalResponse.getResults().getNumFound();
-
-            int start = 0;
-            int batch = 100;
+            int batchSize = configurationService.getIntProperty("discovery.clean.batch-size", 1000);
 
-            // Now get actual Solr Documents in batches
-            SolrQuery query = new SolrQuery();
+            // Stream all Solr documents with a cursor, so that each page costs the same however deep it is. The
+            // cursor is not affected by the documents deleted while it goes through the index.
+            SolrQuery query = new SolrQuery("*:*");
             query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.RESOURCE_ID_FIELD,
                             SearchUtils.RESOURCE_TYPE_FIELD);
-            query.addSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
-            query.setQuery("*:*");
-            query.setRows(batch);
-            // Keep looping until we hit the total number of Solr docs
-            while (start < total) {
-                query.setStart(start);
+            query.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+            query.setRows(batchSize);
+            String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            int deleted = 0;
+            while (true) {
+                query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
                 QueryResponse rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
-                SolrDocumentList docs = rsp.getResults();
-
-                for (SolrDocument doc : docs) {
-                    String uniqueID = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
-
-                    IndexableObject o = findIndexableObject(context, doc);
 
-                    if (o == null) {
-                        log.info("Deleting: " + uniqueID);
-                        /*
-                         * Use IndexWriter to delete, its easier to manage
-                         * write.lock
-                         */
-                        unIndexContent(context, uniqueID);
-                    } else {
-                        log.debug("Keeping: " + o.getUniqueIndexID());
-                    }
+                // delete through the index factories, which also remove the related documents (e.g. the in progress
+                // submissions of an item)
+                for (Map.Entry<IndexFactory, List<String>> staleIds
+                    : findStaleDocuments(context, rsp.getResults()).entrySet()) {
+                    staleIds.getValue().forEach(uniqueID -> log.info("Deleting: " + uniqueID));
+                    staleIds.getKey().delete(staleIds.getValue());
+                    deleted += staleIds.getValue().size();
                 }
+                // the objects checked are not needed anymore
+                context.uncacheEntities();
 
-                start += batch;
+                String nextCursorMark = rsp.getNextCursorMark();
+                if (cursorMark.equals(nextCursorMark)) {
+                    break;
+                }
+                cursorMark = nextCursorMark;
+            }
+            if (deleted > 0) {
+                solrSearchCore.getSolr().commit();
             }
+            log.info("Deleted " + deleted + " stale documents from the Discovery index");
         } catch (IOException | SQLException | SolrServerException e) {
             log.error("Error cleaning discovery index: " + e.getMessage(), e);
         } finally {
@@ -447,6 +653,43 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    /**
+     * Find the documents of a page whose object does not exist anymore, checking the identifiers of each type of
+     * object with a single query.
+     *
+     * @param context the relevant DSpace Context.
+     * @param docs    the solr documents, the RESOURCE_UNIQUE_ID, RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD fields
+     *                MUST be present
+     * @return the unique ids of the stale documents, by the index factory of their type
+     * @throws SQLException if database error
+     */
+    protected Map<IndexFactory, List<String>> findStaleDocuments(Context context, List<SolrDocument> docs)
+        throws SQLException {
+        Map<String, Map<String, String>> uniqueIdsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            uniqueIdsByType.computeIfAbsent((String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD),
+                                            type -> new LinkedHashMap<>())
+                           .put((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD),
+                                (String) doc.getFirstValue(SearchUtils.RESOURCE_UNIQUE_ID));
+        }
+        Map<IndexFactory, List<String>> staleIds = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, String>> entry : uniqueIdsByType.entrySet()) {
+            IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexFactoryByType(entry.getKey());
+            Map<String, String> uniqueIds = entry.getValue();
+            if (indexableObjectService == null) {
+                log.warn("Unknown RESOURCE_TYPE_ID: " + entry.getKey());
+                continue;
+            }
+            List<String> existingIds =
+                indexableObjectService.findExistingIds(context, new ArrayList<>(uniqueIds.keySet()));
+            uniqueIds.keySet().removeAll(existingIds);
+            if (!uniqueIds.isEmpty()) {
+                staleIds.put(indexableObjectService, new ArrayList<>(uniqueIds.values()));
+            }
+        }
+        return staleIds;
+    }
+
     /**
      * Maintenance to keep a SOLR index efficient.
      * Note: This might take a long time.
@@ -536,6 +779,110 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     }
 
 
+    /**
+     * Index a page of objects. Unless forced, the staleness of all objects in the page is determined with a single
+     * query to the search core (see {@link #getLastIndexed(List)}) instead of one query per object, and only the
+     * objects which are stale or missing from the index are (re)indexed.
+     *
+     * @param context          the dspace context
+     * @param indexableObjects the objects to index
+     * @param force            whether or not to force the reindexing
+     * @return the number of objects which could not be indexed, the errors are logged
+     */
+    protected int indexContent(Context context, List<IndexableObject> indexableObjects, boolean force) {
+        if (indexableObjects.isEmpty()) {
+            return 0;
+        }
+        Map<String, Instant> lastIndexed = Collections.emptyMap();
+        if (!force) {
+            try {
+                if (solrSearchCore.getSolr() == null) {
+                    return indexableObjects.size();
+                }
+                lastIndexed = getLastIndexed(indexableObjects.stream()
+                                                             .map(IndexableObject::getUniqueIndexID)
+                                                             .collect(Collectors.toList()));
+            } catch (IOException | SearchServiceException e) {
+                log.error(e.getMessage(), e);
+                return indexableObjects.size();
+            }
+        }
+        int failed = 0;
+        for (IndexableObject indexableObject : indexableObjects) {
+            if (force || requiresIndexing(indexableObject.getLastModified(),
+                                          lastIndexed.get(indexableObject.getUniqueIndexID()))) {
+                if (!indexContentOrLogError(context, indexableObject, true)) {
+                    failed++;
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Retrieve the last indexed time stamp of the given objects with a single query to the search core.
+     *
+     * @param uniqueIds the unique identifiers of the objects
+     * @return the last indexed time stamp per unique identifier, {@link Instant#MAX} for the documents without time
+     * stamp; objects which are not in the index are absent
+     * @throws IOException            io exception
+     * @throws SearchServiceException if something went wrong with querying the solr server
+     */
+    protected Map<String, Instant> getLastIndexed(List<String> uniqueIds)
+        throws IOException, SearchServiceException {
+        SolrQuery query = new SolrQuery();
+        query.setQuery("*:*");
+        query.addFilterQuery("{!terms f=" + SearchUtils.RESOURCE_UNIQUE_ID + "}" + String.join(",", uniqueIds));
+        query.setFields(SearchUtils.RESOURCE_UNIQUE_ID, SearchUtils.LAST_INDEXED_FIELD);
+        query.setRows(uniqueIds.size());
+        QueryResponse rsp;
+        try {
+            rsp = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+        } catch (SolrServerException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+
+        Map<String, Instant> lastIndexed = new HashMap<>(uniqueIds.size());
+        for (SolrDocument doc : rsp.getResults()) {
+            String uniqueId = (String) doc.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
+            Instant value = toInstant(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+            // A document without time stamp is considered to be up to date, as by requiresIndexing(String, Instant)
+            lastIndexed.put(uniqueId, value != null ? value : Instant.MAX);
+        }
+        return lastIndexed;
+    }
+
+    /**
+     * @param lastModified the last modified date of the DSpace object, may be null
+     * @param lastIndexed  the last indexed time stamp of the object, null if it isn't in the index
+     * @return a boolean indicating if the object should be (re)indexed
+     */
+    protected boolean requiresIndexing(Instant lastModified, Instant lastIndexed) {
+        return lastModified == null || lastIndexed == null || lastIndexed.isBefore(lastModified);
+    }
+
+    /**
+     * Number of objects for which the staleness is checked with a single query while updating the index.
+     */
+    private int getStalenessCheckPageSize() {
+        return Math.max(1, configurationService.getIntProperty("discovery.index.staleness-check.batch-size", 100));
+    }
+
+    /**
+     * Number of characters of text (mostly full text) buffered by a batch of documents before it is sent to Solr.
+     */
+    private long getBatchMaxChars() {
+        return configurationService.getLongProperty("discovery.index.batch-max-chars", 10_000_000L);
+    }
+
+    private Instant toInstant(Object value) {
+        // If it's a java.util.Date, convert to an Instant
+        if (value instanceof java.util.Date) {
+            return ((java.util.Date) value).toInstant();
+        }
+        return value instanceof Instant ? (Instant) value : null;
+    }
+
     /**
      * Is stale checks the lastModified time stamp in the database and the index
      * to determine if the index is stale.
@@ -577,17 +924,9 @@ public class SolrServiceImpl implements SearchService, IndexingService {
 
             inIndex = true;
 
-            Object value = doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD);
-
-            // If it's a java.util.Date, convert to an Instant
-            if (value instanceof java.util.Date) {
-                value = ((java.util.Date) value).toInstant();
-            }
-
-            if (value instanceof Instant lastIndexed) {
-                if (lastIndexed.isBefore(lastModified)) {
-                    reindexItem = true;
-                }
+            Instant lastIndexed = toInstant(doc.getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+            if (lastIndexed != null && lastIndexed.isBefore(lastModified)) {
+                reindexItem = true;
             }
         }
 
@@ -802,6 +1141,11 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrQuery.addField(SearchUtils.RESOURCE_ID_FIELD);
         solrQuery.addField(SearchUtils.RESOURCE_UNIQUE_ID);
         solrQuery.addField(STATUS_FIELD);
+        if (discoveryQuery.isIndexProjection()) {
+            for (String fieldName : getItemIndexFactory().getProjectionFields()) {
+                solrQuery.addField(fieldName);
+            }
+        }
 
         if (discoveryQuery.isSpellCheck()) {
             solrQuery.setParam(SpellingParams.SPELLCHECK_Q, query);
@@ -941,8 +1285,10 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                 result.setTotalSearchResults(solrQueryResponse.getResults().getNumFound());
 
                 List<String> searchFields = query.getSearchFields();
+                Map<String, IndexableObject> indexableObjects =
+                    findIndexableObjects(context, solrQueryResponse.getResults(), query.isIndexProjection());
                 for (SolrDocument doc : solrQueryResponse.getResults()) {
-                    IndexableObject indexableObject = findIndexableObject(context, doc);
+                    IndexableObject indexableObject = indexableObjects.get(getIndexableObjectKey(doc));
 
                     if (indexableObject != null) {
                         result.addIndexableObject(indexableObject);
@@ -1165,6 +1511,61 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         return indexableObject.orElse(null);
     }
 
+    /**
+     * Find the objects referred to by a page of Solr documents, with a single query per type of object.
+     *
+     * @param context
+     *            The relevant DSpace Context.
+     * @param docs
+     *            the solr documents, the RESOURCE_TYPE_FIELD and RESOURCE_ID_FIELD fields MUST be present
+     * @param indexProjection
+     *            whether the items are built from their documents instead of being loaded from the database. The
+     *            items indexed before being committed to the database are loaded anyway, so that they are only
+     *            returned once they exist.
+     * @return the objects which were found, by {@link #getIndexableObjectKey(SolrDocument)} of their document
+     * @throws SQLException
+     *             An exception that provides information on a database access error or other errors.
+     */
+    protected Map<String, IndexableObject> findIndexableObjects(Context context, List<SolrDocument> docs,
+                                                               boolean indexProjection)
+        throws SQLException {
+        Map<String, IndexableObject> indexableObjects = new HashMap<>();
+        Map<String, List<String>> idsByType = new LinkedHashMap<>();
+        for (SolrDocument doc : docs) {
+            if (indexProjection && IndexableItem.TYPE.equals(doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD))
+                && !STATUS_FIELD_PREDB.equals(doc.getFirstValue(STATUS_FIELD))) {
+                indexableObjects.put(getIndexableObjectKey(doc), getItemIndexFactory().buildProjection(context, doc));
+                continue;
+            }
+            idsByType.computeIfAbsent((String) doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD),
+                                      type -> new ArrayList<>())
+                     .add((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+        }
+        for (Map.Entry<String, List<String>> entry : idsByType.entrySet()) {
+            String type = entry.getKey();
+            IndexFactory indexableObjectService = indexObjectServiceFactory.getIndexFactoryByType(type);
+            List<IndexableObject> found = indexableObjectService.findIndexableObjects(context, entry.getValue());
+            for (IndexableObject indexableObject : found) {
+                indexableObjects.put(type + "-" + indexableObject.getID(), indexableObject);
+            }
+            for (String id : entry.getValue()) {
+                if (!indexableObjects.containsKey(type + "-" + id)) {
+                    log.warn("Not able to retrieve object RESOURCE_ID:" + id + " - RESOURCE_TYPE_ID:" + type);
+                }
+            }
+        }
+        return indexableObjects;
+    }
+
+    private String getIndexableObjectKey(SolrDocument doc) {
+        return doc.getFirstValue(SearchUtils.RESOURCE_TYPE_FIELD) + "-"
+            + doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD);
+    }
+
+    private ItemIndexFactory getItemIndexFactory() {
+        return (ItemIndexFactory) indexObjectServiceFactory.getIndexFactoryByType(IndexableItem.TYPE);
+    }
+
     public List<IndexableObject> search(Context context, String query, int offset, int max,
             String... filterquery) {
         return search(context, query, null, true, offset, max, filterquery);
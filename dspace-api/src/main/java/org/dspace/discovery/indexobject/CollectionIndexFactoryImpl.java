@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrInputDocument;
@@ -154,6 +155,22 @@ public class CollectionIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Ind
         return collection == null ? Optional.empty() : Optional.of(new IndexableCollection(collection));
     }
 
+    @Override
+    public List<IndexableCollection> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return collectionService.findByIds(context, uuids).stream()
+                   .map(IndexableCollection::new)
+                   .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return collectionService.findExistingIds(context, uuids).stream()
+                   .map(UUID::toString)
+                   .collect(Collectors.toList());
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableCollection indexableCollection) throws SQLException {
         return getCollectionLocations(context, indexableCollection.getIndexedObject());
@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Community;
@@ -121,6 +122,22 @@ public class CommunityIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Inde
         return community == null ? Optional.empty() : Optional.of(new IndexableCommunity(community));
     }
 
+    @Override
+    public List<IndexableCommunity> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return communityService.findByIds(context, uuids).stream()
+                   .map(IndexableCommunity::new)
+                   .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return communityService.findExistingIds(context, uuids).stream()
+                   .map(UUID::toString)
+                   .collect(Collectors.toList());
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableCommunity indexableDSpaceObject) throws SQLException {
         final Community target = indexableDSpaceObject.getIndexedObject();
@@ -24,10 +24,13 @@ import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.csv.TextAndCSVParser;
 import org.apache.tika.sax.BodyContentHandler;
+import org.apache.tika.sax.WriteOutContentHandler;
 import org.dspace.core.Context;
+import org.dspace.discovery.FullTextChunkWriter;
 import org.dspace.discovery.FullTextContentStreams;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.SolrIndexBatch;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.discovery.SolrServiceIndexPlugin;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
@@ -110,10 +113,17 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
                 final int charLimit = DSpaceServicesFactory.getInstance().getConfigurationService()
                         .getIntProperty("discovery.solr.fulltext.charLimit",
                                 100000);
+                // the full text is saved as several values of the "fulltext" field as it is parsed, so that it is
+                // never held in a single String
+                final int chunkSize = DSpaceServicesFactory.getInstance().getConfigurationService()
+                        .getIntProperty("discovery.solr.fulltext.chunkSize", 65536);
+                FullTextChunkWriter fullTextWriter =
+                    new FullTextChunkWriter(chunkSize, chunk -> doc.addField("fulltext", chunk));
 
                 // Use Tika's Text parser as the streams are always from the TEXT bundle (i.e. already extracted text)
                 TextAndCSVParser tikaParser = new TextAndCSVParser();
-                BodyContentHandler tikaHandler = new BodyContentHandler(charLimit);
+                BodyContentHandler tikaHandler =
+                    new BodyContentHandler(new WriteOutContentHandler(fullTextWriter, charLimit));
                 Metadata tikaMetadata = new Metadata();
                 ParseContext tikaContext = new ParseContext();
 
@@ -141,6 +151,8 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
                     throw new IOException("Tika parsing error. Could not index full text.", ex);
                 }
                 if (extractionSucceeded) {
+                    // Save the last part of the (parsed) full text to "fulltext" field
+                    fullTextWriter.close();
                     // Write Tika metadata to "tika_meta_*" fields.
                     // This metadata is not very useful right now,
                     // but we'll keep it just in case it becomes more useful.
@@ -149,12 +161,15 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
                             doc.addField("tika_meta_" + name, value);
                         }
                     }
-                    // Save (parsed) full text to "fulltext" field
-                    doc.addField("fulltext", tikaHandler.toString());
                 }
             }
-            // Add document to index
-            solr.add(doc);
+            // Add document to index, as part of the batch opened on this thread (if any)
+            SolrIndexBatch batch = SolrIndexBatch.current();
+            if (batch != null) {
+                batch.add(doc);
+            } else {
+                solr.add(doc);
+            }
 
         }
     }
@@ -245,6 +260,13 @@ public abstract class IndexFactoryImpl<T extends IndexableObject, S> implements
         solrSearchCore.getSolr().deleteById(indexableObjectIdentifier);
     }
 
+    @Override
+    public void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        if (!indexableObjectIdentifiers.isEmpty()) {
+            solrSearchCore.getSolr().deleteById(indexableObjectIdentifiers);
+        }
+    }
+
     @Override
     public void deleteAll() throws IOException, SolrServerException {
         solrSearchCore.getSolr().deleteByQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + getType());
@@ -0,0 +1,172 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.indexobject;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+
+/**
+ * Item found by a search, built from the fields stored in the Discovery index instead of the database (see
+ * {@link org.dspace.discovery.DiscoverQuery#setIndexProjection(boolean)}). Only the metadata configured in
+ * "discovery.index.projection" are available without the database: the item itself is loaded the first time
+ * {@link #getIndexedObject()} is called.
+ */
+public class IndexableItemProjection extends IndexableItem {
+
+    private final Context context;
+
+    private final UUID id;
+
+    private String handle;
+
+    private boolean archived;
+
+    private boolean withdrawn;
+
+    private boolean discoverable;
+
+    private Instant lastModified;
+
+    private String entityType;
+
+    private List<MetadataValueDTO> metadata = List.of();
+
+    /**
+     * @param context the context of the search, used to load the item when needed
+     * @param id      the UUID of the item
+     */
+    public IndexableItemProjection(Context context, UUID id) {
+        super(null);
+        this.context = context;
+        this.id = id;
+    }
+
+    @Override
+    public UUID getID() {
+        return id;
+    }
+
+    /**
+     * Load the item from the database, if this was not done yet.
+     *
+     * @return the item, or null if it does not exist anymore
+     */
+    @Override
+    public Item getIndexedObject() {
+        if (!isLoaded()) {
+            try {
+                setIndexedObject(ContentServiceFactory.getInstance().getItemService().find(context, id));
+            } catch (SQLException e) {
+                throw new RuntimeException("Unable to load the item " + id, e);
+            }
+        }
+        return super.getIndexedObject();
+    }
+
+    /**
+     * @return whether the item has been loaded from the database
+     */
+    public boolean isLoaded() {
+        return super.getIndexedObject() != null;
+    }
+
+    public String getHandle() {
+        return handle;
+    }
+
+    public void setHandle(String handle) {
+        this.handle = handle;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+
+    public void setArchived(boolean archived) {
+        this.archived = archived;
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawn;
+    }
+
+    public void setWithdrawn(boolean withdrawn) {
+        this.withdrawn = withdrawn;
+    }
+
+    public boolean isDiscoverable() {
+        return discoverable;
+    }
+
+    public void setDiscoverable(boolean discoverable) {
+        this.discoverable = discoverable;
+    }
+
+    @Override
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    /**
+     * @return the stored metadata values of the item, in the order of their fields and places
+     */
+    public List<MetadataValueDTO> getMetadata() {
+        return metadata;
+    }
+
+    public void setMetadata(List<MetadataValueDTO> metadata) {
+        this.metadata = metadata;
+    }
+
+    /**
+     * @return the first stored value of the given metadata field, or null
+     */
+    public String getFirstMetadataValue(String schema, String element, String qualifier) {
+        for (MetadataValueDTO value : metadata) {
+            if (value.getSchema().equals(schema) && value.getElement().equals(element)
+                && (qualifier == null ? value.getQualifier() == null : qualifier.equals(value.getQualifier()))) {
+                return value.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // compared without loading the items
+        if (!(obj instanceof IndexableObject)) {
+            return false;
+        }
+        return getUniqueIndexID().equals(((IndexableObject) obj).getUniqueIndexID());
+    }
+
+    @Override
+    public int hashCode() {
+        return getUniqueIndexID().hashCode();
+    }
+}
@@ -14,6 +14,8 @@ import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -22,14 +24,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.authority.service.AuthorityValueService;
 import org.dspace.content.Collection;
@@ -42,6 +47,7 @@ import org.dspace.content.WorkspaceItem;
 import org.dspace.content.authority.Choices;
 import org.dspace.content.authority.service.ChoiceAuthorityService;
 import org.dspace.content.authority.service.MetadataAuthorityService;
+import org.dspace.content.dto.MetadataValueDTO;
 import org.dspace.content.service.ItemService;
 import org.dspace.content.service.WorkspaceItemService;
 import org.dspace.core.Context;
@@ -84,6 +90,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     public static final String STORE_SEPARATOR = "\n|||\n";
     public static final String STATUS_FIELD = "database_status";
     public static final String STATUS_FIELD_PREDB = "predb";
+    public static final String STORED_FIELD_SUFFIX = "_stored";
+    private static final String ENTITY_TYPE_FIELD = "dspace.entity.type";
 
 
     @Autowired
@@ -124,6 +132,65 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         };
     }
 
+    @Override
+    public List<UUID> findAllIds(Context context) throws SQLException {
+        return itemService.findAllRegularItemIds(context);
+    }
+
+    @Override
+    public IndexableItemProjection buildProjection(Context context, SolrDocument doc) {
+        IndexableItemProjection projection = new IndexableItemProjection(context,
+            UUID.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD)));
+        projection.setHandle((String) doc.getFirstValue("handle"));
+        projection.setArchived(Boolean.parseBoolean(String.valueOf(doc.getFirstValue("archived"))));
+        projection.setWithdrawn(Boolean.parseBoolean(String.valueOf(doc.getFirstValue("withdrawn"))));
+        projection.setDiscoverable(Boolean.parseBoolean(String.valueOf(doc.getFirstValue("discoverable"))));
+        Object lastModified = doc.getFirstValue("lastModified");
+        if (lastModified instanceof Date) {
+            projection.setLastModified(((Date) lastModified).toInstant());
+        }
+        Object entityType = doc.getFirstValue(ENTITY_TYPE_FIELD);
+        if (entityType != null && StringUtils.isNotBlank(entityType.toString())) {
+            projection.setEntityType(entityType.toString());
+        }
+
+        List<MetadataValueDTO> metadata = new ArrayList<>();
+        for (String fieldName : new TreeSet<>(doc.getFieldNames())) {
+            if (!fieldName.endsWith(STORED_FIELD_SUFFIX)) {
+                continue;
+            }
+            String[] field = fieldName.substring(0, fieldName.length() - STORED_FIELD_SUFFIX.length())
+                                      .split("\\.", 3);
+            if (field.length < 2) {
+                continue;
+            }
+            for (Object storedValue : doc.getFieldValues(fieldName)) {
+                // <value>|||<prefered label>|||<variants>|||<authority>|||<language>
+                String[] parts = String.valueOf(storedValue).split(Pattern.quote(STORE_SEPARATOR), -1);
+                if (parts.length < 5) {
+                    continue;
+                }
+                String value = String.join(STORE_SEPARATOR, Arrays.copyOfRange(parts, 0, parts.length - 4));
+                MetadataValueDTO metadataValue = new MetadataValueDTO(field[0], field[1],
+                    field.length > 2 ? field[2] : null, storedToNull(parts[parts.length - 1]), value);
+                metadataValue.setAuthority(storedToNull(parts[parts.length - 2]));
+                metadata.add(metadataValue);
+            }
+        }
+        projection.setMetadata(metadata);
+        return projection;
+    }
+
+    private String storedToNull(String storedValue) {
+        return "null".equals(storedValue) ? null : storedValue;
+    }
+
+    @Override
+    public List<String> getProjectionFields() {
+        return List.of(SearchUtils.RESOURCE_ID_FIELD, "handle", "archived", "withdrawn", "discoverable",
+                       "lastModified", ENTITY_TYPE_FIELD, "*" + STORED_FIELD_SUFFIX);
+    }
+
     @Override
     public String getType() {
         return IndexableItem.TYPE;
@@ -140,6 +207,11 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
     @Override
     public SolrInputDocument buildDocument(Context context, IndexableItem indexableItem)
             throws SQLException, IOException {
+        // Compute the virtual metadata of the item with the indexing context: they are then cached on the item for
+        // the SolrServiceIndexPlugins and the discovery fields, instead of being computed with a new context
+        itemService.getMetadata(context, indexableItem.getIndexedObject(), Item.ANY, Item.ANY, Item.ANY, Item.ANY,
+                                true);
+
         // Add the ID's, types and call the SolrServiceIndexPlugins
         SolrInputDocument doc = super.buildDocument(context, indexableItem);
 
@@ -312,7 +384,8 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
             }
 
             List<String> toIgnoreMetadataFields = SearchUtils.getIgnoredMetadataFields(item.getType());
-            List<MetadataValue> mydc = itemService.getMetadata(item, Item.ANY, Item.ANY, Item.ANY, Item.ANY);
+            List<MetadataValue> mydc = itemService.getMetadata(context, item, Item.ANY, Item.ANY, Item.ANY, Item.ANY,
+                                                               true);
             for (MetadataValue meta : mydc) {
                 MetadataField metadataField = meta.getMetadataField();
                 MetadataSchema metadataSchema = metadataField.getMetadataSchema();
@@ -543,7 +616,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
                         }
                     }
                     doc.addField(
-                            field + "_stored",
+                            field + STORED_FIELD_SUFFIX,
                             value + STORE_SEPARATOR + preferedLabel
                                     + STORE_SEPARATOR
                                     + (variantsToStore.length() > VARIANTS_STORE_SEPARATOR
@@ -643,6 +716,14 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         deleteInProgressData(indexableObjectIdentifier);
     }
 
+    @Override
+    public void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        super.delete(indexableObjectIdentifiers);
+        for (String indexableObjectIdentifier : indexableObjectIdentifiers) {
+            deleteInProgressData(indexableObjectIdentifier);
+        }
+    }
+
     @Override
     public boolean supports(Object object) {
         return object instanceof Item;
@@ -682,6 +763,22 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         return item == null ? Optional.empty() : Optional.of(new IndexableItem(item));
     }
 
+    @Override
+    public List<IndexableItem> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return itemService.findByIds(context, uuids).stream()
+                   .map(IndexableItem::new)
+                   .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        List<UUID> uuids = ids.stream().map(UUID::fromString).collect(Collectors.toList());
+        return itemService.findExistingIds(context, uuids).stream()
+                   .map(UUID::toString)
+                   .collect(Collectors.toList());
+    }
+
     /**
      * Handles indexing when discoverySearchFilter is of type facet.
      *
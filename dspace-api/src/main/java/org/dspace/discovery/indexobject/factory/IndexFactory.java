@@ -9,6 +9,7 @@ package org.dspace.discovery.indexobject.factory;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -82,6 +83,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     void delete(String indexableObjectIdentifier) throws IOException, SolrServerException;
 
+    /**
+     * Remove the provided indexable objects from the solr core, e.g. the stale documents found while cleaning the
+     * index. Implementations may remove all of them with a single request.
+     * @param indexableObjectIdentifiers The identifiers that we want to remove from the search core
+     * @throws IOException              If IO error
+     * @throws SolrServerException      If the solr documents could not be removed from the search core
+     */
+    default void delete(List<String> indexableObjectIdentifiers) throws IOException, SolrServerException {
+        for (String indexableObjectIdentifier : indexableObjectIdentifiers) {
+            delete(indexableObjectIdentifier);
+        }
+    }
+
     /**
      * Remove all indexable objects of the implementing type from the search core
      * @throws IOException          If IO error
@@ -98,6 +112,38 @@ public interface IndexFactory<T extends IndexableObject, S> {
      */
     Optional<T> findIndexableObject(Context context, String id) throws SQLException;
 
+    /**
+     * Retrieve the indexable objects with the provided identifiers, e.g. the hits of a search page. Implementations
+     * may retrieve all of them with a single query.
+     * @param context       DSpace context object
+     * @param ids           The identifiers of the indexable objects
+     * @return              The indexable objects which exist, in no particular order
+     * @throws SQLException If database error
+     */
+    default List<T> findIndexableObjects(Context context, List<String> ids) throws SQLException {
+        List<T> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            findIndexableObject(context, id).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Find which of the provided identifiers still identify an indexable object, e.g. to clean up the index.
+     * Implementations may check all of them with a single query which does not load the objects.
+     * @param context       DSpace context object
+     * @param ids           The identifiers of the indexable objects
+     * @return              The identifiers of the indexable objects which exist, in no particular order
+     * @throws SQLException If database error
+     */
+    default List<String> findExistingIds(Context context, List<String> ids) throws SQLException {
+        List<String> result = new ArrayList<>(ids.size());
+        for (T indexableObject : findIndexableObjects(context, ids)) {
+            result.add(indexableObject.getID().toString());
+        }
+        return result;
+    }
+
     /**
      * Determine whether the class can handle the factory implementation
      * @param object        The object which we want to check
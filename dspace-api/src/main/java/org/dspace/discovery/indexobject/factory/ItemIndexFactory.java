@@ -10,12 +10,15 @@ package org.dspace.discovery.indexobject.factory;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 
+import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrInputDocument;
 import org.dspace.content.Item;
 import org.dspace.core.Context;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 
 /**
  * Factory interface for indexing/retrieving items in the search core
@@ -38,4 +41,27 @@ public interface ItemIndexFactory extends DSpaceObjectIndexFactory<IndexableItem
                             List<DiscoveryConfiguration> discoveryConfigurations)
             throws SQLException, IOException;
 
+    /**
+     * Retrieve the identifiers of all items returned by {@link #findAll(Context)}, in ascending order.
+     * These are used to split a full reindex into partitions which can be indexed in parallel.
+     * @param context       DSpace context object
+     * @return              The ordered list of item UUIDs to be indexed
+     * @throws SQLException If database error
+     */
+    List<UUID> findAllIds(Context context) throws SQLException;
+
+    /**
+     * Build an item found by a search from the fields stored in its solr document, without loading it from the
+     * database. The document must contain the fields returned by {@link #getProjectionFields()}.
+     * @param context       DSpace context object, used to load the item later on if needed
+     * @param doc           The solr document of the item
+     * @return              The item built from the solr document
+     */
+    IndexableItemProjection buildProjection(Context context, SolrDocument doc);
+
+    /**
+     * @return The solr fields (possibly with wildcards) needed by {@link #buildProjection(Context, SolrDocument)}
+     */
+    List<String> getProjectionFields();
+
 }
\ No newline at end of file
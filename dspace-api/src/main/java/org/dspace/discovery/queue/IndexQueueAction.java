@@ -0,0 +1,30 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+/**
+ * The operations which can be queued for an indexable object in the {@link IndexQueueEntry} table. They mirror the
+ * operations performed synchronously by the {@link org.dspace.discovery.IndexEventConsumer}.
+ */
+public enum IndexQueueAction {
+
+    /**
+     * Remove the document (and any in progress submission documents of an item) from the index.
+     */
+    DELETE,
+
+    /**
+     * (Re-)index the object.
+     */
+    INDEX,
+
+    /**
+     * (Re-)index the object with a "preDB" status, used for freshly created or mapped items.
+     */
+    INDEX_PRE_DB
+}
@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record on the asynchronous discovery indexing queue. Each record holds the unique index id
+ * of an indexable object (e.g. "Item-{uuid}") and the operation to perform on it. Records are written by the
+ * {@link org.dspace.discovery.IndexEventConsumer} in the same transaction as the change that caused them, so they
+ * are only visible once that change is committed. A record which could not be processed is kept on the queue, and
+ * is retried once its next attempt time is reached.
+ */
+@Entity
+@Table(name = "discovery_index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "discovery_index_queue_id_seq")
+    @SequenceGenerator(name = "discovery_index_queue_id_seq", sequenceName = "discovery_index_queue_id_seq",
+        allocationSize = 1)
+    @Column(name = "id", unique = true, nullable = false)
+    private Integer id;
+
+    /**
+     * The unique index id of the object, as returned by
+     * {@link org.dspace.discovery.IndexableObject#getUniqueIndexID()}.
+     */
+    @Column(name = "unique_id", nullable = false, length = 256)
+    private String uniqueId;
+
+    @Column(name = "action", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private IndexQueueAction action;
+
+    @Column(name = "queued", nullable = false)
+    private Instant queued;
+
+    /**
+     * The number of failed attempts to process this record.
+     */
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    /**
+     * The time from which a failed record can be processed again, null if it never failed.
+     */
+    @Column(name = "next_attempt")
+    private Instant nextAttempt;
+
+    protected IndexQueueEntry() {
+    }
+
+    public IndexQueueEntry(String uniqueId, IndexQueueAction action, Instant queued) {
+        this.uniqueId = uniqueId;
+        this.action = action;
+        this.queued = queued;
+    }
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getUniqueId() {
+        return uniqueId;
+    }
+
+    public IndexQueueAction getAction() {
+        return action;
+    }
+
+    public Instant getQueued() {
+        return queued;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttempt() {
+        return nextAttempt;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexQueueEntry [id=" + id + ", uniqueId=" + uniqueId + ", action=" + action + ", queued=" + queued
+            + ", attempts=" + attempts + "]";
+    }
+}
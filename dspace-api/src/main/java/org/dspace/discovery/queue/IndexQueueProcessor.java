@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.sql.SQLException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Discovery index queue manager: scheduled task draining the asynchronous indexing queue by invoking
+ * {@link IndexQueueService#processQueue(Context)} until the queue is empty.
+ */
+public class IndexQueueProcessor {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueProcessor.class);
+
+    /**
+     * Default constructor
+     */
+    private IndexQueueProcessor() {
+    }
+
+    /**
+     * Process the queue, one window of records at a time, committing after each window.
+     *
+     * @return the number of processed queue records
+     * @throws SQLException           If something goes wrong
+     * @throws SearchServiceException If the changes could not be committed to the search core
+     */
+    public static int processQueue() throws SQLException, SearchServiceException {
+        IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+        Context context = new Context(Context.Mode.READ_WRITE);
+        try {
+            int total = 0;
+            int processed;
+            do {
+                processed = indexQueueService.processQueue(context);
+                context.commit();
+                total += processed;
+            } while (processed > 0);
+            if (total > 0) {
+                log.info("Processed discovery index queue records x" + total);
+            }
+            context.complete();
+            return total;
+        } finally {
+            if (context.isValid()) {
+                context.abort();
+            }
+        }
+    }
+}
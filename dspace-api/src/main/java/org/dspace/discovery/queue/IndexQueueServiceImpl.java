@@ -0,0 +1,296 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.SolrIndexBatch;
+import org.dspace.discovery.SolrSearchCore;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ * <p>
+ * A call to {@link #processQueue(Context)} handles a window of at most {@code discovery.index.async.batch-size}
+ * queue records. Deletions are sent to the search core first, on the calling thread, exactly like the
+ * {@link org.dspace.discovery.IndexEventConsumer} does. The objects to index are then split over
+ * {@code discovery.index.async.threads} worker threads, each with its own Context, and sent to the search core in
+ * batches of {@code discovery.index.batch-size} documents. A single commit is issued at the end of the window.
+ * <p>
+ * The records of the window are locked while they are processed, so that several processes can share the queue.
+ * Only the records of the objects which were (un)indexed are removed: the records of an object which failed are
+ * kept, and retried after {@code discovery.index.async.retry-delay} seconds.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueServiceImpl.class);
+
+    @Autowired
+    private IndexQueueEntryDAO indexQueueEntryDAO;
+
+    @Autowired
+    private IndexingService indexingService;
+
+    @Autowired
+    private IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    @Autowired
+    private SolrSearchCore solrSearchCore;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("discovery.index.async.enabled", false);
+    }
+
+    @Override
+    public void enqueue(Context context, String uniqueId, IndexQueueAction action) throws SQLException {
+        indexQueueEntryDAO.create(context, new IndexQueueEntry(uniqueId, action, Instant.now()));
+    }
+
+    @Override
+    public int processQueue(Context context) throws SQLException, SearchServiceException {
+        Instant now = Instant.now();
+        List<IndexQueueEntry> entries = indexQueueEntryDAO.claimOldest(context, now,
+            configurationService.getIntProperty("discovery.index.async.batch-size", 1000));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        // Coalesce the records, so that an object which was queued several times is only handled once
+        Map<String, Set<IndexQueueAction>> actions = new LinkedHashMap<>();
+        Map<String, List<Integer>> ids = new HashMap<>();
+        for (IndexQueueEntry entry : entries) {
+            actions.computeIfAbsent(entry.getUniqueId(), uniqueId -> EnumSet.noneOf(IndexQueueAction.class))
+                   .add(entry.getAction());
+            ids.computeIfAbsent(entry.getUniqueId(), uniqueId -> new ArrayList<>()).add(entry.getID());
+            context.uncacheEntity(entry);
+        }
+
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        Context.Mode originalMode = context.getCurrentMode();
+        context.setMode(Context.Mode.READ_ONLY);
+        context.turnOffAuthorisationSystem();
+        try {
+            for (Map.Entry<String, Set<IndexQueueAction>> action : actions.entrySet()) {
+                if (action.getValue().contains(IndexQueueAction.DELETE) && !unIndex(action.getKey())) {
+                    failed.add(action.getKey());
+                }
+            }
+            indexObjects(context, actions, failed);
+        } finally {
+            context.restoreAuthSystemState();
+            context.setMode(originalMode);
+        }
+
+        indexingService.commit();
+        List<Integer> processedIds = new ArrayList<>(entries.size());
+        List<Integer> failedIds = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> objectIds : ids.entrySet()) {
+            if (failed.contains(objectIds.getKey())) {
+                failedIds.addAll(objectIds.getValue());
+            } else {
+                processedIds.addAll(objectIds.getValue());
+            }
+        }
+        indexQueueEntryDAO.deleteByIds(context, processedIds);
+        if (!failed.isEmpty()) {
+            int retryDelay = configurationService.getIntProperty("discovery.index.async.retry-delay", 300);
+            indexQueueEntryDAO.updateFailedByIds(context, failedIds, now.plusSeconds(retryDelay));
+            log.warn("Failed to process the discovery index queue records of {} objects, they will be retried in {}"
+                         + " seconds", failed.size(), retryDelay);
+        }
+        log.debug("Processed {} discovery index queue records for {} objects", entries.size(), actions.size());
+        return entries.size();
+    }
+
+    /**
+     * Index the objects of the window, using worker threads if configured.
+     *
+     * @param failed the set to which the unique ids of the objects which could not be indexed are added
+     */
+    protected void indexObjects(Context context, Map<String, Set<IndexQueueAction>> actions, Set<String> failed)
+        throws SQLException {
+        int threads = configurationService.getIntProperty("discovery.index.async.threads", 1);
+        if (threads <= 1 || actions.size() <= 1) {
+            indexObjects(context, List.copyOf(actions.keySet()), actions, failed);
+            return;
+        }
+
+        List<String> uniqueIds = List.copyOf(actions.keySet());
+        int partitionSize = (int) Math.ceil((double) uniqueIds.size() / threads);
+        List<List<String>> partitions = ListUtils.partition(uniqueIds, partitionSize);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (List<String> partition : partitions) {
+                futures.add(executorService.submit(() -> {
+                    Context workerContext = new Context(Context.Mode.READ_ONLY);
+                    workerContext.turnOffAuthorisationSystem();
+                    try {
+                        indexObjects(workerContext, partition, actions, failed);
+                    } finally {
+                        workerContext.abort();
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("Error while indexing queued objects: " + e.getCause().getMessage(), e.getCause());
+                    failed.addAll(partitions.get(i));
+                }
+            }
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for the indexing threads to finish", e);
+            failed.addAll(uniqueIds);
+            Thread.currentThread().interrupt();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Index the given objects on the current thread, sending the documents to the search core in batches.
+     *
+     * @param failed the set to which the unique ids of the objects which could not be indexed are added
+     */
+    protected void indexObjects(Context context, List<String> uniqueIds, Map<String, Set<IndexQueueAction>> actions,
+                                Set<String> failed) throws SQLException {
+        int batchSize = configurationService.getIntProperty("discovery.index.batch-size", 100);
+        long maxChars = configurationService.getLongProperty("discovery.index.batch-max-chars", 10_000_000L);
+        // objects whose documents are waiting in the batch, they fail as well if the batch can't be sent
+        List<String> unsent = new ArrayList<>();
+        try (SolrIndexBatch batch = SolrIndexBatch.open(solrSearchCore.getSolr(), batchSize, maxChars)) {
+            for (String uniqueId : uniqueIds) {
+                Set<IndexQueueAction> objectActions = actions.get(uniqueId);
+                boolean indexed = true;
+                if (objectActions.contains(IndexQueueAction.INDEX)) {
+                    indexed = index(context, uniqueId, false);
+                }
+                if (objectActions.contains(IndexQueueAction.INDEX_PRE_DB)) {
+                    indexed = index(context, uniqueId, true) && indexed;
+                }
+                if (!indexed) {
+                    failed.add(uniqueId);
+                }
+                if (batch.isEmpty()) {
+                    // the batch has just been sent, or the request failed and the batch was dropped
+                    if (!indexed) {
+                        failed.addAll(unsent);
+                    }
+                    unsent.clear();
+                } else if (indexed) {
+                    unsent.add(uniqueId);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to send the last batch of queued objects to the search core", e);
+            failed.addAll(unsent);
+        }
+    }
+
+    /**
+     * Index a queued object, its document being added to the batch of the current thread.
+     *
+     * @return false if the object could not be indexed, the error is logged
+     */
+    private boolean index(Context context, String uniqueId, boolean preDb) throws SQLException {
+        IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueId);
+        if (indexFactory == null) {
+            log.warn("No index factory found for queued object: " + uniqueId);
+            return true;
+        }
+        Optional<IndexableObject> indexableObject =
+            indexFactory.findIndexableObject(context, StringUtils.substringAfter(uniqueId, "-"));
+        if (indexableObject.isEmpty()) {
+            // The object has been deleted since it was queued, a DELETE record will take care of it
+            log.debug("Queued object no longer exists: " + uniqueId);
+            return true;
+        }
+        try {
+            SolrInputDocument document = preDb ? indexFactory.buildNewDocument(context, indexableObject.get())
+                : indexFactory.buildDocument(context, indexableObject.get());
+            indexFactory.writeDocument(context, indexableObject.get(), document);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed while indexing queued object: " + uniqueId, e);
+            return false;
+        } finally {
+            context.uncacheEntity(indexableObject.get().getIndexedObject());
+        }
+    }
+
+    /**
+     * Remove a queued object from the search core.
+     *
+     * @return false if the object could not be removed, the error is logged
+     */
+    private boolean unIndex(String uniqueId) {
+        IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueId);
+        if (indexFactory == null) {
+            log.warn("No index factory found for queued object: " + uniqueId);
+            return true;
+        }
+        try {
+            indexFactory.delete(uniqueId);
+            return true;
+        } catch (Exception e) {
+            log.error("Failed while UN-indexing queued object: " + uniqueId, e);
+            return false;
+        }
+    }
+
+    @Override
+    public long countQueued(Context context) throws SQLException {
+        return indexQueueEntryDAO.countAll(context);
+    }
+
+    @Override
+    public Duration getLag(Context context) throws SQLException {
+        Instant oldest = indexQueueEntryDAO.findOldestQueueTime(context);
+        if (oldest == null) {
+            return Duration.ZERO;
+        }
+        return Duration.between(oldest, Instant.now());
+    }
+}
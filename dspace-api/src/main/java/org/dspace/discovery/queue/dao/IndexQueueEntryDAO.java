@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.queue.IndexQueueEntry;
+
+/**
+ * This is the Data Access Object for the {@link IndexQueueEntry} object
+ */
+public interface IndexQueueEntryDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Claims the oldest records of the queue which are due, in the order they were queued. The records are locked
+     * until the transaction of the context ends, and the records already locked by another transaction are skipped,
+     * so that concurrent processes never handle the same records.
+     *
+     * @param context The relevant DSpace context
+     * @param now     The current time, the failed records whose next attempt is later are skipped
+     * @param limit   The maximum number of records to return
+     * @return the oldest due records of the queue
+     * @throws SQLException If something goes wrong
+     */
+    List<IndexQueueEntry> claimOldest(Context context, Instant now, int limit) throws SQLException;
+
+    /**
+     * Returns the number of records in the queue.
+     *
+     * @param context The relevant DSpace context
+     * @return the number of records in the queue
+     * @throws SQLException If something goes wrong
+     */
+    long countAll(Context context) throws SQLException;
+
+    /**
+     * Returns the time at which the oldest record of the queue was queued.
+     *
+     * @param context The relevant DSpace context
+     * @return the queue time of the oldest record, or null if the queue is empty
+     * @throws SQLException If something goes wrong
+     */
+    Instant findOldestQueueTime(Context context) throws SQLException;
+
+    /**
+     * Deletes the records with the given ids, without loading them.
+     *
+     * @param context The relevant DSpace context
+     * @param ids     The ids of the records to delete
+     * @return the number of deleted records
+     * @throws SQLException If something goes wrong
+     */
+    int deleteByIds(Context context, List<Integer> ids) throws SQLException;
+
+    /**
+     * Records a failed attempt for the records with the given ids, without loading them.
+     *
+     * @param context     The relevant DSpace context
+     * @param ids         The ids of the records which failed
+     * @param nextAttempt The time from which the records can be processed again
+     * @return the number of updated records
+     * @throws SQLException If something goes wrong
+     */
+    int updateFailedByIds(Context context, List<Integer> ids, Instant nextAttempt) throws SQLException;
+}
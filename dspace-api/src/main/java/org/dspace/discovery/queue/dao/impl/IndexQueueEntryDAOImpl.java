@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
+
+/**
+ * Implementation of {@link IndexQueueEntryDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class IndexQueueEntryDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueEntryDAO {
+
+    @Override
+    public List<IndexQueueEntry> claimOldest(Context context, Instant now, int limit) throws SQLException {
+        Query query = createQuery(context,
+            "FROM IndexQueueEntry WHERE nextAttempt IS NULL OR nextAttempt <= :now ORDER BY id");
+        query.setParameter("now", now);
+        query.setMaxResults(limit);
+        // SELECT ... FOR UPDATE SKIP LOCKED
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        query.setHint(AvailableSettings.JAKARTA_LOCK_TIMEOUT, LockOptions.SKIP_LOCKED);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(entry) FROM IndexQueueEntry entry");
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public Instant findOldestQueueTime(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT MIN(queued) FROM IndexQueueEntry");
+        return (Instant) query.getSingleResult();
+    }
+
+    @Override
+    public int deleteByIds(Context context, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = createQuery(context, "DELETE FROM IndexQueueEntry WHERE id IN (:ids)");
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+
+    @Override
+    public int updateFailedByIds(Context context, List<Integer> ids, Instant nextAttempt) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = createQuery(context, "UPDATE IndexQueueEntry SET attempts = attempts + 1, "
+            + "nextAttempt = :nextAttempt WHERE id IN (:ids)");
+        query.setParameter("nextAttempt", nextAttempt);
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.queue.IndexQueueAction;
+
+/**
+ * Service to manage the asynchronous discovery indexing queue. When the asynchronous mode is enabled, the
+ * {@link org.dspace.discovery.IndexEventConsumer} only records the objects to (un)index in the queue, and the
+ * actual indexing is done in the background by {@link #processQueue(Context)}.
+ */
+public interface IndexQueueService {
+
+    /**
+     * @return true if the asynchronous indexing mode is enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Add an operation on the given object to the queue. The record is written in the transaction of the given
+     * context, so it only becomes visible to the queue processor once that context is committed.
+     *
+     * @param context  The relevant DSpace context
+     * @param uniqueId the unique index id of the object
+     * @param action   the operation to perform
+     * @throws SQLException If something goes wrong
+     */
+    void enqueue(Context context, String uniqueId, IndexQueueAction action) throws SQLException;
+
+    /**
+     * Process the oldest records of the queue. All records concerning the same object are coalesced, so that each
+     * object is (un)indexed at most once per call, after which the records are removed from the queue. The
+     * records of the objects which could not be (un)indexed are kept, and retried after
+     * {@code discovery.index.async.retry-delay} seconds; all the records are kept if the changes could not be
+     * committed to the search core. The records are locked until the given context is committed, and the records
+     * locked by another process are skipped. The caller is responsible for committing the given context.
+     *
+     * @param context The relevant DSpace context
+     * @return the number of processed queue records, 0 if the queue is empty
+     * @throws SQLException           If something goes wrong
+     * @throws SearchServiceException If the changes could not be committed to the search core
+     */
+    int processQueue(Context context) throws SQLException, SearchServiceException;
+
+    /**
+     * @param context The relevant DSpace context
+     * @return the number of records waiting in the queue
+     * @throws SQLException If something goes wrong
+     */
+    long countQueued(Context context) throws SQLException;
+
+    /**
+     * @param context The relevant DSpace context
+     * @return how long the oldest record has been waiting in the queue, {@link Duration#ZERO} if it is empty
+     * @throws SQLException If something goes wrong
+     */
+    Duration getLag(Context context) throws SQLException;
+}
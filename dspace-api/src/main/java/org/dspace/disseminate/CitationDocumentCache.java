@@ -0,0 +1,229 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.util.concurrent.Striped;
+import org.apache.commons.io.function.IOConsumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Disk cache of the generated citation documents (the bitstreams with their cover page), so that they are not
+ * generated again for every download, nor kept in memory while they are sent.
+ * <p>
+ * A document is stored in a file named after its item, its bitstream and a version computed from the checksum of
+ * the bitstream, the last modification of the item and the configuration of the cover page, so that a document is
+ * generated again as soon as one of them changes. The files of the changed or deleted items and bitstreams are
+ * removed by the {@link CitationDocumentCacheConsumer}, and the least recently used files are removed when the total
+ * size of the cache exceeds its maximum size. The files are kept across restarts: the directory must be cleared
+ * after the changes the version does not capture, e.g. the names of the collections used by a custom cover page.
+ * <p>
+ * The cache is configured with:
+ * <ul>
+ * <li>{@code citation-page.cache.dir}: the directory of the files (default {@code ${dspace.dir}/var/citation-page})
+ * </li>
+ * <li>{@code citation-page.cache.size}: the maximum total size of the files in MB (default 1024)</li>
+ * </ul>
+ */
+public class CitationDocumentCache {
+
+    private static final Logger log = LogManager.getLogger();
+
+    private static final String EXTENSION = ".pdf";
+
+    private final File directory;
+
+    private final long maximumSize;
+
+    /**
+     * The lengths of the cached files by name, from the least to the most recently used.
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size = 0;
+
+    /**
+     * Locks preventing several requests from generating the same document at the same time.
+     */
+    private final Striped<Lock> generationLocks = Striped.lock(64);
+
+    @Autowired(required = true)
+    public CitationDocumentCache(ConfigurationService configurationService) {
+        this(new File(configurationService.getProperty("citation-page.cache.dir",
+                                                       configurationService.getProperty("dspace.dir")
+                                                           + File.separator + "var" + File.separator
+                                                           + "citation-page")),
+             configurationService.getLongProperty("citation-page.cache.size", 1024) * 1024 * 1024);
+    }
+
+    /**
+     * @param directory   the directory of the cached files, whose files are loaded in the cache
+     * @param maximumSize the maximum total size of the cached files, in bytes
+     */
+    public CitationDocumentCache(File directory, long maximumSize) {
+        this.directory = directory;
+        this.maximumSize = maximumSize;
+        load();
+    }
+
+    /**
+     * Get a cited document from the cache, generating it if it is not cached yet.
+     *
+     * @param itemID      the item of the bitstream
+     * @param bitstreamID the bitstream
+     * @param version     identifies the content of the bitstream and the metadata of the item the document is
+     *                    generated from
+     * @param generator   writes the document to the given file
+     * @return the file holding the document. It may be removed by a later call if the cache is full, so it must be
+     * opened soon.
+     * @throws IOException if the document can't be generated
+     */
+    public File get(UUID itemID, UUID bitstreamID, String version, IOConsumer<File> generator) throws IOException {
+        String name = itemID + "_" + bitstreamID + "_" + version + EXTENSION;
+        File file = getFile(name);
+        if (file != null) {
+            return file;
+        }
+
+        Lock lock = generationLocks.get(name);
+        lock.lock();
+        try {
+            // it may have been generated while waiting for the lock
+            file = getFile(name);
+            if (file != null) {
+                return file;
+            }
+            file = new File(directory, name);
+            File tempFile = new File(directory, name + ".tmp");
+            try {
+                Files.createDirectories(directory.toPath());
+                generator.accept(tempFile);
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile.toPath());
+            }
+            add(name, file);
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove the documents of an item or of a bitstream from the cache.
+     *
+     * @param id the UUID of the item or bitstream
+     */
+    public synchronized void invalidate(UUID id) {
+        String itemPrefix = id + "_";
+        String bitstreamPart = "_" + id + "_";
+        Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getKey().startsWith(itemPrefix) || entry.getKey().contains(bitstreamPart)) {
+                iterator.remove();
+                size -= entry.getValue();
+                delete(new File(directory, entry.getKey()));
+            }
+        }
+    }
+
+    /**
+     * @return the number of cached documents.
+     */
+    public synchronized int count() {
+        return files.size();
+    }
+
+    /**
+     * @return the total size of the cached documents, in bytes.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    private synchronized File getFile(String name) {
+        Long length = files.get(name);
+        if (length == null) {
+            return null;
+        }
+        File file = new File(directory, name);
+        if (!file.isFile()) {
+            // removed from the disk behind our back
+            files.remove(name);
+            size -= length;
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * Add a file to the cache, then remove the least recently used files, except this one, until the cache is not
+     * larger than its maximum size.
+     */
+    private synchronized void add(String name, File file) {
+        Long previous = files.put(name, file.length());
+        if (previous != null) {
+            size -= previous;
+        }
+        size += file.length();
+
+        Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+        while (size > maximumSize && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (!entry.getKey().equals(name)) {
+                iterator.remove();
+                size -= entry.getValue();
+                delete(new File(directory, entry.getKey()));
+            }
+        }
+    }
+
+    private void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            log.warn("Unable to delete the cached citation document {}", file, e);
+        }
+    }
+
+    /**
+     * Load the files left by a previous run, from the least to the most recently modified, and remove the temporary
+     * files of the documents whose generation did not complete.
+     */
+    private synchronized void load() {
+        File[] existing = directory.listFiles();
+        if (existing == null) {
+            return;
+        }
+        Arrays.sort(existing, Comparator.comparingLong(File::lastModified));
+        for (File file : existing) {
+            if (file.isFile() && file.getName().endsWith(EXTENSION)) {
+                add(file.getName(), file);
+            } else if (file.isFile()) {
+                delete(file);
+            }
+        }
+        log.info("Loaded {} citation documents ({} bytes) from {}", files.size(), size, directory);
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer removing the cited documents of the changed or deleted items and bitstreams from the
+ * {@link CitationDocumentCache}, once the changes are committed. The outdated documents would never be served
+ * anyway, as their version no longer matches, this only frees their disk space early.
+ *
+ * Recommended filter:  Item|Bitstream+Modify|Modify_Metadata|Delete
+ */
+public class CitationDocumentCacheConsumer implements Consumer {
+
+    private CitationDocumentCache citationDocumentCache;
+
+    private Set<UUID> objectsToInvalidate = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        citationDocumentCache = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                     .getServiceByName(CitationDocumentCache.class.getName(),
+                                                                       CitationDocumentCache.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int subjectType = event.getSubjectType();
+        int eventType = event.getEventType();
+        if ((subjectType == Constants.ITEM || subjectType == Constants.BITSTREAM)
+            && (eventType == Event.MODIFY || eventType == Event.MODIFY_METADATA || eventType == Event.DELETE)) {
+            objectsToInvalidate.add(event.getSubjectID());
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (!objectsToInvalidate.isEmpty()) {
+            Set<UUID> objects = objectsToInvalidate;
+            ctx.addAfterCommitTask(() -> objects.forEach(citationDocumentCache::invalidate));
+        }
+        objectsToInvalidate = new HashSet<>();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+}
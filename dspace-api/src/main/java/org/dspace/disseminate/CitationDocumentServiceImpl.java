@@ -13,10 +13,13 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.function.IOFunction;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -99,6 +102,9 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Autowired
     CoverPageService coverPageService;
 
+    @Autowired
+    CitationDocumentCache citationDocumentCache;
+
     @Override
     public void afterPropertiesSet() throws Exception {
         // Add valid format MIME types to set. This could be put in the Schema
@@ -249,17 +255,59 @@ public class CitationDocumentServiceImpl implements CitationDocumentService, Ini
     @Override
     public Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException {
+        var item = (Item) bitstreamService.getParentObject(context, bitstream);
 
+        return makeCitedDocument(context, bitstream, item, CitationDocumentServiceImpl::documentAsBytes);
+    }
+
+    @Override
+    public File getCitedDocumentFile(Context context, Bitstream bitstream) throws IOException, SQLException {
+        var item = (Item) bitstreamService.getParentObject(context, bitstream);
+        // the document changes with the content of the bitstream, the metadata of the item and the configuration
+        // of the cover page
+        var version = DigestUtils.md5Hex(bitstream.getChecksum() + ":" + item.getLastModified().toEpochMilli()
+                                             + ":" + getCoverPageConfigurationHash());
+
+        return citationDocumentCache.get(item.getID(), bitstream.getID(), version, file -> {
+            try {
+                makeCitedDocument(context, bitstream, item, document -> {
+                    document.setAllSecurityToBeRemoved(true);
+                    document.save(file);
+                    return file;
+                });
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+        });
+    }
+
+    /**
+     * @return a hash of the configuration the cover pages are generated with: the citation-page properties (except
+     * the ones of the cache), the template and the contributor
+     */
+    protected String getCoverPageConfigurationHash() {
+        var configuration = new StringBuilder(coverPageService.getTemplateHash());
+        var keys = new ArrayList<>(configurationService.getPropertyKeys("citation-page"));
+        Collections.sort(keys);
+        for (String key : keys) {
+            if (!key.startsWith("citation-page.cache.")) {
+                configuration.append('\n').append(key).append('=')
+                             .append(String.join(",", configurationService.getArrayProperty(key)));
+            }
+        }
+        return DigestUtils.md5Hex(configuration.toString());
+    }
+
+    private <T> T makeCitedDocument(Context context, Bitstream bitstream, Item item,
+                                    IOFunction<PDDocument, T> output) throws IOException, SQLException {
         try (
                 var result = new PDDocument();
                 var source = loadDocumentFromDB(context, bitstream)
         ) {
-            var item = (Item) bitstreamService.getParentObject(context, bitstream);
-
             try (var cover = coverPageService.renderCoverDocument(item)) {
                 addCoverPageToDocument(result, source, cover);
 
-                return documentAsBytes(result);
+                return output.apply(result);
             }
         }
     }
@@ -7,9 +7,11 @@
  */
 package org.dspace.disseminate;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.pdmodel.PDDocument;
@@ -43,6 +45,8 @@ public class CoverPageService {
 
     private final CoverPageContributor coverPageContributor;
 
+    private volatile String templateHash;
+
     /**
      * Render a PDF coverpage for the given Item. The implementation may use the context and
      * any relevant meta data from the Item to populate dynamic content in the rendered page.
@@ -67,6 +71,26 @@ public class CoverPageService {
         return pdfGenerator.generate(html);
     }
 
+    /**
+     * @return a hash identifying the template and the contributor the cover pages are rendered with. The template is
+     * loaded as a resource, it is only read the first time.
+     */
+    public String getTemplateHash() {
+        if (templateHash == null) {
+            var hash = new StringBuilder(coverTemplate).append(':')
+                                                       .append(coverPageContributor.getClass().getName());
+            try (var template = getClass().getClassLoader().getResourceAsStream(coverTemplate + ".html")) {
+                if (template != null) {
+                    hash.append(':').append(DigestUtils.md5Hex(template));
+                }
+            } catch (IOException e) {
+                LOG.warn("Unable to read the cover page template {}", coverTemplate, e);
+            }
+            templateHash = DigestUtils.md5Hex(hash.toString());
+        }
+        return templateHash;
+    }
+
     protected Map<String, String> prepareParams(Item item) {
         return item.getMetadata().stream()
                 .filter(meta -> meta.getPlace() == 0)
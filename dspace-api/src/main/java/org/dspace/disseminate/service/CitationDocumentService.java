@@ -7,6 +7,7 @@
  */
 package org.dspace.disseminate.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 
@@ -82,4 +83,20 @@ public interface CitationDocumentService {
     Pair<byte[], Long> makeCitedDocument(Context context, Bitstream bitstream)
             throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Get the cited document of the given bitstream from the disk cache of the cited documents, creating it
+     * with {@link #makeCitedDocument(Context, Bitstream)} if it is not cached yet, or if the bitstream or its item
+     * changed since it was cached. The document can then be sent without being loaded in memory.
+     *
+     * @param context   DSpace context
+     * @param bitstream The source bitstream being cited. This must be a PDF.
+     * @return The file holding the cited document. It may be removed from the cache later, so it must be opened
+     * right away.
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    File getCitedDocumentFile(Context context, Bitstream bitstream)
+            throws IOException, SQLException, AuthorizeException;
+
 }
\ No newline at end of file
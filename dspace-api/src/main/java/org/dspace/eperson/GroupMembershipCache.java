@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Cache, shared by all the requests, of the groups an EPerson is a member of: the groups the EPerson directly
+ * belongs to, the anonymous group and all their parent groups. Special groups depend on the way a user logged in,
+ * they are never cached here.
+ * <p>
+ * The entries are invalidated by the {@link GroupMembershipCacheConsumer}, once the changes to the groups and
+ * EPersons are committed. An entry is computed from the database without any lock, so a change could be
+ * committed (and the cache invalidated) while it is computed. To never keep such a stale entry, each invalidation
+ * increments a version number, and an entry is only stored if no invalidation happened since its computation
+ * started.
+ * <p>
+ * Only the changes made in the current Java process invalidate the cache: the changes made by another process
+ * (a command line tool, another node of a cluster) are only seen once the entries expire. This is why the cache is
+ * disabled by default.
+ * <p>
+ * The cache is configured with:
+ * <ul>
+ * <li>{@code eperson.group-membership-cache.size}: the maximum number of cached EPersons (default 0, the cache
+ * is disabled)</li>
+ * <li>{@code eperson.group-membership-cache.expiration}: the time in seconds after which an entry is computed
+ * again (default 3600), for changes made without content events, e.g. directly in the database</li>
+ * </ul>
+ */
+public class GroupMembershipCache {
+
+    private final Cache<UUID, Set<UUID>> memberGroups;
+
+    private final boolean enabled;
+
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Number of entries which were not stored because the groups changed while they were computed.
+     */
+    private final AtomicLong staleCount = new AtomicLong();
+
+    @Autowired(required = true)
+    public GroupMembershipCache(ConfigurationService configurationService) {
+        this(configurationService.getLongProperty("eperson.group-membership-cache.size", 0),
+             configurationService.getLongProperty("eperson.group-membership-cache.expiration", 3600));
+    }
+
+    /**
+     * @param maximumSize       maximum number of cached EPersons, 0 to disable the cache
+     * @param expirationSeconds time after which an entry is computed again
+     */
+    public GroupMembershipCache(long maximumSize, long expirationSeconds) {
+        this.enabled = maximumSize > 0;
+        this.memberGroups = CacheBuilder.newBuilder()
+                                        .maximumSize(Math.max(maximumSize, 0))
+                                        .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                                        .recordStats()
+                                        .build();
+    }
+
+    /**
+     * @return false if the cache is disabled by configuration.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Get the current version of the cache. It must be read before computing an entry, and passed to
+     * {@link #put(UUID, Set, long)}.
+     *
+     * @return the number of invalidations so far
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @param ePersonID the EPerson
+     * @return the UUIDs of the groups the EPerson is a member of, or null if they are not cached.
+     */
+    public Set<UUID> get(UUID ePersonID) {
+        return memberGroups.getIfPresent(ePersonID);
+    }
+
+    /**
+     * Store the groups of an EPerson, unless the cache was invalidated since the given version was read.
+     *
+     * @param ePersonID the EPerson
+     * @param groupIDs  the UUIDs of all the groups the EPerson is a member of
+     * @param version   the version of the cache when the computation of the groups started
+     * @return false if the entry was not stored because it may be stale
+     */
+    public synchronized boolean put(UUID ePersonID, Set<UUID> groupIDs, long version) {
+        if (!enabled) {
+            return false;
+        }
+        if (version != this.version.get()) {
+            staleCount.incrementAndGet();
+            return false;
+        }
+        memberGroups.put(ePersonID, Set.copyOf(groupIDs));
+        return true;
+    }
+
+    /**
+     * Forget the groups of an EPerson, e.g. after it was added to or removed from a group.
+     *
+     * @param ePersonID the EPerson
+     */
+    public synchronized void invalidate(UUID ePersonID) {
+        version.incrementAndGet();
+        memberGroups.invalidate(ePersonID);
+    }
+
+    /**
+     * Forget the groups of all EPersons, e.g. after the hierarchy of the groups changed.
+     */
+    public synchronized void invalidateAll() {
+        version.incrementAndGet();
+        memberGroups.invalidateAll();
+    }
+
+    /**
+     * @return the number of EPersons whose groups are cached.
+     */
+    public long size() {
+        return memberGroups.size();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of the cache.
+     */
+    public CacheStats getStats() {
+        return memberGroups.stats();
+    }
+
+    /**
+     * @return the number of entries which were not stored because the groups changed while they were computed.
+     */
+    public long getStaleCount() {
+        return staleCount.get();
+    }
+}
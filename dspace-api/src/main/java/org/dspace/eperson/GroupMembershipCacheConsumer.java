@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Consumer invalidating the {@link GroupMembershipCache} when group memberships change.
+ * The cache is invalidated once the changes are committed, so that the memberships are never computed again from
+ * the data before the change.
+ * <ul>
+ * <li>adding or removing an EPerson to or from a group invalidates the groups of this EPerson</li>
+ * <li>adding or removing a subgroup, or deleting a group invalidates the whole cache</li>
+ * <li>deleting an EPerson invalidates the groups of this EPerson</li>
+ * </ul>
+ *
+ * Recommended filter:  Group|EPerson+Add|Remove|Delete
+ */
+public class GroupMembershipCacheConsumer implements Consumer {
+
+    private GroupMembershipCache groupMembershipCache;
+
+    private Set<UUID> ePersonsToInvalidate = new HashSet<>();
+
+    private boolean invalidateAll = false;
+
+    @Override
+    public void initialize() throws Exception {
+        groupMembershipCache = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                    .getServiceByName(GroupMembershipCache.class.getName(),
+                                                                      GroupMembershipCache.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        int eventType = event.getEventType();
+        switch (event.getSubjectType()) {
+            case Constants.GROUP:
+                if ((eventType == Event.ADD || eventType == Event.REMOVE)
+                    && event.getObjectType() == Constants.EPERSON) {
+                    ePersonsToInvalidate.add(event.getObjectID());
+                } else if (eventType == Event.ADD || eventType == Event.REMOVE || eventType == Event.DELETE) {
+                    invalidateAll = true;
+                }
+                break;
+            case Constants.EPERSON:
+                if (eventType == Event.DELETE) {
+                    ePersonsToInvalidate.add(event.getSubjectID());
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (invalidateAll) {
+            ctx.addAfterCommitTask(groupMembershipCache::invalidateAll);
+        } else if (!ePersonsToInvalidate.isEmpty()) {
+            Set<UUID> ePersons = ePersonsToInvalidate;
+            ctx.addAfterCommitTask(() -> ePersons.forEach(groupMembershipCache::invalidate));
+        }
+        ePersonsToInvalidate = new HashSet<>();
+        invalidateAll = false;
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+
+    }
+}
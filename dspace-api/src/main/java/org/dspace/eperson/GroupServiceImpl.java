@@ -8,7 +8,9 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -20,6 +22,7 @@ import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.SetUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -45,6 +48,7 @@ import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.event.Event;
+import org.dspace.services.ConfigurationService;
 import org.dspace.util.UUIDUtils;
 import org.dspace.xmlworkflow.Role;
 import org.dspace.xmlworkflow.factory.XmlWorkflowFactory;
@@ -67,6 +71,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements GroupService {
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Maximum number of group UUIDs in a single query, when updating the group2groupcache table
+     */
+    private static final int MAX_GROUPS_PER_QUERY = 1000;
+
     @Autowired(required = true)
     protected GroupDAO groupDAO;
 
@@ -96,6 +105,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     protected ClaimedTaskService claimedTaskService;
     @Autowired(required = true)
     protected XmlWorkflowFactory workflowFactory;
+    @Autowired(required = true)
+    protected GroupMembershipCache groupMembershipCache;
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
 
     protected GroupServiceImpl() {
         super();
@@ -286,8 +299,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             } else {
                 boolean isMember = false;
 
-                //If we have an ePerson, check we can find membership in the database
-                if (ePerson != null) {
+                //If we have an ePerson, check we can find membership in the shared cache or in the database
+                if (ePerson != null && isGroupMembershipCacheUsable(context)) {
+                    isMember = getMemberGroupIDs(context, ePerson).contains(group.getID());
+                } else if (ePerson != null) {
                     //lookup eperson in normal groups and subgroups with 1 query
                     isMember = isEPersonInGroup(context, group, ePerson);
                 }
@@ -345,11 +360,18 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         Set<Group> groups = new HashSet<>();
+        // groups whose parents are still to be found
+        Set<Group> memberGroups = new HashSet<>();
 
-        if (ePerson != null) {
-            // two queries - first to get groups eperson is a member of
-            // second query gets parent groups for groups eperson is a member of
-            groups.addAll(groupDAO.findByEPerson(context, ePerson));
+        if (ePerson != null && isGroupMembershipCacheUsable(context)) {
+            // the groups of the eperson, their parents and the anonymous group are cached across requests
+            groups.addAll(findByIds(context, new ArrayList<>(getMemberGroupIDs(context, ePerson))));
+        } else {
+            if (ePerson != null) {
+                memberGroups.addAll(groupDAO.findByEPerson(context, ePerson));
+            }
+            // all the users are members of the anonymous group
+            memberGroups.add(findByName(context, Group.ANONYMOUS));
         }
         // Also need to get all "Special Groups" user is a member of!
         // Otherwise, you're ignoring the user's membership to these groups!
@@ -357,25 +379,66 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // of the current user, as we cannot look up the special groups
         // of a user who is not logged in.
         if ((context.getCurrentUser() == null) || (context.getCurrentUser().equals(ePerson))) {
-            List<Group> specialGroups = context.getSpecialGroups();
-            for (Group special : specialGroups) {
-                groups.add(special);
-            }
+            memberGroups.addAll(context.getSpecialGroups());
         }
 
-        // all the users are members of the anonymous group
-        groups.add(findByName(context, Group.ANONYMOUS));
-
-        List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
-        // now we have all owning groups, also grab all parents of owning groups
-        for (Group2GroupCache group2GroupCache : groupCache) {
-            groups.add(group2GroupCache.getParent());
-        }
+        groups.addAll(memberGroups);
+        groups.addAll(findParentGroups(context, memberGroups));
 
         context.cacheAllMemberGroupsSet(ePerson, groups);
         return groups;
     }
 
+    /**
+     * Whether the group memberships of the shared cache apply to the given context: the context must not have
+     * changed any group or EPerson yet, as the cache only knows about the committed changes.
+     */
+    private boolean isGroupMembershipCacheUsable(Context context) {
+        if (!groupMembershipCache.isEnabled()) {
+            return false;
+        }
+        if (context.hasEvents()) {
+            for (Event event : context.getEvents()) {
+                if (event.getSubjectType() == Constants.GROUP || event.getSubjectType() == Constants.EPERSON) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the UUIDs of the groups an EPerson is a member of, from the shared cache or from the database: its
+     * direct groups, the anonymous group and all their parents. Special groups are not included.
+     */
+    private Set<UUID> getMemberGroupIDs(Context context, EPerson ePerson) throws SQLException {
+        Set<UUID> groupIDs = groupMembershipCache.get(ePerson.getID());
+        if (groupIDs == null) {
+            // the version must be read before the groups, in case they change in the meantime
+            long version = groupMembershipCache.getVersion();
+            Set<Group> groups = new HashSet<>(groupDAO.findByEPerson(context, ePerson));
+            groups.add(findByName(context, Group.ANONYMOUS));
+            groups.addAll(findParentGroups(context, groups));
+
+            groupIDs = new HashSet<>();
+            for (Group group : groups) {
+                groupIDs.add(group.getID());
+            }
+            groupMembershipCache.put(ePerson.getID(), groupIDs, version);
+        }
+        return groupIDs;
+    }
+
+    private Set<Group> findParentGroups(Context context, Set<Group> groups) throws SQLException {
+        Set<Group> parents = new HashSet<>();
+        if (!groups.isEmpty()) {
+            for (Group2GroupCache group2GroupCache : group2GroupCacheDAO.findByChildren(context, groups)) {
+                parents.add(group2GroupCache.getParent());
+            }
+        }
+        return parents;
+    }
+
     @Override
     public List<EPerson> allMembers(Context c, Group g) throws SQLException {
         // two queries - first to get all groups which are a member of this group
@@ -423,6 +486,11 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
     }
 
+    @Override
+    public List<Group> findByIds(Context context, List<UUID> ids) throws SQLException {
+        return groupDAO.findByIDs(context, Group.class, ids);
+    }
+
     @Override
     public Group findByName(Context context, String name) throws SQLException {
         if (name == null) {
@@ -563,11 +631,13 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // update the group2groupcache table (if we do it after we delete our object we get an issue with references)
+        updateGroupCache(context, group, true);
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        if (isGroupCacheVerified()) {
+            verifyGroupCache(context);
+        }
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -658,7 +728,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            updateGroupCache(context, group, false);
+            if (isGroupCacheVerified()) {
+                verifyGroupCache(context);
+            }
             group.clearGroupsChanged();
         }
 
@@ -724,6 +797,13 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     protected void rethinkGroupCache(Context context, boolean flushQueries) throws SQLException {
+        recomputeGroupCache(context, flushQueries);
+    }
+
+    /**
+     * Regenerate the whole group2groupcache table and return the number of rows which had to be fixed.
+     */
+    private int recomputeGroupCache(Context context, boolean flushQueries) throws SQLException {
         // current cache in the database
         Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCache(context);
 
@@ -740,6 +820,154 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         for (Pair<UUID, UUID> pair : toCreate ) {
             group2GroupCacheDAO.addToCache(context, pair.getLeft(), pair.getRight());
         }
+        return toDelete.size() + toCreate.size();
+    }
+
+    /**
+     * Update the rows of the group2groupcache table which may be affected by a change of the subgroups or of the
+     * parent groups of a group, instead of regenerating the whole table.
+     * <p>
+     * A (parent, child) row may only appear or disappear if the parent reaches the child through a changed group,
+     * either before or after the change. So only the rows from the ancestors of the changed groups to their
+     * descendants are checked: the ancestors and descendants before the change are read from the cache table, those
+     * after the change from the group2group table. Besides the given group, the groups next to it which have
+     * changed too (e.g. the other end of an added subgroup relation) are taken into account.
+     *
+     * @param context The relevant DSpace Context.
+     * @param group   the group whose subgroups or parent groups changed
+     * @param deleted whether the group is being deleted, in which case all the rows referencing it are removed
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void updateGroupCache(Context context, Group group, boolean deleted) throws SQLException {
+        Set<UUID> changedGroups = new HashSet<>();
+        changedGroups.add(group.getID());
+        if (!deleted) {
+            Deque<Group> toVisit = new ArrayDeque<>(List.of(group));
+            while (!toVisit.isEmpty()) {
+                Group current = toVisit.poll();
+                for (Group next : CollectionUtils.union(current.getMemberGroups(), current.getParentGroups())) {
+                    if (next.isGroupsChanged() && changedGroups.add(next.getID())) {
+                        toVisit.add(next);
+                    }
+                }
+            }
+        }
+        UUID excluded = deleted ? group.getID() : null;
+
+        // the direct subgroups, loaded as needed (the first query flushes the pending changes of the groups)
+        Map<UUID, Set<UUID>> children = new HashMap<>();
+        Set<UUID> ancestors = new HashSet<>(changedGroups);
+        ancestors.addAll(findRelatedGroups(context, changedGroups, false, excluded, new HashMap<>()));
+        Set<UUID> descendants = new HashSet<>(changedGroups);
+        descendants.addAll(findRelatedGroups(context, changedGroups, true, excluded, children));
+
+        for (Pair<UUID, UUID> row : group2GroupCacheDAO.getCacheByChildren(context, changedGroups)) {
+            ancestors.add(row.getLeft());
+        }
+        Set<Pair<UUID, UUID>> oldDescendantRows = group2GroupCacheDAO.getCacheByParents(context, changedGroups);
+        for (Pair<UUID, UUID> row : oldDescendantRows) {
+            descendants.add(row.getRight());
+        }
+
+        if (deleted) {
+            for (Pair<UUID, UUID> row : group2GroupCacheDAO.getCacheByChildren(context, changedGroups)) {
+                group2GroupCacheDAO.deleteFromCache(context, row.getLeft(), row.getRight());
+            }
+            for (Pair<UUID, UUID> row : oldDescendantRows) {
+                group2GroupCacheDAO.deleteFromCache(context, row.getLeft(), row.getRight());
+            }
+            ancestors.remove(group.getID());
+            descendants.remove(group.getID());
+        }
+
+        Set<Pair<UUID, UUID>> current = new HashSet<>();
+        for (List<UUID> partition : ListUtils.partition(new ArrayList<>(ancestors), MAX_GROUPS_PER_QUERY)) {
+            for (Pair<UUID, UUID> row : group2GroupCacheDAO.getCacheByParents(context, partition)) {
+                if (descendants.contains(row.getRight())) {
+                    current.add(row);
+                }
+            }
+        }
+        Set<Pair<UUID, UUID>> expected = new HashSet<>();
+        for (UUID ancestor : ancestors) {
+            for (UUID descendant : findRelatedGroups(context, Set.of(ancestor), true, excluded, children)) {
+                if (descendants.contains(descendant)) {
+                    expected.add(Pair.of(ancestor, descendant));
+                }
+            }
+        }
+
+        for (Pair<UUID, UUID> pair : SetUtils.difference(current, expected)) {
+            group2GroupCacheDAO.deleteFromCache(context, pair.getLeft(), pair.getRight());
+        }
+        for (Pair<UUID, UUID> pair : SetUtils.difference(expected, current)) {
+            group2GroupCacheDAO.addToCache(context, pair.getLeft(), pair.getRight());
+        }
+    }
+
+    /**
+     * Find all the descendants (or ancestors) of some groups, following the direct relations of the group2group
+     * table. The given groups are only part of the result if they belong to a cycle.
+     *
+     * @param context     The relevant DSpace Context.
+     * @param groups      the groups to start from
+     * @param descendants true to find the descendants, false to find the ancestors
+     * @param excluded    a group which is not followed, or null
+     * @param relations   the direct relations already known (subgroups or parent groups of a group), completed
+     *                    with the relations loaded by this method
+     * @return the UUIDs of the descendants or ancestors
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    private Set<UUID> findRelatedGroups(Context context, Set<UUID> groups, boolean descendants, UUID excluded,
+                                        Map<UUID, Set<UUID>> relations) throws SQLException {
+        Set<UUID> related = new HashSet<>();
+        Set<UUID> frontier = new HashSet<>(groups);
+        while (!frontier.isEmpty()) {
+            List<UUID> unknown = new ArrayList<>();
+            for (UUID id : frontier) {
+                if (!relations.containsKey(id)) {
+                    unknown.add(id);
+                    relations.put(id, new HashSet<>());
+                }
+            }
+            for (List<UUID> partition : ListUtils.partition(unknown, MAX_GROUPS_PER_QUERY)) {
+                List<Pair<UUID, UUID>> results = descendants
+                    ? groupDAO.getGroup2GroupResultsByParents(context, partition)
+                    : groupDAO.getGroup2GroupResultsByChildren(context, partition);
+                for (Pair<UUID, UUID> result : results) {
+                    if (descendants) {
+                        relations.get(result.getLeft()).add(result.getRight());
+                    } else {
+                        relations.get(result.getRight()).add(result.getLeft());
+                    }
+                }
+            }
+
+            Set<UUID> next = new HashSet<>();
+            for (UUID id : frontier) {
+                for (UUID relative : relations.get(id)) {
+                    if (!relative.equals(excluded) && related.add(relative)) {
+                        next.add(relative);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return related;
+    }
+
+    private boolean isGroupCacheVerified() {
+        return configurationService.getBooleanProperty("eperson.group2groupcache.verify", false);
+    }
+
+    /**
+     * Check the whole group2groupcache table against the full recomputation from the Group table, and fix it.
+     */
+    private void verifyGroupCache(Context context) throws SQLException {
+        int fixed = recomputeGroupCache(context, true);
+        if (fixed > 0) {
+            log.error("The incremental update of the group2groupcache table missed {} rows, they were fixed", fixed);
+        }
     }
 
     @Override
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -85,6 +86,28 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      */
     List<Pair<UUID, UUID>> getGroup2GroupResults(Context context, boolean flushQueries) throws SQLException;
 
+    /**
+     * Get the direct parent - child group relations of the given parent groups
+     *
+     * @param context   The DSpace context
+     * @param parentIds UUIDs of the parent groups
+     * @return A list of pairs indicating parent - child
+     * @throws SQLException if database error
+     */
+    List<Pair<UUID, UUID>> getGroup2GroupResultsByParents(Context context, Collection<UUID> parentIds)
+        throws SQLException;
+
+    /**
+     * Get the direct parent - child group relations of the given child groups
+     *
+     * @param context  The DSpace context
+     * @param childIds UUIDs of the child groups
+     * @return A list of pairs indicating parent - child
+     * @throws SQLException if database error
+     */
+    List<Pair<UUID, UUID>> getGroup2GroupResultsByChildren(Context context, Collection<UUID> childIds)
+        throws SQLException;
+
     /**
      * Return all empty groups
      *
@@ -178,6 +201,16 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      */
     Group findByIdAndMembership(Context context, UUID id, EPerson ePerson) throws SQLException;
 
+    /**
+     * Find the groups with the given UUIDs, and their metadata values, using a single query.
+     * @param context current DSpace context.
+     * @param clazz   the group class.
+     * @param ids     the UUIDs of the groups to retrieve.
+     * @return the groups which were found, in no particular order.
+     * @throws SQLException if database error
+     */
+    List<Group> findByIDs(Context context, Class<Group> clazz, Collection<UUID> ids) throws SQLException;
+
     /**
      * Find all groups which are members of a given parent group.
      * This provides the same behavior as group.getMemberGroups(), but in a paginated fashion.
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -49,6 +50,30 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         return new HashSet<Pair<UUID, UUID>>(results);
     }
 
+    @Override
+    public Set<Pair<UUID, UUID>> getCacheByParents(Context context, Collection<UUID> parentIds) throws SQLException {
+        Query query = createQuery(
+            context,
+            "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                "FROM Group2GroupCache g WHERE g.parent.id IN (:parentIds)"
+        );
+        query.setParameter("parentIds", parentIds);
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return new HashSet<Pair<UUID, UUID>>(results);
+    }
+
+    @Override
+    public Set<Pair<UUID, UUID>> getCacheByChildren(Context context, Collection<UUID> childIds) throws SQLException {
+        Query query = createQuery(
+            context,
+            "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                "FROM Group2GroupCache g WHERE g.child.id IN (:childIds)"
+        );
+        query.setParameter("childIds", childIds);
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return new HashSet<Pair<UUID, UUID>>(results);
+    }
+
     @Override
     public List<Group2GroupCache> findByParent(Context context, Group group) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -221,6 +222,34 @@ public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements Grou
         return results;
     }
 
+    @Override
+    public List<Pair<UUID, UUID>> getGroup2GroupResultsByParents(Context context, Collection<UUID> parentIds)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.id, c.id) " +
+            "FROM Group g " +
+            "JOIN g.groups c " +
+            "WHERE g.id IN (:parentIds)");
+        query.setParameter("parentIds", parentIds);
+
+        @SuppressWarnings("unchecked")
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return results;
+    }
+
+    @Override
+    public List<Pair<UUID, UUID>> getGroup2GroupResultsByChildren(Context context, Collection<UUID> childIds)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.id, c.id) " +
+            "FROM Group g " +
+            "JOIN g.groups c " +
+            "WHERE c.id IN (:childIds)");
+        query.setParameter("childIds", childIds);
+
+        @SuppressWarnings("unchecked")
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return results;
+    }
+
     @Override
     public List<Group> getEmptyGroups(Context context) throws SQLException {
         return list(createQuery(context, "SELECT g from Group g where g.epeople is EMPTY"));
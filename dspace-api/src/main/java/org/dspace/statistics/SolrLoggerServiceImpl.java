@@ -105,6 +105,7 @@ import org.dspace.statistics.service.SolrLoggerService;
 import org.dspace.statistics.util.LocationUtils;
 import org.dspace.statistics.util.SpiderDetector;
 import org.dspace.usage.UsageWorkflowEvent;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -117,7 +118,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * @author kevinvandevelde at atmire.com
  * @author mdiggory at atmire.com
  */
-public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean {
+public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBean, DisposableBean {
     private static final Logger log = LogManager.getLogger();
 
     private static final String MULTIPLE_VALUES_SPLITTER = "|";
@@ -153,6 +154,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     protected SolrClient solr;
 
+    /** Buffered writer of the usage events, or null if they are sent to Solr synchronously. */
+    protected SolrStatisticsWriter statisticsWriter;
+
     /** Name of the current-year statistics core.  Prior-year shards will have a year suffixed. */
     private String statisticsCoreBase;
 
@@ -194,6 +198,18 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
         solr = solrStatisticsCore.getSolr();
 
+        if (solr != null && configurationService.getBooleanProperty("solr-statistics.buffer.enabled", false)) {
+            File spillFile = new File(configurationService.getProperty("solr-statistics.buffer.spill-file",
+                configurationService.getProperty("dspace.dir") + "/var/statistics/spill.jsonl"));
+            statisticsWriter = new SolrStatisticsWriter(solr,
+                configurationService.getIntProperty("solr-statistics.buffer.capacity", 10000),
+                configurationService.getIntProperty("solr-statistics.buffer.batch-size", 500),
+                configurationService.getLongProperty("solr-statistics.buffer.flush-interval", 1000),
+                configurationService.getLongProperty("solr-statistics.buffer.offer-timeout", 0),
+                !configurationService.getBooleanProperty("solr-statistics.autoCommit", true),
+                spillFile);
+        }
+
         // Read in the file so we don't have to do it all the time
         //spiderIps = SpiderDetector.getSpiderIpAddresses();
 
@@ -206,6 +222,29 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         locationService = service;
     }
 
+    @Override
+    public void destroy() throws Exception {
+        if (statisticsWriter != null) {
+            statisticsWriter.shutdown(configurationService.getLongProperty("solr-statistics.buffer.flush-interval",
+                                                                           1000) * 10);
+        }
+    }
+
+    /**
+     * Send a usage event document to the statistics core, through the buffered writer if it is enabled.
+     *
+     * @param document the usage event document
+     * @throws SolrServerException if Solr rejected the document
+     * @throws IOException         if Solr could not be reached
+     */
+    protected void addDocument(SolrInputDocument document) throws SolrServerException, IOException {
+        if (statisticsWriter != null) {
+            statisticsWriter.write(document);
+        } else {
+            solr.add(document);
+        }
+    }
+
     @Override
     public void post(DSpaceObject dspaceObject, HttpServletRequest request,
                      EPerson currentUser) {
@@ -253,10 +292,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
+            addDocument(doc1);
+            // commits are executed automatically using the solr autocommit (or by the buffered writer)
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
+            if (!useAutoCommit && statisticsWriter == null) {
                 solr.commit(false, false);
             }
 
@@ -299,10 +338,10 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
-            solr.add(doc1);
-            // commits are executed automatically using the solr autocommit
+            addDocument(doc1);
+            // commits are executed automatically using the solr autocommit (or by the buffered writer)
             boolean useAutoCommit = configurationService.getBooleanProperty("solr-statistics.autoCommit", true);
-            if (!useAutoCommit) {
+            if (!useAutoCommit && statisticsWriter == null) {
                 solr.commit(false, false);
             }
 
@@ -568,7 +607,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("page", page);
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc);
         } catch (RuntimeException re) {
             throw re;
         } catch (Exception e) {
@@ -617,7 +656,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 solrDoc.addField("actor", usageWorkflowEvent.getActor().getID().toString());
             }
 
-            solr.add(solrDoc);
+            addDocument(solrDoc);
         } catch (Exception e) {
             //Log the exception, no need to send it through, the workflow shouldn't crash because of this !
             log.error("Error saving WORKFLOW event to Solr", e);
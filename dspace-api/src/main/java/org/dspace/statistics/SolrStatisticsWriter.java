@@ -0,0 +1,347 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrInputDocument;
+
+/**
+ * Buffered, asynchronous writer of usage event documents to the statistics core.
+ * <p>
+ * The documents are put in a bounded buffer, and sent to Solr in batches by a single background thread, as soon
+ * as a batch is full or the flush interval has elapsed. When the buffer is full, because Solr does not keep up,
+ * a writer waits up to the offer timeout for some room, and the document is dropped (and counted) afterwards, so
+ * that requests are never blocked for long.
+ * <p>
+ * Batches which can't be sent to Solr are appended to a local spill file, one JSON document per line. The spill
+ * file is replayed as soon as Solr accepts documents again.
+ */
+public class SolrStatisticsWriter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Delay between two attempts to replay the spill file while no new document is sent.
+     */
+    private static final long REPLAY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final TypeReference<LinkedHashMap<String, List<Object>>> SPILLED_DOCUMENT_TYPE =
+        new TypeReference<>() { };
+
+    private final SolrClient solr;
+
+    private final BlockingQueue<SolrInputDocument> buffer;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final long offerTimeoutMillis;
+
+    private final boolean commit;
+
+    private final File spillFile;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Thread flusher;
+
+    private volatile boolean running = true;
+
+    /**
+     * Time (System.nanoTime) before which an idle flusher does not try to replay the spill file again.
+     */
+    private long nextReplayAttempt = System.nanoTime();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    /**
+     * Create the writer and start its flusher thread.
+     *
+     * @param solr                the statistics core
+     * @param capacity            maximum number of documents waiting to be sent
+     * @param batchSize           maximum number of documents sent in a single request
+     * @param flushIntervalMillis maximum time a document waits for its batch to be full
+     * @param offerTimeoutMillis  maximum time a writer waits for room in a full buffer before dropping its document
+     * @param commit              whether to commit explicitly after each batch, when Solr does not autocommit
+     * @param spillFile           file where the documents are saved while Solr is unavailable
+     */
+    public SolrStatisticsWriter(SolrClient solr, int capacity, int batchSize, long flushIntervalMillis,
+                                long offerTimeoutMillis, boolean commit, File spillFile) {
+        this.solr = solr;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.commit = commit;
+        this.spillFile = spillFile;
+        this.flusher = new Thread(this::run, "solr-statistics-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queue a document to be sent to Solr.
+     *
+     * @param document the usage event document
+     * @return false if the document was dropped because the buffer stayed full
+     */
+    public boolean write(SolrInputDocument document) {
+        try {
+            if (buffer.offer(document, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Statistics buffer is full, usage events are dropped ({} so far)", dropped.get());
+        }
+        return false;
+    }
+
+    /**
+     * Stop the flusher thread, after it sent the documents still in the buffer. The flusher is not interrupted,
+     * so that a request in progress is not aborted.
+     *
+     * @param timeoutMillis maximum time to wait for the remaining documents to be sent
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        try {
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Statistics writer stopped: {} documents written, {} dropped, {} spilled, {} replayed",
+                 written.get(), dropped.get(), spilled.get(), replayed.get());
+    }
+
+    /**
+     * @return the number of documents sent to Solr, including replayed ones.
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * @return the number of documents dropped because the buffer was full.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of documents saved to the spill file because Solr was unavailable.
+     */
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    /**
+     * @return the number of documents sent to Solr from the spill file.
+     */
+    public long getReplayedCount() {
+        return replayed.get();
+    }
+
+    /**
+     * @return the number of documents waiting in the buffer.
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    private void run() {
+        List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // send what is left, then stop
+                running = false;
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+                batch.clear();
+            } else if (running && System.nanoTime() - nextReplayAttempt >= 0) {
+                replaySpillFile();
+            }
+        }
+    }
+
+    /**
+     * Wait for a first document, then for more documents until the batch is full or the flush interval elapsed.
+     */
+    private void collectBatch(List<SolrInputDocument> batch) throws InterruptedException {
+        SolrInputDocument first = buffer.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            SolrInputDocument next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void send(List<SolrInputDocument> batch) {
+        try {
+            add(batch);
+            written.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("Unable to send {} usage events to Solr, saving them to {}: {}",
+                     batch.size(), spillFile, e.getMessage());
+            nextReplayAttempt = System.nanoTime() + REPLAY_RETRY_NANOS;
+            spill(batch);
+            return;
+        }
+        replaySpillFile();
+    }
+
+    private void add(List<SolrInputDocument> batch) throws SolrServerException, IOException {
+        solr.add(batch);
+        if (commit) {
+            solr.commit(false, false);
+        }
+    }
+
+    private void spill(List<SolrInputDocument> batch) {
+        try {
+            List<String> lines = new ArrayList<>(batch.size());
+            for (SolrInputDocument document : batch) {
+                Map<String, Object> fields = new LinkedHashMap<>();
+                for (String name : document.getFieldNames()) {
+                    fields.put(name, document.getFieldValues(name));
+                }
+                lines.add(mapper.writeValueAsString(fields));
+            }
+            appendLines(spillFile, lines);
+            spilled.addAndGet(batch.size());
+        } catch (IOException e) {
+            log.error("Unable to save {} usage events to {}, they are lost", batch.size(), spillFile, e);
+        }
+    }
+
+    /**
+     * Send the content of the spill file to Solr, if there is one. The documents which still can't be sent are
+     * written back to the spill file.
+     */
+    private void replaySpillFile() {
+        if (!spillFile.exists()) {
+            return;
+        }
+        File replayFile = new File(spillFile.getPath() + ".replay");
+        try {
+            Files.move(spillFile.toPath(), replayFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.error("Unable to replay the usage events saved in {}", spillFile, e);
+            return;
+        }
+
+        List<String> lines = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            boolean available = true;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (available && lines.size() >= batchSize) {
+                    available = replay(lines);
+                    if (available) {
+                        lines.clear();
+                    }
+                }
+            }
+            if (available && !lines.isEmpty()) {
+                available = replay(lines);
+                if (available) {
+                    lines.clear();
+                }
+            }
+            if (!lines.isEmpty()) {
+                appendLines(spillFile, lines);
+            }
+            Files.delete(replayFile.toPath());
+        } catch (IOException e) {
+            log.error("Unable to replay the usage events saved in {}", replayFile, e);
+        }
+    }
+
+    private boolean replay(List<String> lines) throws IOException {
+        List<SolrInputDocument> batch = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            SolrInputDocument document = new SolrInputDocument();
+            for (Map.Entry<String, List<Object>> field : mapper.readValue(line, SPILLED_DOCUMENT_TYPE).entrySet()) {
+                for (Object value : field.getValue()) {
+                    document.addField(field.getKey(), value);
+                }
+            }
+            batch.add(document);
+        }
+        try {
+            add(batch);
+        } catch (Exception e) {
+            nextReplayAttempt = System.nanoTime() + REPLAY_RETRY_NANOS;
+            log.debug("Solr is still unavailable, the usage events stay in {}: {}", spillFile, e.getMessage());
+            return false;
+        }
+        written.addAndGet(batch.size());
+        replayed.addAndGet(batch.size());
+        log.info("Replayed {} usage events saved in {}", batch.size(), spillFile);
+        return true;
+    }
+
+    private static void appendLines(File file, List<String> lines) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                                                             StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -9,8 +9,10 @@ package org.dspace.statistics.util;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -18,119 +20,136 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * A Spare v4 IPTable implementation that uses nested HashMaps
- * to optimize IP address matching over ranges of IP addresses.
+ * An IPTable implementation for IPv4 and IPv6 addresses, optimized for matching a single address against a large
+ * number of ranges.
+ * <p>
+ * The ranges are kept as sorted, non overlapping intervals in primitive arrays, so that {@link #contains(String)}
+ * is a binary search. Addresses are parsed without any DNS lookup, and looking up an IPv4 address doesn't
+ * allocate any object. The intervals are (re)built on the first lookup after a change, and are immutable
+ * afterwards, so concurrent lookups don't need any locking.
  *
  * @author mdiggory at atmire.com
  */
 public class IPTable {
     private static final Logger log = LogManager.getLogger(IPTable.class);
 
-    /* A lookup tree for IP addresses and SubnetRanges */
-    private final Set<IPRange> ipRanges = new HashSet<>();
+    private static final long IPV4_MAX = 0xFFFFFFFFL;
 
-    /**
-     * Internal class representing an IP range
-     */
-    static class IPRange {
-
-        /* Lowest address in the range */
-        private final long ipLo;
+    /* The ranges added to this table, not sorted nor merged: [lo, hi] for IPv4 and [loHigh, loLow, hiHigh, hiLow]
+     * for IPv6, the IPv6 addresses being split into their 64 high and low bits */
+    private final List<long[]> ipv4Ranges = new ArrayList<>();
+    private final List<long[]> ipv6Ranges = new ArrayList<>();
 
-        /* Highest address in the range */
-        private final long ipHi;
-
-        IPRange(long ipLo, long ipHi) {
-            this.ipLo = ipLo;
-            this.ipHi = ipHi;
-        }
-
-        /**
-         * Get the lowest address in the range
-         * @return  the lowest address as a long integer
-         */
-        public long getIpLo() {
-            return ipLo;
-        }
-
-        /**
-         * Get the highest address in the range
-         * @return  the highest address as a long integer
-         */
-        public long getIpHi() {
-            return ipHi;
-        }
-    }
+    /* The sorted and merged intervals, null when they need to be rebuilt after a change */
+    private volatile Intervals intervals;
 
     /**
-     * Can be full v4 IP, subnet or range string.
+     * Can be full v4 or v6 IP, subnet or range string.
      * <ul>
-     *   <li>A full address is a complete dotted-quad:  {@code "1.2.3.4".}
+     *   <li>A full address is a complete dotted-quad:  {@code "1.2.3.4"}, or any IPv6 address: {@code "2001:db8::1"}.
      *   <li>A subnet is a dotted-triplet:  {@code "1.2.3"}.  It means an entire
-     *       Class C subnet:  "1.2.3.0-1.2.3.255".
-     *   <li>A range is two dotted-quad addresses separated by hyphen:
-     *       {@code "1.2.3.4-1.2.3.14"}.  Only the final octet may be different.
+     *       Class C subnet:  "1.2.3.0-1.2.3.255". The same applies to {@code "1.2"} and {@code "1"}.
+     *   <li>A CIDR block: {@code "172.16.0.0/12"} or {@code "2001:db8::/32"}.
+     *   <li>A range is two addresses of the same family separated by hyphen:
+     *       {@code "1.2.3.4-1.2.3.14"} or {@code "2001:db8::1-2001:db8::ff"}.
      * </ul>
      *
-     * Any attempt at CIDR notation is ignored.
+     * Host names are not resolved.
      *
      * @param ip IP address(es)
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public void add(String ip) throws IPFormatException {
-
-        String start;
-
-        String end;
+        if (null == ip) {
+            throw new IPFormatException("Address may not be null");
+        }
+        ip = ip.trim();
 
         String[] range = ip.split("-");
-
         if (range.length == 2) {
+            String start = range[0].trim();
+            String end = range[1].trim();
 
-            start = range[0].trim();
-            end = range[1].trim();
-
-            try {
-                long ipLo = ipToLong(InetAddress.getByName(start));
-                long ipHi = ipToLong(InetAddress.getByName(end));
-                ipRanges.add(new IPRange(ipLo, ipHi));
+            long ipLo = parseIPv4(start, 0, start.length());
+            long ipHi = parseIPv4(end, 0, end.length());
+            if (ipLo >= 0 && ipHi >= 0) {
+                addIPv4Range(Math.min(ipLo, ipHi), Math.max(ipLo, ipHi));
                 return;
-            } catch (UnknownHostException e) {
-                throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
             }
+            long[] v6Lo = new long[2];
+            long[] v6Hi = new long[2];
+            if (parseIPv6(start, 0, start.length(), v6Lo) && parseIPv6(end, 0, end.length(), v6Hi)) {
+                if (compare(v6Lo[0], v6Lo[1], v6Hi[0], v6Hi[1]) > 0) {
+                    addIPv6Range(v6Hi[0], v6Hi[1], v6Lo[0], v6Lo[1]);
+                } else {
+                    addIPv6Range(v6Lo[0], v6Lo[1], v6Hi[0], v6Hi[1]);
+                }
+                return;
+            }
+            throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
+        }
 
-        } else {
+        if (ip.indexOf(':') < 0) {
             // Convert implicit ranges to netmask format
             //  192       -> 192.0.0.0/8
             //  192.168   -> 192.168.0.0/16
             //  192.168.1 -> 192.168.1.0/24
             int periods = StringUtils.countMatches(ip, '.');
-            if (periods < 3) {
+            if (periods < 3 && !ip.contains("/")) {
                 ip = StringUtils.join(ip, StringUtils.repeat(".0", 4 - periods - 1), "/", (periods + 1) * 8);
             }
+        }
 
-            if (ip.contains("/")) {
-                String[] parts = ip.split("/");
-                try {
-                    long ipLong = ipToLong(InetAddress.getByName(parts[0]));
-                    long mask = (long) Math.pow(2, 32 - Integer.parseInt(parts[1]));
-                    long ipLo = (ipLong / mask) * mask;
-                    long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
-                    ipRanges.add(new IPRange(ipLo, ipHi));
-                    return;
-                } catch (Exception e) {
-                    throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
-                }
-            } else {
-                try {
-                    long ipLo = ipToLong(InetAddress.getByName(ip));
-                    ipRanges.add(new IPRange(ipLo, ipLo));
-                    return;
-                } catch (UnknownHostException e) {
-                    throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
-                }
+        if (ip.contains("/")) {
+            String[] parts = ip.split("/");
+            int prefix;
+            try {
+                prefix = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
             }
+            String address = parts[0].trim();
+            long ipLong = parseIPv4(address, 0, address.length());
+            if (ipLong >= 0 && prefix >= 0 && prefix <= 32) {
+                long mask = prefix == 0 ? 0 : (IPV4_MAX << (32 - prefix)) & IPV4_MAX;
+                addIPv4Range(ipLong & mask, ipLong | (~mask & IPV4_MAX));
+                return;
+            }
+            long[] v6 = new long[2];
+            if (parseIPv6(address, 0, address.length(), v6) && prefix >= 0 && prefix <= 128) {
+                long maskHigh = prefix == 0 ? 0 : prefix >= 64 ? -1L : -1L << (64 - prefix);
+                long maskLow = prefix <= 64 ? 0 : prefix == 128 ? -1L : -1L << (128 - prefix);
+                addIPv6Range(v6[0] & maskHigh, v6[1] & maskLow, v6[0] | ~maskHigh, v6[1] | ~maskLow);
+                return;
+            }
+            throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
+        }
+
+        long ipLong = parseIPv4(ip, 0, ip.length());
+        if (ipLong >= 0) {
+            addIPv4Range(ipLong, ipLong);
+            return;
+        }
+        long[] v6 = new long[2];
+        if (parseIPv6(ip, 0, ip.length(), v6)) {
+            addIPv6Range(v6[0], v6[1], v6[0], v6[1]);
+            return;
+        }
+        throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
+    }
+
+    private synchronized void addIPv4Range(long ipLo, long ipHi) {
+        ipv4Ranges.add(new long[] {ipLo, ipHi});
+        intervals = null;
+    }
+
+    private synchronized void addIPv6Range(long loHigh, long loLow, long hiHigh, long hiLow) {
+        if (isIPv4Mapped(loHigh, loLow) && isIPv4Mapped(hiHigh, hiLow)) {
+            addIPv4Range(loLow & IPV4_MAX, hiLow & IPV4_MAX);
+            return;
         }
+        ipv6Ranges.add(new long[] {loHigh, loLow, hiHigh, hiLow});
+        intervals = null;
     }
 
     /**
@@ -168,43 +187,288 @@ public class IPTable {
     /**
      * Check whether a given address is contained in this netblock.
      *
-     * @param ip the address to be tested
-     * @return true if {@code ip} is within this table's limits.  Returns false
-     *         if {@code ip} looks like an IPv6 address.
+     * @param ip the address to be tested, either IPv4 or IPv6
+     * @return true if {@code ip} is within this table's limits.
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public boolean contains(String ip) throws IPFormatException {
         if (null == ip) {
             throw new IPFormatException("Address may not be null");
         }
+        Intervals current = getIntervals();
 
-        try {
-            long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
-        } catch (UnknownHostException e) {
+        long ipv4 = parseIPv4(ip, 0, ip.length());
+        if (ipv4 >= 0) {
+            return current.containsIPv4(ipv4);
+        }
+
+        long[] ipv6 = new long[2];
+        if (!parseIPv6(ip, 0, ip.length(), ipv6)) {
             throw new IPFormatException("ip not valid");
         }
+        if (isIPv4Mapped(ipv6[0], ipv6[1])) {
+            return current.containsIPv4(ipv6[1] & IPV4_MAX);
+        }
+        return current.containsIPv6(ipv6[0], ipv6[1]);
+    }
+
+    private Intervals getIntervals() {
+        Intervals current = intervals;
+        if (current == null) {
+            synchronized (this) {
+                current = intervals;
+                if (current == null) {
+                    current = new Intervals(merge(ipv4Ranges, 1), merge(ipv6Ranges, 2));
+                    intervals = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Sort the given ranges and merge the ones which overlap or are adjacent. Each range consists of two bounds of
+     * {@code width} longs each, compared as unsigned numbers.
+     */
+    private static long[][] merge(List<long[]> ranges, int width) {
+        List<long[]> sorted = new ArrayList<>(ranges);
+        sorted.sort((a, b) -> compare(a, 0, b, 0, width));
+
+        List<long[]> merged = new ArrayList<>();
+        for (long[] range : sorted) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && isAdjacentOrBefore(range, last, width)) {
+                if (compare(range, width, last, width, width) > 0) {
+                    System.arraycopy(range, width, last, width, width);
+                }
+            } else {
+                merged.add(range.clone());
+            }
+        }
+
+        // Store the intervals column wise, so a binary search only touches a single array
+        long[][] columns = new long[2 * width][merged.size()];
+        for (int i = 0; i < merged.size(); i++) {
+            for (int column = 0; column < 2 * width; column++) {
+                columns[column][i] = merged.get(i)[column];
+            }
+        }
+        return columns;
     }
 
     /**
-     * Convert to a Set. This set contains all IPs in the range
+     * @return true if the lower bound of {@code range} is not after the upper bound of {@code last} plus one
+     */
+    private static boolean isAdjacentOrBefore(long[] range, long[] last, int width) {
+        if (compare(range, 0, last, width, width) <= 0) {
+            return true;
+        }
+        // last upper bound + 1, unless it is the highest address
+        long[] next = Arrays.copyOfRange(last, width, 2 * width);
+        for (int i = width - 1; i >= 0; i--) {
+            if (++next[i] != 0) {
+                return compare(range, 0, next, 0, width) <= 0;
+            }
+        }
+        return false;
+    }
+
+    private static int compare(long[] a, int aOffset, long[] b, int bOffset, int width) {
+        for (int i = 0; i < width; i++) {
+            int result = Long.compareUnsigned(a[aOffset + i], b[bOffset + i]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    private static int compare(long aHigh, long aLow, long bHigh, long bLow) {
+        int result = Long.compareUnsigned(aHigh, bHigh);
+        return result != 0 ? result : Long.compareUnsigned(aLow, bLow);
+    }
+
+    private static boolean isIPv4Mapped(long high, long low) {
+        return high == 0 && (low >>> 32) == 0xFFFFL;
+    }
+
+    /**
+     * Parse a dotted-quad IPv4 address.
+     *
+     * @param s     the string containing the address
+     * @param start the index of the first character of the address
+     * @param end   the index after the last character of the address
+     * @return the address as a long integer, or -1 if it is not a valid IPv4 address
+     */
+    static long parseIPv4(CharSequence s, int start, int end) {
+        long result = 0;
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && digits > 0 && octets < 3) {
+                result = (result << 8) | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (octets != 3 || digits == 0) {
+            return -1;
+        }
+        return (result << 8) | value;
+    }
+
+    /**
+     * Parse an IPv6 address, which may use the "::" notation, end with an embedded IPv4 address, be enclosed in
+     * brackets or carry a zone index (which is ignored).
+     *
+     * @param s      the string containing the address
+     * @param start  the index of the first character of the address
+     * @param end    the index after the last character of the address
+     * @param result array receiving the 64 high bits and the 64 low bits of the address
+     * @return true if the string is a valid IPv6 address
+     */
+    static boolean parseIPv6(CharSequence s, int start, int end, long[] result) {
+        if (end - start >= 2 && s.charAt(start) == '[' && s.charAt(end - 1) == ']') {
+            start++;
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) == '%') {
+                end = i;
+                break;
+            }
+        }
+        if (end - start < 2) {
+            return false;
+        }
+
+        // The groups before and after the "::" are accumulated separately as 128 bits numbers
+        long headHigh = 0;
+        long headLow = 0;
+        long tailHigh = 0;
+        long tailLow = 0;
+        int headGroups = 0;
+        int tailGroups = 0;
+        boolean compressed = false;
+
+        int i = start;
+        if (s.charAt(i) == ':') {
+            if (s.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+        while (i < end) {
+            // find the end of this group
+            int groupEnd = i;
+            boolean dotted = false;
+            while (groupEnd < end && s.charAt(groupEnd) != ':') {
+                dotted |= s.charAt(groupEnd) == '.';
+                groupEnd++;
+            }
+            long value;
+            int groups;
+            if (dotted) {
+                // an embedded IPv4 address must be the last part of the address
+                value = groupEnd == end ? parseIPv4(s, i, groupEnd) : -1;
+                groups = 2;
+            } else {
+                value = parseHexGroup(s, i, groupEnd);
+                groups = 1;
+            }
+            if (value < 0) {
+                return false;
+            }
+            for (int g = 0; g < groups; g++) {
+                long group = groups == 2 && g == 0 ? value >>> 16 : value & 0xFFFF;
+                if (compressed) {
+                    tailHigh = (tailHigh << 16) | (tailLow >>> 48);
+                    tailLow = (tailLow << 16) | group;
+                    tailGroups++;
+                } else {
+                    headHigh = (headHigh << 16) | (headLow >>> 48);
+                    headLow = (headLow << 16) | group;
+                    headGroups++;
+                }
+            }
+            if (headGroups + tailGroups > 8) {
+                return false;
+            }
+
+            i = groupEnd;
+            if (i < end) {
+                // skip the separator, which may be the "::"
+                i++;
+                if (i < end && s.charAt(i) == ':') {
+                    if (compressed) {
+                        return false;
+                    }
+                    compressed = true;
+                    i++;
+                } else if (i == end) {
+                    // a trailing single ':'
+                    return false;
+                }
+            }
+        }
+
+        if (compressed ? headGroups + tailGroups > 7 : headGroups != 8) {
+            return false;
+        }
+        // shift the head to the most significant groups, the zeros of the "::" go in between
+        for (int g = headGroups + tailGroups; g < 8; g++) {
+            headHigh = (headHigh << 16) | (headLow >>> 48);
+            headLow = headLow << 16;
+        }
+        for (int g = 0; g < tailGroups; g++) {
+            headHigh = (headHigh << 16) | (headLow >>> 48);
+            headLow = headLow << 16;
+        }
+        result[0] = headHigh | tailHigh;
+        result[1] = headLow | tailLow;
+        return true;
+    }
+
+    private static long parseHexGroup(CharSequence s, int start, int end) {
+        if (end <= start || end - start > 4) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Convert to a Set. This set contains all IPv4 addresses in the ranges. IPv6 ranges are too large to be
+     * expanded and are not included.
      *
      * @return this table's content as a Set
      */
     public Set<String> toSet() {
         HashSet<String> set = new HashSet<>();
-
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            long ipLo = ipRange.getIpLo();
-            long ipHi = ipRange.getIpHi();
-            for (long ip = ipLo; ip <= ipHi; ip++) {
+        long[][] ipv4 = getIntervals().ipv4;
+        for (int i = 0; i < ipv4[0].length; i++) {
+            for (long ip = ipv4[0][i]; ip <= ipv4[1][i]; ip++) {
                 set.add(longToIp(ip));
             }
         }
-
         return set;
     }
 
@@ -212,8 +476,8 @@ public class IPTable {
      * Return whether IPTable is empty (having no entries)
      * @return true if empty, false otherwise
      */
-    public boolean isEmpty() {
-        return ipRanges.isEmpty();
+    public synchronized boolean isEmpty() {
+        return ipv4Ranges.isEmpty() && ipv6Ranges.isEmpty();
     }
 
     /**
@@ -231,17 +495,74 @@ public class IPTable {
      */
     @Override
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            stringBuilder.append(longToIp(ipRange.getIpLo()))
-                    .append("-")
-                    .append(longToIp(ipRange.getIpHi()));
-            if (ipRangeIterator.hasNext()) {
-                stringBuilder.append(", ");
-            }
-        }
-        return stringBuilder.toString();
+        Intervals current = getIntervals();
+        List<String> ranges = new ArrayList<>();
+        for (int i = 0; i < current.ipv4[0].length; i++) {
+            ranges.add(longToIp(current.ipv4[0][i]) + "-" + longToIp(current.ipv4[1][i]));
+        }
+        for (int i = 0; i < current.ipv6[0].length; i++) {
+            ranges.add(ipv6ToString(current.ipv6[0][i], current.ipv6[1][i]) + "-"
+                           + ipv6ToString(current.ipv6[2][i], current.ipv6[3][i]));
+        }
+        return String.join(", ", ranges);
+    }
+
+    private static String ipv6ToString(long high, long low) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        try {
+            // no lookup is done when the address is given as bytes
+            return InetAddress.getByAddress(bytes).getHostAddress();
+        } catch (UnknownHostException e) {
+            log.warn("Unable to format IPv6 address", e);
+            return Long.toHexString(high) + Long.toHexString(low);
+        }
+    }
+
+    /**
+     * Immutable, sorted and non overlapping intervals of addresses. Each array holds one column of the intervals:
+     * [lo, hi] for IPv4 and [loHigh, loLow, hiHigh, hiLow] for IPv6.
+     */
+    private static final class Intervals {
+        private final long[][] ipv4;
+        private final long[][] ipv6;
+
+        private Intervals(long[][] ipv4, long[][] ipv6) {
+            this.ipv4 = ipv4;
+            this.ipv6 = ipv6;
+        }
+
+        private boolean containsIPv4(long ip) {
+            long[] lows = ipv4[0];
+            int index = Arrays.binarySearch(lows, ip);
+            if (index >= 0) {
+                return true;
+            }
+            // the interval starting right before the address
+            index = -index - 2;
+            return index >= 0 && ip <= ipv4[1][index];
+        }
+
+        private boolean containsIPv6(long high, long low) {
+            long[] lowHighs = ipv6[0];
+            long[] lowLows = ipv6[1];
+            // find the last interval whose lower bound is not after the address
+            int from = 0;
+            int to = lowHighs.length - 1;
+            int index = -1;
+            while (from <= to) {
+                int middle = (from + to) >>> 1;
+                if (compare(lowHighs[middle], lowLows[middle], high, low) <= 0) {
+                    index = middle;
+                    from = middle + 1;
+                } else {
+                    to = middle - 1;
+                }
+            }
+            return index >= 0 && compare(high, low, ipv6[2][index], ipv6[3][index]) <= 0;
+        }
     }
 }
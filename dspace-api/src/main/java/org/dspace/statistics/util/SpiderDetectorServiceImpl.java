@@ -12,12 +12,12 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.configuration2.ex.ConversionException;
@@ -44,11 +44,18 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Matchers of the agent and domain patterns, loaded on first use. Once loaded, they are only read.
+     */
+    private volatile SpiderPatternMatcher agents;
+
+    private volatile SpiderPatternMatcher domains;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * Bounded cache of the verdicts of the agent patterns, by User-Agent header value. Most requests come from a
+     * small number of distinct agents, which then only need to be matched once.
+     */
+    private volatile Cache<String, Boolean> agentVerdicts;
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
@@ -56,7 +63,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     /**
      * Sparse HashTable structure to hold IP address ranges.
      */
-    private IPTable table = null;
+    private volatile IPTable table = null;
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -76,34 +83,15 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     @Override
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
         // See if any agent patterns match
-        if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
-            if (isUseCaseInsensitiveMatching()) {
-                agent = StringUtils.lowerCase(agent);
-                hostname = StringUtils.lowerCase(hostname);
-            }
-
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
-
-            }
+        if (null != agent && isSpiderAgent(agent)) {
+            return true;
         }
 
         // No.  See if any IP addresses match
         if (clientInfoService.isUseProxiesEnabled() && proxyIPs != null) {
             /* This header is a comma delimited list */
             for (String xfip : proxyIPs.split(",")) {
-                if (isSpider(xfip)) {
+                if (isSpider(xfip.trim())) {
                     return true;
                 }
             }
@@ -115,16 +103,11 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         // No.  See if any DNS names match
         if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
+            if (isUseCaseInsensitiveMatching()) {
+                hostname = StringUtils.lowerCase(hostname);
             }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
-                }
+            if (getDomains().matches(hostname)) {
+                return true;
             }
         }
 
@@ -160,16 +143,79 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         return patterns;
     }
 
+    /**
+     * Check the User-Agent header value against the agent patterns, using the cached verdict if the same agent
+     * was checked before.
+     *
+     * @param agent User-Agent header value.
+     * @return true if the agent matches any of the agent patterns.
+     */
+    private boolean isSpiderAgent(String agent) {
+        Cache<String, Boolean> verdicts = getAgentVerdicts();
+        Boolean verdict = verdicts.getIfPresent(agent);
+        if (verdict == null) {
+            String candidate = isUseCaseInsensitiveMatching() ? StringUtils.lowerCase(agent) : agent;
+            verdict = getAgents().matches(candidate);
+            verdicts.put(agent, verdict);
+        }
+        return verdict;
+    }
+
+    private SpiderPatternMatcher getAgents() {
+        SpiderPatternMatcher matcher = agents;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = agents;
+                if (matcher == null) {
+                    matcher = loadPatterns("agents");
+                    agents = matcher;
+                }
+            }
+        }
+        return matcher;
+    }
+
+    private SpiderPatternMatcher getDomains() {
+        SpiderPatternMatcher matcher = domains;
+        if (matcher == null) {
+            synchronized (this) {
+                matcher = domains;
+                if (matcher == null) {
+                    matcher = loadPatterns("domains");
+                    domains = matcher;
+                }
+            }
+        }
+        return matcher;
+    }
+
+    private Cache<String, Boolean> getAgentVerdicts() {
+        Cache<String, Boolean> verdicts = agentVerdicts;
+        if (verdicts == null) {
+            synchronized (this) {
+                verdicts = agentVerdicts;
+                if (verdicts == null) {
+                    verdicts = CacheBuilder.newBuilder()
+                        .maximumSize(configurationService.getLongProperty("usage-statistics.bots.agent-cache.size",
+                                                                          10000))
+                        .build();
+                    agentVerdicts = verdicts;
+                }
+            }
+        }
+        return verdicts;
+    }
+
     /**
      * Load agent name patterns from all files in a single subdirectory of config/spiders.
      *
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return a matcher of the patterns read from the files in {@code directory}.
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private SpiderPatternMatcher loadPatterns(String directory) {
+        List<String> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -188,7 +234,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                     if (isUseCaseInsensitiveMatching()) {
                         pattern = StringUtils.lowerCase(pattern);
                     }
-                    patternList.add(Pattern.compile(pattern));
+                    patternList.add(pattern);
                 }
 
 
@@ -197,6 +243,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        return new SpiderPatternMatcher(patternList);
     }
 
     @Override
@@ -229,7 +276,8 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public synchronized void loadSpiderIpAddresses() {
 
         if (table == null) {
-            table = new IPTable();
+            // only publish the table once it is complete, as it is read without locking
+            IPTable ipTable = new IPTable();
 
             String filePath = configurationService.getProperty("dspace.dir");
 
@@ -250,7 +298,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                                         continue;
                                     }
                                 }
-                                table.add(ip);
+                                ipTable.add(ip);
                             }
                             log.info("Loaded Spider IP file: " + file);
                         }
@@ -261,7 +309,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
             } catch (IOException | IPTable.IPFormatException e) {
                 log.error("Error Loading Spiders:" + e.getMessage(), e);
             }
-
+            table = ipTable;
         }
 
     }
@@ -0,0 +1,276 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Immutable matcher testing a string against a whole set of spider patterns (user agents or host names) at once.
+ * A string matches when any of the patterns is found in it, as with {@code Pattern.matcher(s).find()}.
+ * <p>
+ * Most patterns of the spider lists are plain words (e.g. "bot", "crawl" or "Googlebot"). These are looked up
+ * with a single pass over the string, through an Aho-Corasick automaton. The remaining regular expressions are
+ * combined into a single alternation, so that a string is scanned once by one {@link Pattern} instead of once per
+ * pattern. Expressions which can't safely be combined (groups with flags, back references) are kept apart.
+ * <p>
+ * Instances are immutable, and can be shared by any number of threads without locking.
+ */
+public class SpiderPatternMatcher {
+
+    private static final Logger log = LogManager.getLogger();
+
+    /**
+     * Characters with a special meaning in a regular expression.
+     */
+    private static final String REGEX_META_CHARACTERS = "\\[](){}.*+?^$|";
+
+    /**
+     * Automaton matching the literal patterns, or null if there are none.
+     */
+    private final LiteralAutomaton literals;
+
+    /**
+     * Regular expressions, the combined alternation first.
+     */
+    private final Pattern[] expressions;
+
+    /**
+     * Compile the given patterns.
+     * Invalid regular expressions are logged and ignored.
+     *
+     * @param patterns the patterns, as read from the spider files
+     */
+    public SpiderPatternMatcher(Collection<String> patterns) {
+        List<String> literalPatterns = new ArrayList<>();
+        List<String> combinable = new ArrayList<>();
+        List<Pattern> separate = new ArrayList<>();
+        for (String pattern : patterns) {
+            String literal = toLiteral(pattern);
+            if (literal != null) {
+                literalPatterns.add(literal);
+                continue;
+            }
+            Pattern compiled;
+            try {
+                compiled = Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                log.warn("Ignoring invalid spider pattern {}:  {}", pattern, e.getMessage());
+                continue;
+            }
+            if (isCombinable(pattern)) {
+                combinable.add(pattern);
+            } else {
+                separate.add(compiled);
+            }
+        }
+
+        List<Pattern> compiledExpressions = new ArrayList<>();
+        if (combinable.size() == 1) {
+            compiledExpressions.add(Pattern.compile(combinable.get(0)));
+        } else if (!combinable.isEmpty()) {
+            StringBuilder alternation = new StringBuilder();
+            for (String pattern : combinable) {
+                if (alternation.length() > 0) {
+                    alternation.append('|');
+                }
+                alternation.append("(?:").append(pattern).append(')');
+            }
+            compiledExpressions.add(Pattern.compile(alternation.toString()));
+        }
+        compiledExpressions.addAll(separate);
+
+        this.literals = literalPatterns.isEmpty() ? null : new LiteralAutomaton(literalPatterns);
+        this.expressions = compiledExpressions.toArray(new Pattern[0]);
+    }
+
+    /**
+     * Check whether any of the patterns is found in the given string.
+     *
+     * @param candidate the string to test, e.g. a User-Agent header value.
+     * @return true if at least one pattern matches part of the string.
+     */
+    public boolean matches(String candidate) {
+        if (candidate == null) {
+            return false;
+        }
+        if (literals != null && literals.isFoundIn(candidate)) {
+            return true;
+        }
+        for (Pattern expression : expressions) {
+            if (expression.matcher(candidate).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if no pattern at all was loaded.
+     */
+    public boolean isEmpty() {
+        return literals == null && expressions.length == 0;
+    }
+
+    /**
+     * Turn a pattern into the literal string it matches, when it contains no other regular expression construct
+     * than escaped punctuation (e.g. "boitho\.com-dc").
+     *
+     * @param pattern the regular expression
+     * @return the literal string, or null if the pattern is not a plain literal
+     */
+    static String toLiteral(String pattern) {
+        StringBuilder literal = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == pattern.length()) {
+                    return null;
+                }
+                char escaped = pattern.charAt(++i);
+                if (Character.isLetterOrDigit(escaped) || Character.isWhitespace(escaped) || escaped > 127) {
+                    // character classes (\d, \s...), back references or escapes of regular characters
+                    return null;
+                }
+                literal.append(escaped);
+            } else if (REGEX_META_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.length() == 0 ? null : literal.toString();
+    }
+
+    /**
+     * Check whether a regular expression keeps its meaning inside a larger alternation: inline flags would also
+     * apply to the patterns following it, group numbers (back references) would change and an unterminated
+     * quotation would swallow the patterns following it.
+     */
+    private static boolean isCombinable(String pattern) {
+        return !pattern.contains("(?") && !pattern.contains("\\k<") && !pattern.contains("\\Q")
+            && !Pattern.compile("\\\\[1-9]").matcher(pattern).find();
+    }
+
+    /**
+     * Aho-Corasick automaton finding whether any of a set of strings occurs in a text, in a single pass.
+     * The transitions of each state are kept in sorted arrays.
+     */
+    private static class LiteralAutomaton {
+
+        private final char[][] keys;
+        private final int[][] targets;
+        private final int[] failures;
+        private final boolean[] accepting;
+
+        LiteralAutomaton(List<String> words) {
+            List<Map<Character, Integer>> transitions = new ArrayList<>();
+            List<Boolean> terminal = new ArrayList<>();
+            transitions.add(new TreeMap<>());
+            terminal.add(false);
+            for (String word : words) {
+                int state = 0;
+                for (int i = 0; i < word.length(); i++) {
+                    Integer next = transitions.get(state).get(word.charAt(i));
+                    if (next == null) {
+                        next = transitions.size();
+                        transitions.add(new TreeMap<>());
+                        terminal.add(false);
+                        transitions.get(state).put(word.charAt(i), next);
+                    }
+                    state = next;
+                }
+                terminal.set(state, true);
+            }
+
+            int size = transitions.size();
+            keys = new char[size][];
+            targets = new int[size][];
+            failures = new int[size];
+            accepting = new boolean[size];
+            for (int state = 0; state < size; state++) {
+                Map<Character, Integer> stateTransitions = transitions.get(state);
+                keys[state] = new char[stateTransitions.size()];
+                targets[state] = new int[stateTransitions.size()];
+                int i = 0;
+                for (Map.Entry<Character, Integer> transition : stateTransitions.entrySet()) {
+                    keys[state][i] = transition.getKey();
+                    targets[state][i] = transition.getValue();
+                    i++;
+                }
+                accepting[state] = terminal.get(state);
+            }
+
+            // breadth first, so that the failure state of a state's parent is always known
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                failures[child] = 0;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    int child = targets[state][i];
+                    int failure = failures[state];
+                    int next = next(failure, keys[state][i]);
+                    while (next < 0 && failure != 0) {
+                        failure = failures[failure];
+                        next = next(failure, keys[state][i]);
+                    }
+                    failures[child] = next < 0 ? 0 : next;
+                    accepting[child] |= accepting[failures[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        boolean isFoundIn(String text) {
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int next = next(state, c);
+                while (next < 0 && state != 0) {
+                    state = failures[state];
+                    next = next(state, c);
+                }
+                state = next < 0 ? 0 : next;
+                if (accepting[state]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int next(int state, char c) {
+            char[] stateKeys = keys[state];
+            int low = 0;
+            int high = stateKeys.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (stateKeys[mid] < c) {
+                    low = mid + 1;
+                } else if (stateKeys[mid] > c) {
+                    high = mid - 1;
+                } else {
+                    return targets[state][mid];
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -7,11 +7,14 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.BoundedInputStream;
 import org.dspace.content.Bitstream;
 
 /**
@@ -45,6 +48,43 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Retrieve a range of the bits of a bitstream, e.g. to answer an HTTP Range request.
+     * <p>
+     * The default implementation reads and discards the bits before the range. Stores which can read from any
+     * position override it.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return The stream of bits, ending at the end of the range or of the bitstream
+     * @throws java.io.IOException If a problem occurs while retrieving the bits, or if no
+     *                             asset with ID exists in the store
+     */
+    public default InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        InputStream inputStream = get(bitstream);
+        try {
+            IOUtils.skipFully(inputStream, offset);
+        } catch (IOException e) {
+            inputStream.close();
+            throw e;
+        }
+        return BoundedInputStream.builder().setInputStream(inputStream).setMaxCount(length).get();
+    }
+
+    /**
+     * Get the file holding the bits of a bitstream, for stores which keep them in the local file system. The file
+     * can then be sent without copying its content through the JVM, e.g. with the sendfile support of the servlet
+     * container.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file holding the bits, or null if the store does not keep the bitstream in a local file
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    public default File getLocalFile(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
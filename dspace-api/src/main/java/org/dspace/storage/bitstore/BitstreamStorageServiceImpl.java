@@ -7,8 +7,10 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.NoSuchAlgorithmException;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.HashMap;
@@ -16,6 +18,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
@@ -30,6 +34,7 @@ import org.dspace.content.MetadataValue;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
 import org.dspace.storage.bitstore.service.BitstreamStorageService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -71,6 +76,17 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
     protected BitstreamService bitstreamService;
     @Autowired(required = true)
     protected ChecksumHistoryService checksumHistoryService;
+    @Autowired(required = true)
+    protected ConfigurationService configurationService;
+
+    /**
+     * Updates the additional checksums of the large bitstreams while they are stored.
+     */
+    private final ExecutorService digestExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bitstream-digest");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * asset stores
@@ -118,9 +134,12 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         bitstream.setDeleted(true);
         bitstream.setInternalId(id);
 
+        // the additional checksums are computed while the store reads the content
+        MultiDigestInputStream digestInputStream = newDigestInputStream(is);
+
         BitStoreService store = this.getStore(incoming);
         //For efficiencies sake, PUT is responsible for setting bitstream size_bytes, checksum, and checksum_algorithm
-        store.put(bitstream, is);
+        store.put(bitstream, digestInputStream != null ? digestInputStream : is);
         //bitstream.setSizeBytes(file.length());
         //bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
         //bitstream.setChecksumAlgorithm("MD5");
@@ -130,6 +149,12 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
             //Update our bitstream but turn off the authorization system since permissions haven't been set at this
             // point in time.
             context.turnOffAuthorisationSystem();
+            if (digestInputStream != null) {
+                for (Map.Entry<String, String> digest : digestInputStream.getDigests().entrySet()) {
+                    bitstreamService.setMetadataSingleValue(context, bitstream, CHECKSUM_SCHEMA, CHECKSUM_ELEMENT,
+                                                            digest.getKey().toLowerCase(), null, digest.getValue());
+                }
+            }
             bitstreamService.update(context, bitstream);
         } catch (AuthorizeException e) {
             log.error(e);
@@ -203,6 +228,29 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return bitstreamId;
     }
 
+    /**
+     * Wrap the content of a new bitstream in a stream computing the additional checksums configured by
+     * {@code assetstore.checksum.algorithms}. They are updated by other threads once
+     * {@code assetstore.checksum.parallel-threshold} bytes have been read.
+     *
+     * @param is the content of the bitstream
+     * @return the stream to store, or null if no additional checksum is configured
+     * @throws IOException if an algorithm is not supported
+     */
+    protected MultiDigestInputStream newDigestInputStream(InputStream is) throws IOException {
+        String[] algorithms = configurationService.getArrayProperty("assetstore.checksum.algorithms");
+        if (algorithms.length == 0) {
+            return null;
+        }
+        try {
+            return new MultiDigestInputStream(is, List.of(algorithms), digestExecutor,
+                                              configurationService.getLongProperty(
+                                                  "assetstore.checksum.parallel-threshold", 8 * 1024 * 1024));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("Unsupported checksum algorithm in assetstore.checksum.algorithms", e);
+        }
+    }
+
     @Override
     public Map<String, Object> computeChecksum(Context context, Bitstream bitstream) throws IOException {
         return this.getStore(bitstream.getStoreNumber()).about(bitstream, List.of("checksum", "checksum_algorithm"));
@@ -220,6 +268,19 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).get(bitstream, offset, length);
+    }
+
+    @Override
+    public File getLocalFile(Context context, Bitstream bitstream) throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).getLocalFile(bitstream);
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -12,12 +12,16 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.commons.io.input.BoundedInputStream;
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
 import org.dspace.core.Utils;
@@ -80,6 +84,47 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    /**
+     * Retrieve a range of the bits of a bitstream, reading the file from the start of the range.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(getFile(bitstream).toPath(), StandardOpenOption.READ);
+            channel.position(offset);
+            return BoundedInputStream.builder()
+                                     .setInputStream(Channels.newInputStream(channel))
+                                     .setMaxCount(length)
+                                     .get();
+        } catch (Exception e) {
+            if (channel != null) {
+                channel.close();
+            }
+            log.error("get(" + bitstream.getInternalId() + ", " + offset + ", " + length + ")", e);
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Get the file holding the bits of a bitstream.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The file holding the bits, or null if it does not exist
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    @Override
+    public File getLocalFile(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file : null;
+    }
+
     /**
      * Store a stream of bits.
      *
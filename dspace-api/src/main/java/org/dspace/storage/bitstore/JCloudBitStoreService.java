@@ -35,6 +35,7 @@ import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.BlobStoreContext;
 import org.jclouds.blobstore.domain.Blob;
 import org.jclouds.blobstore.domain.BlobMetadata;
+import org.jclouds.blobstore.options.GetOptions;
 import org.jclouds.blobstore.options.ListContainerOptions;
 import org.jclouds.blobstore.options.PutOptions.Builder;
 import org.jclouds.io.ContentMetadata;
@@ -322,9 +323,32 @@ public class JCloudBitStoreService extends BaseBitStoreService {
      * @throws IOException if an error occurs during retrieval
      */
     private InputStream get(File file) throws IOException {
+        return get(file, null);
+    }
+
+    /**
+     * Retrieves a range of a bitstream as an InputStream, with a ranged request to the cloud storage.
+     *
+     * @param bitstream the bitstream to retrieve
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return the InputStream of the range
+     * @throws IOException if an error occurs during retrieval
+     */
+    @Override
+    public InputStream get(final Bitstream bitstream, long offset, long length) throws IOException {
+        final File file = getFile(bitstream);
+        if (length <= 0) {
+            return InputStream.nullInputStream();
+        }
+        return get(file, GetOptions.Builder.range(offset, offset + length - 1));
+    }
+
+    private InputStream get(File file, GetOptions options) throws IOException {
         BlobStore blobStore = blobStoreContext.getBlobStore();
         if (blobStore.blobExists(getContainer(), file.toString())) {
-            Blob blob = blobStore.getBlob(getContainer(), file.toString());
+            Blob blob = options == null ? blobStore.getBlob(getContainer(), file.toString())
+                                        : blobStore.getBlob(getContainer(), file.toString(), options);
             refreshContextIfNeeded();
             return blob.getPayload().openStream();
         }
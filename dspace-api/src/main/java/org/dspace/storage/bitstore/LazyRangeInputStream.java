@@ -0,0 +1,86 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream over the content of a bitstream which is only retrieved on the first read, from the position
+ * reached by the calls to {@link #skip(long)} made before. Callers which skip the bytes before a range, like Spring
+ * when it answers an HTTP Range request, thus retrieve only the range from the store, instead of reading and
+ * discarding all the bytes before it.
+ */
+public class LazyRangeInputStream extends InputStream {
+
+    /**
+     * Retrieves the content of the bitstream, from a position to its end.
+     */
+    @FunctionalInterface
+    public interface Retriever {
+        InputStream retrieve(long offset) throws IOException;
+    }
+
+    private final long length;
+    private final Retriever retriever;
+    private long offset = 0;
+    private InputStream inputStream;
+    private boolean closed = false;
+
+    /**
+     * @param length    the length of the content
+     * @param retriever retrieves the content from a position
+     */
+    public LazyRangeInputStream(long length, Retriever retriever) {
+        this.length = length;
+        this.retriever = retriever;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return open().read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return open().read(b, off, len);
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (inputStream != null) {
+            return inputStream.skip(n);
+        }
+        long skipped = Math.max(0, Math.min(n, length - offset));
+        offset += skipped;
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return inputStream == null ? 0 : inputStream.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (inputStream != null) {
+            inputStream.close();
+        }
+    }
+
+    private InputStream open() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (inputStream == null) {
+            inputStream = offset < length ? retriever.retrieve(offset) : InputStream.nullInputStream();
+        }
+        return inputStream;
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.dspace.core.Utils;
+
+/**
+ * InputStream computing several digests of the bytes read through it, in a single pass over the data.
+ * <p>
+ * The digests are updated by the reading thread until a threshold of bytes has been read. For larger streams, each
+ * digest is then updated by the threads of an executor, all the digests at the same time, while the next bytes are
+ * read. The bytes waiting to be digested are limited, so that a slow digest slows down the reader instead of
+ * filling the memory.
+ */
+public class MultiDigestInputStream extends FilterInputStream {
+
+    /**
+     * Maximum number of bytes read but not digested yet, in parallel mode.
+     */
+    static final int MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+    private final Map<String, MessageDigest> digests = new LinkedHashMap<>();
+
+    private final Executor executor;
+
+    private final long parallelThreshold;
+
+    private long count = 0;
+
+    /**
+     * The last update of each digest, in parallel mode: the next update of a digest runs after this one.
+     */
+    private final Map<String, CompletableFuture<Void>> lastUpdates = new LinkedHashMap<>();
+
+    /**
+     * The updates of the chunks not digested yet, from the oldest, with their lengths.
+     */
+    private final Deque<Map.Entry<CompletableFuture<Void>, Integer>> pendingChunks = new ArrayDeque<>();
+
+    private long pendingBytes = 0;
+
+    /**
+     * @param in                the stream to read
+     * @param algorithms        the names of the digest algorithms
+     * @param executor          the executor updating the digests of large streams, or null to always update them
+     *                          in the reading thread
+     * @param parallelThreshold the number of bytes after which the digests are updated by the executor
+     * @throws NoSuchAlgorithmException if an algorithm is not supported
+     */
+    public MultiDigestInputStream(InputStream in, Collection<String> algorithms, Executor executor,
+                                  long parallelThreshold) throws NoSuchAlgorithmException {
+        super(in);
+        for (String algorithm : algorithms) {
+            digests.put(algorithm, MessageDigest.getInstance(algorithm));
+        }
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            update(new byte[] {(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            update(b, off, n);
+        }
+        return n;
+    }
+
+    /**
+     * Skip bytes by reading them, so that they are digested too.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read == -1) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Get the digests of all the bytes read so far. The stream must not be read anymore afterwards.
+     *
+     * @return the hexadecimal digests by algorithm, in the order of the algorithms
+     */
+    public Map<String, String> getDigests() {
+        lastUpdates.values().forEach(CompletableFuture::join);
+        Map<String, String> result = new LinkedHashMap<>();
+        digests.forEach((algorithm, digest) -> result.put(algorithm, Utils.toHex(digest.digest())));
+        return result;
+    }
+
+    private void update(byte[] b, int off, int len) {
+        boolean parallel = executor != null && count >= parallelThreshold;
+        count += len;
+        if (!parallel) {
+            digests.values().forEach(digest -> digest.update(b, off, len));
+            return;
+        }
+
+        // the buffer is reused by the caller, the digests work on a copy
+        byte[] chunk = Arrays.copyOfRange(b, off, off + len);
+        CompletableFuture<?>[] updates = new CompletableFuture<?>[digests.size()];
+        int i = 0;
+        for (Map.Entry<String, MessageDigest> entry : digests.entrySet()) {
+            MessageDigest digest = entry.getValue();
+            CompletableFuture<Void> update = lastUpdates.getOrDefault(entry.getKey(),
+                                                                      CompletableFuture.completedFuture(null))
+                                                        .thenRunAsync(() -> digest.update(chunk), executor);
+            lastUpdates.put(entry.getKey(), update);
+            updates[i++] = update;
+        }
+        pendingChunks.add(Map.entry(CompletableFuture.allOf(updates), len));
+        pendingBytes += len;
+        while (pendingBytes > MAX_PENDING_BYTES) {
+            Map.Entry<CompletableFuture<Void>, Integer> oldest = pendingChunks.poll();
+            oldest.getKey().join();
+            pendingBytes -= oldest.getValue();
+        }
+    }
+}
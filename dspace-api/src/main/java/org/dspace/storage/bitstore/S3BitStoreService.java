@@ -9,18 +9,30 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
@@ -31,13 +43,15 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.transfer.Download;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +59,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -96,6 +111,11 @@ public class S3BitStoreService extends BaseBitStoreService {
     protected static final int digitsPerLevel = 2;
     protected static final int directoryLevels = 3;
 
+    /**
+     * Maximum number of parts of a multipart upload allowed by S3
+     */
+    protected static final int MAX_UPLOAD_PARTS = 10000;
+
     private boolean enabled = false;
 
     private String awsAccessKey;
@@ -108,6 +128,36 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * The number of chunks downloaded in advance, while the current one is read. A stream keeps at most this number
+     * of chunks, plus the one being read, in memory. Default 2, 0 downloads each chunk only when it is needed
+     */
+    private int readAheadChunks = 2;
+
+    /**
+     * The maximum number of bytes of the chunks downloaded in advance by all the streams together. Once it is
+     * reached, a stream only downloads its next chunk when it is needed, on the reading thread. Default 64Mb
+     */
+    private long readAheadMemory = 64 * 1024 * 1024;
+
+    /**
+     * The maximum number of threads downloading chunks in advance, shared by all the streams. As many downloads
+     * can wait for a thread, beyond that the chunks are downloaded when they are needed. Default 16
+     */
+    private int downloadThreads = 16;
+
+    /**
+     * The size of the parts of a multipart upload, smaller files are uploaded in a single request. Default 8Mb,
+     * S3 requires at least 5Mb. As an upload has at most 10000 parts, it also limits the size of a file.
+     */
+    private int uploadPartSize = 8 * 1024 * 1024;
+
+    /**
+     * The maximum number of parts of a single upload sent in parallel. A put keeps at most this number of parts,
+     * plus the one being read, in memory. Default 4
+     */
+    private int uploadConcurrency = 4;
+
     /**
      * container for all the assets
      */
@@ -124,10 +174,19 @@ public class S3BitStoreService extends BaseBitStoreService {
     private AmazonS3 s3Service = null;
 
     /**
-     * S3 transfer manager
-     * this is reused between put calls to use less resources for multiple uploads
+     * Executor sending the parts of the multipart uploads, shared by all the put calls
+     */
+    private ExecutorService uploadExecutor = null;
+
+    /**
+     * Executor downloading the chunks of the files in advance, shared by all the get calls
      */
-    private TransferManager tm = null;
+    private ExecutorService downloadExecutor = null;
+
+    /**
+     * Bytes of the read-ahead memory which are still available, shared by all the get calls
+     */
+    private Semaphore readAheadBudget = null;
 
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
@@ -233,10 +292,24 @@ public class S3BitStoreService extends BaseBitStoreService {
 
         log.info("AWS S3 Assetstore ready to go! bucket:" + bucketName);
 
-        tm = FunctionalUtils.getDefaultOrBuild(tm, () -> TransferManagerBuilder.standard()
-                                                               .withAlwaysCalculateMultipartMd5(true)
-                                                               .withS3Client(s3Service)
-                                                               .build());
+        uploadExecutor = FunctionalUtils.getDefaultOrBuild(uploadExecutor, () -> Executors.newFixedThreadPool(
+            uploadConcurrency, daemonThreads("s3-upload")));
+        downloadExecutor = FunctionalUtils.getDefaultOrBuild(downloadExecutor, () -> {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(downloadThreads, downloadThreads, 60,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<>(downloadThreads), daemonThreads("s3-download"));
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+        readAheadBudget = FunctionalUtils.getDefaultOrBuild(readAheadBudget,
+            () -> new Semaphore((int) Math.min(readAheadMemory, Integer.MAX_VALUE)));
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     /**
@@ -264,7 +337,27 @@ public class S3BitStoreService extends BaseBitStoreService {
         if (isRegisteredBitstream(key)) {
             key = key.substring(REGISTERED_FLAG.length());
         }
-        return new S3LazyInputStream(key, bufferSize, bitstream.getSizeBytes());
+        return new S3LazyInputStream(key, bufferSize, bitstream.getSizeBytes(), readAheadChunks);
+    }
+
+    /**
+     * Retrieve a range of the bits of a bitstream, with range requests starting at the offset.
+     *
+     * @param bitstream The bitstream to retrieve
+     * @param offset    the position of the first byte to retrieve
+     * @param length    the maximum number of bytes to retrieve
+     * @return The stream of bits
+     * @throws java.io.IOException If a problem occurs while retrieving the bits
+     */
+    @Override
+    public InputStream get(Bitstream bitstream, long offset, long length) throws IOException {
+        String key = getFullKey(bitstream.getInternalId());
+        // Strip -R from bitstream key if it's registered
+        if (isRegisteredBitstream(key)) {
+            key = key.substring(REGISTERED_FLAG.length());
+        }
+        long end = Math.min(offset + length, bitstream.getSizeBytes());
+        return new S3LazyInputStream(key, bufferSize, offset, Math.max(offset, end), readAheadChunks);
     }
 
     /**
@@ -274,6 +367,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      * If this method returns successfully, the bits have been stored.
      * If an exception is thrown, the bits have not been stored.
      * </p>
+     * <p>
+     * The stream is uploaded while it is read, without any temporary file: a stream shorter than the part size is
+     * sent in a single request, a longer one in a multipart upload whose parts are sent in parallel. The MD5
+     * checksum is computed while reading.
+     * </p>
      *
      * @param in The stream of bits to store
      * @throws java.io.IOException If a problem occurs while storing the bits
@@ -281,21 +379,23 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
-        try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
-                // Read through a digest input stream that will work out the MD5
-                DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
-        ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
-
-            Upload upload = tm.upload(bucketName, key, scratchFile);
-
-            upload.waitForUploadResult();
+        // Read through a digest input stream that will work out the MD5
+        try (DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))) {
+            ByteArrayOutputStream firstPart = new ByteArrayOutputStream();
+            IOUtils.copyLarge(dis, firstPart, 0, uploadPartSize);
+
+            long size;
+            if (firstPart.size() < uploadPartSize) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(firstPart.size());
+                s3Service.putObject(bucketName, key, new ByteArrayInputStream(firstPart.toByteArray()),
+                                    objectMetadata);
+                size = firstPart.size();
+            } else {
+                size = putMultipart(key, firstPart.toByteArray(), dis);
+            }
 
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
             bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
@@ -307,10 +407,94 @@ public class S3BitStoreService extends BaseBitStoreService {
         } catch (NoSuchAlgorithmException nsae) {
             // Should never happen
             log.warn("Caught NoSuchAlgorithmException", nsae);
-        } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+        }
+    }
+
+    /**
+     * Upload a stream in parts of {@link #uploadPartSize} bytes, at most {@link #uploadConcurrency} parts being sent
+     * at the same time. The upload is aborted if any part fails.
+     *
+     * @param key       the key of the object
+     * @param firstPart the first part, already read from the stream
+     * @param in        the rest of the stream
+     * @return the size of the object
+     */
+    private long putMultipart(String key, byte[] firstPart, InputStream in) throws IOException, InterruptedException {
+        String uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                   .getUploadId();
+        Semaphore partsInProgress = new Semaphore(uploadConcurrency);
+        List<Future<PartETag>> parts = new ArrayList<>();
+        try {
+            long size = 0;
+            byte[] part = firstPart;
+            int partLength = firstPart.length;
+            while (partLength > 0) {
+                if (parts.size() == MAX_UPLOAD_PARTS) {
+                    throw new IOException("The file is too large for " + MAX_UPLOAD_PARTS + " parts of "
+                                              + uploadPartSize + " bytes, increase the upload part size");
+                }
+                partsInProgress.acquire();
+                checkUploadedParts(parts);
+                parts.add(uploadPart(key, uploadId, parts.size() + 1, part, partLength, partsInProgress));
+                size += partLength;
+
+                part = new byte[uploadPartSize];
+                partLength = IOUtils.read(in, part);
+            }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> uploadedPart : parts) {
+                partETags.add(uploadedPart.get());
             }
+            s3Service.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId,
+                                                                                 partETags));
+            return size;
+        } catch (ExecutionException e) {
+            abortMultipart(key, uploadId, parts);
+            throw new IOException(e.getCause());
+        } catch (AmazonClientException | IOException | InterruptedException e) {
+            abortMultipart(key, uploadId, parts);
+            throw e;
+        }
+    }
+
+    private Future<PartETag> uploadPart(String key, String uploadId, int partNumber, byte[] part, int partLength,
+                                        Semaphore partsInProgress) {
+        return uploadExecutor.submit(() -> {
+            try {
+                UploadPartRequest request = new UploadPartRequest().withBucketName(bucketName)
+                                                                   .withKey(key)
+                                                                   .withUploadId(uploadId)
+                                                                   .withPartNumber(partNumber)
+                                                                   .withPartSize(partLength)
+                                                                   .withInputStream(
+                                                                       new ByteArrayInputStream(part, 0, partLength));
+                return s3Service.uploadPart(request).getPartETag();
+            } finally {
+                partsInProgress.release();
+            }
+        });
+    }
+
+    /**
+     * Stop reading the stream as soon as a part failed.
+     */
+    private void checkUploadedParts(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
+            }
+        }
+    }
+
+    private void abortMultipart(String key, String uploadId, List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            part.cancel(true);
+        }
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.warn("Unable to abort the multipart upload " + uploadId + " of " + key, e);
         }
     }
 
@@ -619,80 +803,223 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public void setReadAheadChunks(int readAheadChunks) {
+        this.readAheadChunks = readAheadChunks;
+    }
+
+    public void setReadAheadMemory(long readAheadMemory) {
+        this.readAheadMemory = readAheadMemory;
+    }
+
+    public void setDownloadThreads(int downloadThreads) {
+        this.downloadThreads = downloadThreads;
+    }
+
+    public void setUploadPartSize(int uploadPartSize) {
+        this.uploadPartSize = uploadPartSize;
+    }
+
+    public void setUploadConcurrency(int uploadConcurrency) {
+        this.uploadConcurrency = uploadConcurrency;
+    }
+
     /**
-     * This inner class represent an InputStream that uses temporary files to
-     * represent chunk of the object downloaded from S3. When the input stream is
-     * read the class look first to the current chunk and download a new one once if
-     * the current one as been fully read. The class is responsible to close a chunk
-     * as soon as a new one is retrieved, the last chunk is closed when the input
-     * stream itself is closed or the last byte is read (the first of the two)
+     * This inner class represent an InputStream reading an object from S3 in chunks, each chunk being downloaded
+     * with a range request into memory. While a chunk is read, the next ones are already downloaded in the
+     * background, so that reading doesn't stall at the end of each chunk. No temporary file is used, and the memory
+     * used by a stream is bounded by the size of the chunks it keeps: the one being read and the ones downloaded
+     * in advance. The pending downloads are cancelled when the stream is closed.
+     * <p>
+     * The chunks downloaded in advance by all the streams share a memory budget and a bounded pool of threads: when
+     * either is exhausted, the next chunk is downloaded on the reading thread once it is needed.
      */
     public class S3LazyInputStream extends InputStream {
-        private InputStream currentChunkStream;
-        private String objectKey;
-        private long endOfChunk = -1;
-        private long chunkMaxSize;
-        private long currPos = 0;
-        private long fileSize;
+        private final String objectKey;
+        private final long chunkMaxSize;
+        // end of the range to read (exclusive)
+        private final long end;
+        private final int readAheadChunks;
+        private final Deque<ReadAheadChunk> nextChunks = new ArrayDeque<>();
+        private byte[] currentChunk = new byte[0];
+        private int positionInChunk = 0;
+        // start of the first chunk which is not downloaded yet
+        private long nextChunkStart;
+        private boolean closed = false;
 
         public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize) throws IOException {
+            this(objectKey, chunkMaxSize, fileSize, 0);
+        }
+
+        public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize, int readAheadChunks)
+            throws IOException {
+            this(objectKey, chunkMaxSize, 0, fileSize, readAheadChunks);
+        }
+
+        /**
+         * @param objectKey       the key of the object
+         * @param chunkMaxSize    the size of the range requests
+         * @param start           the position of the first byte to read
+         * @param end             the position after the last byte to read
+         * @param readAheadChunks the number of chunks downloaded in advance
+         */
+        public S3LazyInputStream(String objectKey, long chunkMaxSize, long start, long end, int readAheadChunks)
+            throws IOException {
             this.objectKey = objectKey;
             this.chunkMaxSize = chunkMaxSize;
-            this.endOfChunk = 0;
-            this.fileSize = fileSize;
-            downloadChunk();
+            this.end = end;
+            this.readAheadChunks = readAheadChunks;
+            this.nextChunkStart = start;
+            if (end > start) {
+                // get the first chunk now, to fail immediately if the object doesn't exist
+                nextChunk();
+            } else {
+                try {
+                    s3Service.getObjectMetadata(bucketName, objectKey);
+                } catch (AmazonClientException e) {
+                    throw new IOException(e);
+                }
+            }
         }
 
         @Override
         public int read() throws IOException {
-            // is the current chunk completely read and other are available?
-            if (currPos == endOfChunk && currPos < fileSize) {
-                currentChunkStream.close();
-                downloadChunk();
+            if (positionInChunk == currentChunk.length && !nextChunk()) {
+                return -1;
             }
+            return currentChunk[positionInChunk++] & 0xFF;
+        }
 
-            int byteRead = currPos < endOfChunk ? currentChunkStream.read() : -1;
-            // do we get any data or are we at the end of the file?
-            if (byteRead != -1) {
-                currPos++;
-            } else {
-                currentChunkStream.close();
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
             }
-            return byteRead;
+            if (positionInChunk == currentChunk.length && !nextChunk()) {
+                return -1;
+            }
+            int read = Math.min(len, currentChunk.length - positionInChunk);
+            System.arraycopy(currentChunk, positionInChunk, b, off, read);
+            positionInChunk += read;
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return currentChunk.length - positionInChunk;
         }
 
         /**
-         * This method download the next chunk from S3
+         * Move to the next chunk, waiting for its download, and start the downloads of the following ones.
          *
-         * @throws IOException
-         * @throws FileNotFoundException
+         * @return false at the end of the object
          */
-        private void downloadChunk() throws IOException, FileNotFoundException {
-            // Create a DownloadFileRequest with the desired byte range
-            long startByte = currPos; // Start byte (inclusive)
-            long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
+        private boolean nextChunk() throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            ReadAheadChunk chunk = nextChunks.poll();
+            if (chunk == null) {
+                if (nextChunkStart >= end) {
+                    return false;
+                }
+                // the chunk is not downloaded in advance: download it on this thread, after starting the next ones
+                long startByte = nextChunkStart; // Start byte (inclusive)
+                long endByte = Long.min(startByte + chunkMaxSize - 1, end - 1); // End byte (inclusive)
+                nextChunkStart = endByte + 1;
+                readAhead();
+                try {
+                    currentChunk = downloadChunk(startByte, endByte);
+                } catch (AmazonClientException e) {
+                    throw new IOException(e);
+                }
+            } else {
+                readAhead();
+                currentChunk = chunk.get();
+            }
+            positionInChunk = 0;
+            // an empty chunk means the object is shorter than expected
+            return currentChunk.length > 0;
+        }
+
+        /**
+         * Start the downloads of the next chunks, as long as the end of the object, the number of chunks to read
+         * ahead or the shared read-ahead resources are not reached.
+         */
+        private void readAhead() {
+            while (nextChunks.size() < readAheadChunks && nextChunkStart < end) {
+                long startByte = nextChunkStart; // Start byte (inclusive)
+                long endByte = Long.min(startByte + chunkMaxSize - 1, end - 1); // End byte (inclusive)
+                int size = (int) (endByte - startByte + 1);
+                if (!readAheadBudget.tryAcquire(size)) {
+                    return;
+                }
+                Future<byte[]> download;
+                try {
+                    download = downloadExecutor.submit(() -> downloadChunk(startByte, endByte));
+                } catch (RejectedExecutionException e) {
+                    readAheadBudget.release(size);
+                    return;
+                }
+                nextChunks.add(new ReadAheadChunk(download, size));
+                nextChunkStart = endByte + 1;
+            }
+        }
+
+        /**
+         * This method download a chunk from S3
+         */
+        private byte[] downloadChunk(long startByte, long endByte) throws IOException {
             GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
                     .withRange(startByte, endByte);
-
-            File currentChunkFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
-            currentChunkFile.deleteOnExit();
-            try {
-                Download download = tm.download(getRequest, currentChunkFile);
-                download.waitForCompletion();
-                currentChunkStream = new DeleteOnCloseFileInputStream(currentChunkFile);
-                endOfChunk = endOfChunk + download.getProgress().getBytesTransferred();
-            } catch (AmazonClientException | InterruptedException e) {
-                currentChunkFile.delete();
-                throw new IOException(e);
+            try (S3Object object = s3Service.getObject(getRequest);
+                 InputStream content = object.getObjectContent()) {
+                return IOUtils.toByteArray(content);
             }
         }
 
         @Override
         public void close() throws IOException {
-            if (currentChunkStream != null) {
-                currentChunkStream.close();
+            closed = true;
+            for (ReadAheadChunk chunk : nextChunks) {
+                chunk.cancel();
+            }
+            nextChunks.clear();
+            currentChunk = new byte[0];
+            positionInChunk = 0;
+        }
+
+    }
+
+    /**
+     * A chunk downloaded in advance, holding its size of the read-ahead memory budget until it is read or
+     * cancelled.
+     */
+    private class ReadAheadChunk {
+        private final Future<byte[]> download;
+        private final int size;
+
+        ReadAheadChunk(Future<byte[]> download, int size) {
+            this.download = download;
+            this.size = size;
+        }
+
+        byte[] get() throws IOException {
+            try {
+                return download.get();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                readAheadBudget.release(size);
             }
         }
 
+        void cancel() {
+            download.cancel(true);
+            readAheadBudget.release(size);
+        }
     }
 }
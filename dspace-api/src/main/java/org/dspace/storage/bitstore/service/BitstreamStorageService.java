@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -48,6 +49,13 @@ import org.dspace.core.Context;
  */
 public interface BitstreamStorageService {
 
+    /**
+     * Schema and element of the metadata fields holding the additional checksums of the bitstreams, whose qualifier
+     * is the lower case name of the algorithm, e.g. {@code dspace.checksum.sha-256}.
+     */
+    public static final String CHECKSUM_SCHEMA = "dspace";
+    public static final String CHECKSUM_ELEMENT = "checksum";
+
     /**
      * Store a stream of bits.
      *
@@ -58,6 +66,12 @@ public interface BitstreamStorageService {
      * </p>
      *
      * <p>
+     * The checksums configured by {@code assetstore.checksum.algorithms} are
+     * computed while the bits are stored, and saved in the metadata of the
+     * bitstream, in the fields {@link #CHECKSUM_SCHEMA}.{@link #CHECKSUM_ELEMENT}.
+     * </p>
+     *
+     * <p>
      * If this method returns successfully and the context is aborted, then the
      * bits will be stored in the asset store and the RDBMS metadata entries
      * will exist, but with the deleted flag set.
@@ -126,6 +140,32 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve a range of the bits of the bitstream, without reading the bits before the range when the store
+     * supports it.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @param offset    The position of the first byte to retrieve
+     * @param length    The maximum number of bytes to retrieve
+     * @return The stream of bits
+     * @throws IOException  If a problem occurs while retrieving the bits
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public InputStream retrieve(Context context, Bitstream bitstream, long offset, long length)
+        throws SQLException, IOException;
+
+    /**
+     * Get the file holding the bits of the bitstream, if its store keeps them in the local file system.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream
+     * @return The file holding the bits, or null if the bitstream is not stored in a local file
+     * @throws IOException  If a problem occurs while determining the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public File getLocalFile(Context context, Bitstream bitstream) throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
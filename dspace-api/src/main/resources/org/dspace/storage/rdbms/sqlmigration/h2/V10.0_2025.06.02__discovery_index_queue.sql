@@ -0,0 +1,21 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the asynchronous discovery indexing queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE discovery_index_queue_id_seq;
+
+CREATE TABLE discovery_index_queue
+(
+    id              INTEGER NOT NULL PRIMARY KEY,
+    unique_id       VARCHAR(256) NOT NULL,
+    action          VARCHAR(32) NOT NULL,
+    queued          TIMESTAMP NOT NULL
+);
@@ -0,0 +1,14 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Keep the discovery indexing queue records which failed, to retry them later
+-----------------------------------------------------------------------------------
+
+ALTER TABLE discovery_index_queue ADD COLUMN attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE discovery_index_queue ADD COLUMN next_attempt TIMESTAMP;
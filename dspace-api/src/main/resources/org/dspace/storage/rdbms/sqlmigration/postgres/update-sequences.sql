@@ -28,6 +28,7 @@ SELECT setval('cwf_in_progress_user_seq', max(in_progress_user_id)) FROM cwf_in_
 SELECT setval('cwf_pooltask_seq', max(pooltask_id)) FROM cwf_pooltask;
 SELECT setval('cwf_workflowitem_seq', max(workflowitem_id)) FROM cwf_workflowitem;
 SELECT setval('cwf_workflowitemrole_seq', max(workflowitemrole_id)) FROM cwf_workflowitemrole;
+SELECT setval('discovery_index_queue_id_seq', max(id)) FROM discovery_index_queue;
 SELECT setval('doi_seq', max(doi_id)) FROM doi;
 SELECT setval('entity_type_id_seq', max(id)) FROM entity_type;
 SELECT setval('fileextension_seq', max(file_extension_id)) FROM fileextension;
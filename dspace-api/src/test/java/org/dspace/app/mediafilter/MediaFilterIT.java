@@ -7,6 +7,8 @@
  */
 package org.dspace.app.mediafilter;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -142,6 +144,54 @@ public class MediaFilterIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void mediaFilterScriptAllItemsInParallelTest() throws Exception {
+        // the items are filtered in the sessions of other threads
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "4");
+        Iterator<Item> items = itemService.findAll(context);
+        while (items.hasNext()) {
+            Item item = context.reloadEntity(items.next());
+            checkItemHasBeenProcessed(item);
+        }
+    }
+
+    @Test
+    public void mediaFilterScriptCommunityInParallelTest() throws Exception {
+        String handle = topComm1.getHandle();
+        // the items are filtered in the sessions of other threads
+        context.commit();
+        runDSpaceScript("filter-media", "-t", "3", "-i", handle);
+        checkItemHasBeenProcessed(context.reloadEntity(item1_1_a));
+        checkItemHasBeenProcessed(context.reloadEntity(item1_1_1_b));
+        checkItemHasBeenProcessed(context.reloadEntity(item1_2_2_a));
+        checkItemHasBeenNotProcessed(context.reloadEntity(item2_1_a));
+        checkItemHasBeenNotProcessed(context.reloadEntity(item2_1_b));
+    }
+
+    @Test
+    public void mediaFilterScriptReusesDerivativesTest() throws Exception {
+        performMediaFilterScript(item1_1_a);
+        performMediaFilterScript(item1_2_a);
+        checkItemHasBeenProcessed(item1_2_a);
+        // the items have the same csv file, their text is only extracted once
+        Bitstream text1 = item1_1_a.getBundles("TEXT").get(0).getBitstreams().get(0);
+        Bitstream text2 = item1_2_a.getBundles("TEXT").get(0).getBitstreams().get(0);
+        assertNotEquals(text1.getID(), text2.getID());
+        assertEquals(text1.getInternalId(), text2.getInternalId());
+        assertEquals(bitstreamService.getMetadataFirstValue(text1, "dspace", "derivative", "key", Item.ANY),
+                     bitstreamService.getMetadataFirstValue(text2, "dspace", "derivative", "key", Item.ANY));
+
+        // unless forced to filter again
+        performMediaFilterScript(item1_2_b);
+        runDSpaceScript("filter-media", "-f", "-i", item2_1_b.getHandle());
+        item1_2_b = context.reloadEntity(item1_2_b);
+        item2_1_b = context.reloadEntity(item2_1_b);
+        checkItemHasBeenProcessed(item2_1_b);
+        assertNotEquals(item1_2_b.getBundles("TEXT").get(0).getBitstreams().get(0).getInternalId(),
+                        item2_1_b.getBundles("TEXT").get(0).getBitstreams().get(0).getInternalId());
+    }
+
     @Test
     public void mediaFilterScriptIdentifiersTest() throws Exception {
         // process the item 1_1_a and verify that no other items has been processed using the "closer" one
@@ -0,0 +1,159 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.checker;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.checker.factory.CheckerServiceFactory;
+import org.dspace.checker.service.ChecksumHistoryService;
+import org.dspace.checker.service.MostRecentChecksumService;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Utils;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of {@link CheckerCommand}.
+ */
+public class CheckerCommandIT extends AbstractIntegrationTestWithDatabase {
+
+    private final MostRecentChecksumService mostRecentChecksumService =
+        CheckerServiceFactory.getInstance().getMostRecentChecksumService();
+
+    private final ChecksumHistoryService checksumHistoryService =
+        CheckerServiceFactory.getInstance().getChecksumHistoryService();
+
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final List<Bitstream> bitstreams = new ArrayList<>();
+
+    private Item item;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection).withTitle("Checked item").build();
+        for (int i = 0; i < 7; i++) {
+            bitstreams.add(BitstreamBuilder.createBitstream(context, item,
+                                                            IOUtils.toInputStream("Bitstream " + i, "UTF-8"))
+                                           .build());
+        }
+        context.restoreAuthSystemState();
+        mostRecentChecksumService.updateMissingBitstreams(context);
+        context.commit();
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        for (Bitstream bitstream : bitstreamService.findAll(context)) {
+            checksumHistoryService.deleteByBitstream(context, bitstream);
+            mostRecentChecksumService.deleteByBitstream(context, bitstream);
+        }
+        context.commit();
+        super.destroy();
+    }
+
+    @Test
+    public void processInParallel() throws Exception {
+        Bitstream corrupted = bitstreams.get(3);
+        mostRecentChecksumService.findByBitstream(context, corrupted).setExpectedChecksum("corrupted");
+        context.commit();
+
+        Map<UUID, ChecksumResultCode> results = new HashMap<>();
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setThreads(3);
+        checker.setBatchSize(2);
+        checker.setMaxBytesPerSecond(1024 * 1024);
+        checker.setReportVerbose(true);
+        checker.setDispatcher(new SimpleDispatcher(context, Instant.now(), false));
+        checker.setCollector((c, info) -> results.put(info.getBitstream().getID(),
+                                                      info.getChecksumResult().getResultCode()));
+        checker.process();
+
+        assertThat(results.keySet(), containsInAnyOrder(bitstreams.stream().map(Bitstream::getID).toArray()));
+        for (Bitstream bitstream : bitstreams) {
+            ChecksumResultCode expected = bitstream.equals(corrupted) ? ChecksumResultCode.CHECKSUM_NO_MATCH
+                : ChecksumResultCode.CHECKSUM_MATCH;
+            assertThat(results.get(bitstream.getID()), equalTo(expected));
+
+            MostRecentChecksum info = mostRecentChecksumService.findByBitstream(context, bitstream);
+            assertThat(info.getCurrentChecksum(), equalTo(bitstream.getChecksum()));
+            assertThat(info.getChecksumResult().getResultCode(), equalTo(expected));
+            assertThat(info.getProcessEndDate().compareTo(info.getProcessStartDate()), greaterThan(-1));
+        }
+    }
+
+    @Test
+    public void additionalChecksumIsVerified() throws Exception {
+        configurationService.setProperty("assetstore.checksum.algorithms", "SHA-256");
+        Bitstream bitstream;
+        try {
+            context.turnOffAuthorisationSystem();
+            bitstream = BitstreamBuilder.createBitstream(context, item, IOUtils.toInputStream("Content", "UTF-8"))
+                                        .build();
+            context.restoreAuthSystemState();
+        } finally {
+            configurationService.setProperty("assetstore.checksum.algorithms", null);
+        }
+        String sha256 = Utils.toHex(MessageDigest.getInstance("SHA-256").digest("Content".getBytes(UTF_8)));
+        assertThat(bitstreamService.getMetadataFirstValue(bitstream, "dspace", "checksum", "sha-256", Item.ANY),
+                   equalTo(sha256));
+        mostRecentChecksumService.updateMissingBitstreams(context);
+        context.commit();
+
+        CheckerCommand checker = new CheckerCommand(context);
+        checker.setChecksumAlgorithm("SHA-256");
+        checker.setDispatcher(new SimpleDispatcher(context, Instant.now(), false));
+        checker.setCollector((c, info) -> { });
+        checker.process();
+
+        MostRecentChecksum info = mostRecentChecksumService.findByBitstream(context, bitstream);
+        assertThat(info.getChecksumAlgorithm(), equalTo("SHA-256"));
+        assertThat(info.getCurrentChecksum(), equalTo(sha256));
+        assertThat(info.getChecksumResult().getResultCode(), equalTo(ChecksumResultCode.CHECKSUM_MATCH));
+
+        // stored without the additional checksum
+        MostRecentChecksum md5Info = mostRecentChecksumService.findByBitstream(context, bitstreams.get(0));
+        assertThat(md5Info.getChecksumAlgorithm(), equalTo("MD5"));
+        assertThat(md5Info.getChecksumResult().getResultCode(), equalTo(ChecksumResultCode.CHECKSUM_MATCH));
+    }
+}
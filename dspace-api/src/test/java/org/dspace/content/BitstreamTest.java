@@ -24,10 +24,14 @@ import static org.mockito.Mockito.spy;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.authorize.service.AuthorizeService;
@@ -489,6 +493,44 @@ public class BitstreamTest extends AbstractDSpaceObjectTest {
         assertThat("testRetrieveCanRead 0", bitstreamService.retrieve(context, bs), notNullValue());
     }
 
+    /**
+     * Test of retrieve method with a range, of class Bitstream.
+     */
+    @Test
+    public void testRetrieveRange() throws IOException, SQLException, AuthorizeException {
+        // Allow Bitstream READ permissions
+        doNothing().when(authorizeServiceSpy).authorizeAction(context, bs, Constants.READ);
+
+        byte[] content;
+        try (InputStream inputStream = bitstreamService.retrieve(context, bs)) {
+            content = IOUtils.toByteArray(inputStream);
+        }
+        try (InputStream inputStream = bitstreamService.retrieve(context, bs, 3, 5)) {
+            assertThat("testRetrieveRange 0", IOUtils.toByteArray(inputStream),
+                       equalTo(Arrays.copyOfRange(content, 3, 8)));
+        }
+        try (InputStream inputStream = bitstreamService.retrieve(context, bs, content.length - 2, 10)) {
+            assertThat("testRetrieveRange 1", IOUtils.toByteArray(inputStream),
+                       equalTo(Arrays.copyOfRange(content, content.length - 2, content.length)));
+        }
+    }
+
+    /**
+     * Test of getLocalFile method, of class Bitstream.
+     */
+    @Test
+    public void testGetLocalFile() throws IOException, SQLException, AuthorizeException {
+        // Allow Bitstream READ permissions
+        doNothing().when(authorizeServiceSpy).authorizeAction(context, bs, Constants.READ);
+
+        File file = bitstreamService.getLocalFile(context, bs);
+        assertThat("testGetLocalFile 0", file, notNullValue());
+        try (InputStream inputStream = bitstreamService.retrieve(context, bs)) {
+            assertThat("testGetLocalFile 1", Files.readAllBytes(file.toPath()),
+                       equalTo(IOUtils.toByteArray(inputStream)));
+        }
+    }
+
     /**
      * Test of retrieve method, of class Bitstream.
      */
@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.content;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.EntityTypeBuilder;
+import org.dspace.builder.RelationshipTypeBuilder;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.EntityTypeService;
+import org.dspace.content.service.RelationshipTypeService;
+import org.dspace.core.Context;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests of {@link EntityTypeRegistry}.
+ */
+public class EntityTypeRegistryIT extends AbstractIntegrationTestWithDatabase {
+
+    private final EntityTypeService entityTypeService = ContentServiceFactory.getInstance().getEntityTypeService();
+
+    private final RelationshipTypeService relationshipTypeService =
+        ContentServiceFactory.getInstance().getRelationshipTypeService();
+
+    private final EntityTypeRegistry entityTypeRegistry = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(EntityTypeRegistry.class.getName(), EntityTypeRegistry.class);
+
+    @Test
+    public void typesAreFoundInTheRegistry() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EntityType publication = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType person = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        RelationshipType isAuthorOfPublication =
+            RelationshipTypeBuilder.createRelationshipTypeBuilder(context, publication, person,
+                                                                  "isAuthorOfPublication", "isPublicationOfAuthor",
+                                                                  0, null, 1, 5).build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        EntityTypeRegistry.Snapshot registry = entityTypeRegistry.get(context);
+        assertThat(registry.getEntityTypeId("publication"), equalTo(publication.getID()));
+        assertThat(registry.getEntityTypeId("Journal"), nullValue());
+        List<EntityTypeRegistry.RelationshipTypeDescriptor> descriptors =
+            registry.getRelationshipTypes(person.getID());
+        assertThat(descriptors.size(), equalTo(1));
+        assertThat(descriptors.get(0).getId(), equalTo(isAuthorOfPublication.getID()));
+        assertThat(descriptors.get(0).getLeftTypeId(), equalTo(publication.getID()));
+        assertThat(descriptors.get(0).getRightTypeId(), equalTo(person.getID()));
+
+        assertThat(entityTypeService.findByEntityType(context, "PUBLICATION"), equalTo(publication));
+        assertThat(entityTypeService.findByEntityType(context, "Journal"), nullValue());
+        assertThat(ids(relationshipTypeService.findByEntityType(context, publication)),
+                   contains(isAuthorOfPublication.getID()));
+        assertThat(ids(relationshipTypeService.findByEntityType(context, publication, true)),
+                   contains(isAuthorOfPublication.getID()));
+        assertThat(relationshipTypeService.findByEntityType(context, publication, false).size(), equalTo(0));
+    }
+
+    @Test
+    public void registryIsReplacedWhenTheChangesAreCommitted() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EntityType publication = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType person = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        assertThat(countRelationshipTypesInOtherThread("Person"), equalTo(0));
+
+        publication = context.reloadEntity(publication);
+        person = context.reloadEntity(person);
+        context.turnOffAuthorisationSystem();
+        RelationshipType isAuthorOfPublication =
+            RelationshipTypeBuilder.createRelationshipTypeBuilder(context, publication, person,
+                                                                  "isAuthorOfPublication", "isPublicationOfAuthor",
+                                                                  null, null, null, null).build();
+        context.restoreAuthSystemState();
+
+        // the uncommitted type is only visible to the context which created it
+        assertThat(entityTypeRegistry.get(context), nullValue());
+        assertThat(ids(relationshipTypeService.findByEntityType(context, person)),
+                   contains(isAuthorOfPublication.getID()));
+        assertThat(countRelationshipTypesInOtherThread("Person"), equalTo(0));
+
+        context.commit();
+        assertThat(countRelationshipTypesInOtherThread("Person"), equalTo(1));
+        assertThat(entityTypeRegistry.get(context).getRelationshipTypes(person.getID()).size(), equalTo(1));
+    }
+
+    @Test
+    public void typesMissingFromTheRegistryAreFoundInTheDatabase() throws Exception {
+        context.turnOffAuthorisationSystem();
+        EntityType publication = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        EntityTypeRegistry.Snapshot outdated = entityTypeRegistry.get(context);
+
+        publication = context.reloadEntity(publication);
+        context.turnOffAuthorisationSystem();
+        EntityType person = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        RelationshipType isAuthorOfPublication =
+            RelationshipTypeBuilder.createRelationshipTypeBuilder(context, publication, person,
+                                                                  "isAuthorOfPublication", "isPublicationOfAuthor",
+                                                                  null, null, null, null).build();
+        context.restoreAuthSystemState();
+        context.commit();
+        // the types were created without this registry, e.g. by another DSpace process
+        ReflectionTestUtils.setField(entityTypeRegistry, "snapshot", outdated);
+
+        assertThat(entityTypeService.findByEntityType(context, "Person"), equalTo(person));
+        assertThat(entityTypeRegistry.get(context).getEntityTypeId("Person"), equalTo(person.getID()));
+
+        ReflectionTestUtils.setField(entityTypeRegistry, "snapshot", outdated);
+        assertThat(ids(relationshipTypeService.findByEntityType(context, context.reloadEntity(publication))),
+                   contains(isAuthorOfPublication.getID()));
+        assertThat(entityTypeRegistry.get(context).getRelationshipTypes(publication.getID()).size(), equalTo(1));
+    }
+
+    private List<Integer> ids(List<RelationshipType> relationshipTypes) {
+        return relationshipTypes.stream().map(RelationshipType::getID).collect(Collectors.toList());
+    }
+
+    /**
+     * Count the relationship types of an entity type with a new context, in another thread (and so another
+     * database session) than the one of the test.
+     */
+    private int countRelationshipTypesInOtherThread(String entityTypeLabel) throws Exception {
+        Callable<Integer> count = () -> {
+            try (Context otherContext = new Context(Context.Mode.READ_ONLY)) {
+                EntityType entityType = entityTypeService.findByEntityType(otherContext, entityTypeLabel);
+                return relationshipTypeService.findByEntityType(otherContext, entityType).size();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(count).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -38,6 +38,9 @@ public class EntityTypeServiceImplTest   {
     @Mock
     private EntityTypeDAO entityTypeDAO;
 
+    @Mock
+    private EntityTypeRegistry entityTypeRegistry;
+
     @Mock
     private Context context;
 
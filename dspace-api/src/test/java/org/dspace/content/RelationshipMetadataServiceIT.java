@@ -235,6 +235,28 @@ public class RelationshipMetadataServiceIT extends AbstractIntegrationTestWithDa
         assertThat(rightList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
     }
 
+    @Test
+    public void testGetAuthorRelationshipMetadataWithContext() throws Exception {
+        initPublicationAuthor();
+        List<RelationshipMetadataValue> leftList = relationshipMetadataService
+            .getRelationshipMetadata(context, leftItem, true);
+        assertThat(leftList.size(), equalTo(3));
+        assertThat(leftList.get(1).getValue(), equalTo("familyName, firstName"));
+        assertThat(leftList.get(1).getAuthority(), equalTo("virtual::" + relationship.getID()));
+
+        List<MetadataValue> authorList = itemService
+            .getMetadata(context, leftItem, "dc", "contributor", "author", Item.ANY, true);
+        assertThat(authorList.size(), equalTo(1));
+        assertThat(authorList.get(0).getValue(), equalTo("familyName, firstName"));
+
+        // the virtual metadata cached on the item are dropped when the relationship is removed
+        context.turnOffAuthorisationSystem();
+        relationshipService.delete(context, relationship);
+        context.restoreAuthSystemState();
+        assertThat(itemService.getMetadata(context, leftItem, "dc", "contributor", "author", Item.ANY, true).size(),
+                   equalTo(0));
+    }
+
     @Test
     public void testDeleteAuthorRelationshipCopyToLeftItem() throws Exception {
         initPublicationAuthor();
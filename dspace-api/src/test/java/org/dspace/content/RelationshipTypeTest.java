@@ -35,6 +35,9 @@ public class RelationshipTypeTest {
     @Mock
     private RelationshipTypeDAO relationshipTypeDAO;
 
+    @Mock
+    private EntityTypeRegistry entityTypeRegistry;
+
     private RelationshipType firstRelationshipType;
     private RelationshipType secondRelationshipType;
 
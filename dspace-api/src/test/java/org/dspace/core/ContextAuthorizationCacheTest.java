@@ -0,0 +1,152 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.UUID;
+
+import org.dspace.content.Item;
+import org.dspace.eperson.EPerson;
+import org.dspace.eperson.Group;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Class to test the authorization cache of the Context
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ContextAuthorizationCacheTest {
+
+    private ContextAuthorizationCache authorizationCache;
+
+    @Mock
+    private EPerson ePerson;
+
+    @Before
+    public void init() {
+        authorizationCache = new ContextAuthorizationCache();
+        when(ePerson.getID()).thenReturn(UUID.randomUUID());
+    }
+
+    @Test
+    public void cacheAuthorizedAction() throws Exception {
+        Item item = Mockito.mock(Item.class);
+        when(item.getID()).thenReturn(UUID.randomUUID());
+
+        authorizationCache.cacheAuthorizedAction(item, Constants.READ, ePerson, true);
+        authorizationCache.cacheAuthorizedAction(item, Constants.WRITE, ePerson, false);
+
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, Constants.READ, ePerson));
+        assertFalse(authorizationCache.getCachedAuthorizationResult(item, Constants.WRITE, ePerson));
+
+        assertNull(authorizationCache.getCachedAuthorizationResult(item, Constants.ADMIN, ePerson));
+        assertNull(authorizationCache.getCachedAuthorizationResult(item, Constants.READ, null));
+        assertNull(authorizationCache.getCachedAuthorizationResult(null, Constants.READ, ePerson));
+    }
+
+    @Test
+    public void cacheGroupMembership() throws Exception {
+        Group group1 = buildGroupMock("Test Group 1");
+        Group group2 = buildGroupMock("Test Group 2");
+        Group group3 = buildGroupMock("Test Group 3");
+
+        authorizationCache.cacheGroupMembership(group1, ePerson, true);
+        authorizationCache.cacheGroupMembership(group2, ePerson, false);
+
+        assertTrue(authorizationCache.getCachedGroupMembership(group1, ePerson));
+        assertFalse(authorizationCache.getCachedGroupMembership(group2, ePerson));
+
+        assertNull(authorizationCache.getCachedGroupMembership(group3, ePerson));
+        assertNull(authorizationCache.getCachedGroupMembership(null, ePerson));
+        assertNull(authorizationCache.getCachedGroupMembership(group2, null));
+    }
+
+    @Test
+    public void cacheAllMemberGroupsSet() throws Exception {
+        Group group1 = buildGroupMock("Test Group 1");
+        Group group2 = buildGroupMock("Test Group 2");
+        Group group3 = buildGroupMock("Test Group 3");
+
+        authorizationCache.cacheAllMemberGroupsSet(ePerson, new HashSet<>(Arrays.asList(group1, group2)));
+
+        assertTrue(authorizationCache.getCachedGroupMembership(group1, ePerson));
+        assertTrue(authorizationCache.getCachedGroupMembership(group2, ePerson));
+        assertFalse(authorizationCache.getCachedGroupMembership(group3, ePerson));
+        assertFalse(authorizationCache.getCachedGroupMembership(null, ePerson));
+
+        assertNull(authorizationCache.getCachedGroupMembership(group2, null));
+    }
+
+    @Test
+    public void clear() throws Exception {
+        Item item = Mockito.mock(Item.class);
+        when(item.getID()).thenReturn(UUID.randomUUID());
+        Group group1 = buildGroupMock("Test Group 1");
+
+        //load data into the cache
+        authorizationCache.cacheAuthorizedAction(item, Constants.READ, ePerson, true);
+        authorizationCache.cacheGroupMembership(group1, ePerson, true);
+
+        //double check the data is there
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, Constants.READ, ePerson));
+        assertTrue(authorizationCache.getCachedGroupMembership(group1, ePerson));
+
+        //clear the cache
+        authorizationCache.clear();
+
+        //check that the data is not present anymore
+        assertNull(authorizationCache.getCachedAuthorizationResult(item, Constants.READ, ePerson));
+        assertNull(authorizationCache.getCachedGroupMembership(group1, ePerson));
+    }
+
+    @Test
+    public void cacheAuthorizedActionWithoutInheritance() throws Exception {
+        Item item = Mockito.mock(Item.class);
+        when(item.getID()).thenReturn(UUID.randomUUID());
+
+        authorizationCache.cacheAuthorizedAction(item, Constants.ADMIN, ePerson, true);
+        authorizationCache.cacheAuthorizedAction(item, Constants.ADMIN, ePerson, false, false);
+
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, Constants.ADMIN, ePerson));
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, Constants.ADMIN, ePerson, true));
+        assertFalse(authorizationCache.getCachedAuthorizationResult(item, Constants.ADMIN, ePerson, false));
+    }
+
+    @Test
+    public void authorizedActionsCacheIsBounded() throws Exception {
+        Item item = Mockito.mock(Item.class);
+        when(item.getID()).thenReturn(UUID.randomUUID());
+
+        for (int action = 0; action < ContextAuthorizationCache.MAX_AUTHORIZED_ACTIONS; action++) {
+            authorizationCache.cacheAuthorizedAction(item, action, ePerson, true);
+        }
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, 0, ePerson));
+
+        authorizationCache.cacheAuthorizedAction(item, -1, ePerson, true);
+        assertNull(authorizationCache.getCachedAuthorizationResult(item, 0, ePerson));
+        assertTrue(authorizationCache.getCachedAuthorizationResult(item, -1, ePerson));
+    }
+
+    private Group buildGroupMock(final String name) {
+        Group group = Mockito.mock(Group.class, name);
+        // the ID is not used when looking up the groups in the set of all member groups
+        Mockito.lenient().when(group.getID()).thenReturn(UUID.randomUUID());
+        return group;
+    }
+
+}
@@ -33,6 +33,7 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.eperson.service.GroupService;
+import org.dspace.event.Event;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -428,6 +429,41 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test that authorization decisions are cached in READ_WRITE mode, until something changes
+     */
+    @Test
+    public void testAuthorizationCacheInReadWriteMode() throws SQLException {
+        Context instance = new Context();
+        instance.setCurrentUser(eperson);
+        Group group = groupService.findByName(instance, Group.ADMIN);
+
+        instance.cacheAuthorizedAction(eperson, Constants.READ, eperson, true, null);
+        instance.cacheGroupMembership(group, eperson, false);
+        assertThat("testAuthorizationCache 0",
+                   instance.getCachedAuthorizationResult(eperson, Constants.READ, eperson), equalTo(true));
+        assertThat("testAuthorizationCache 1", instance.getCachedGroupMembership(group, eperson), equalTo(false));
+
+        // any change may affect the decisions
+        instance.addEvent(new Event(Event.ADD, Constants.GROUP, group.getID(), null));
+        assertThat("testAuthorizationCache 2",
+                   instance.getCachedAuthorizationResult(eperson, Constants.READ, eperson), nullValue());
+        assertThat("testAuthorizationCache 3", instance.getCachedGroupMembership(group, eperson), nullValue());
+
+        instance.cacheGroupMembership(group, eperson, false);
+        instance.setSpecialGroup(group.getID());
+        assertThat("testAuthorizationCache 4", instance.getCachedGroupMembership(group, eperson), nullValue());
+
+        // nothing is cached in batch mode
+        instance.setMode(Context.Mode.BATCH_EDIT);
+        instance.cacheAuthorizedAction(eperson, Constants.READ, eperson, true, null);
+        assertThat("testAuthorizationCache 5",
+                   instance.getCachedAuthorizationResult(eperson, Constants.READ, eperson), nullValue());
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
     /**
      * Test that commit cannot be called when the context is in read-only mode
      */
@@ -0,0 +1,84 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.hibernate.Hibernate;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests for the batch mode of {@link UUIDIterator}, as used by the item iterators.
+ */
+public class UUIDIteratorIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final List<UUID> itemIds = new ArrayList<>();
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        for (int i = 0; i < 150; i++) {
+            itemIds.add(ItemBuilder.createItem(context, collection)
+                                   .withTitle("Item " + i)
+                                   .build().getID());
+        }
+        context.restoreAuthSystemState();
+        // the database orders the ids as unsigned values, unlike UUID.compareTo
+        itemIds.sort(Comparator.comparing(UUID::toString));
+    }
+
+    @Test
+    public void findAllRegularItemsReturnsItemsInOrderWithMetadataTest() throws Exception {
+        context.uncacheEntities();
+        List<UUID> found = new ArrayList<>();
+        Iterator<Item> items = itemService.findAllRegularItems(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            assertTrue(Hibernate.isInitialized(item.getMetadata()));
+            found.add(item.getID());
+        }
+        assertEquals(itemIds, found);
+    }
+
+    @Test
+    public void findAllRegularItemsWhileUncachingTest() throws Exception {
+        List<UUID> found = new ArrayList<>();
+        Iterator<Item> items = itemService.findAllRegularItems(context);
+        while (items.hasNext()) {
+            Item item = items.next();
+            // the lazy collections must still be usable after the cache was cleared during the iteration
+            assertTrue(item.getBundles().isEmpty());
+            assertTrue(itemService.getMetadata(item, "dc.title").startsWith("Item "));
+            found.add(item.getID());
+            context.uncacheEntities();
+        }
+        assertEquals(itemIds, found);
+    }
+}
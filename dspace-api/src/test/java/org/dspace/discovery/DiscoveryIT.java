@@ -22,17 +22,21 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.commons.io.IOUtils;
 import org.apache.solr.client.solrj.SolrQuery;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrInputDocument;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.app.launcher.ScriptLauncher;
 import org.dspace.app.scripts.handler.impl.TestDSpaceRunnableHandler;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.builder.BitstreamBuilder;
 import org.dspace.builder.ClaimedTaskBuilder;
 import org.dspace.builder.CollectionBuilder;
 import org.dspace.builder.CommunityBuilder;
@@ -56,7 +60,9 @@ import org.dspace.discovery.configuration.DiscoveryConfiguration;
 import org.dspace.discovery.configuration.DiscoverySortFieldConfiguration;
 import org.dspace.discovery.indexobject.IndexableClaimedTask;
 import org.dspace.discovery.indexobject.IndexableCollection;
+import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 import org.dspace.discovery.indexobject.IndexablePoolTask;
 import org.dspace.discovery.indexobject.IndexableWorkflowItem;
 import org.dspace.discovery.indexobject.IndexableWorkspaceItem;
@@ -905,6 +911,247 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    @Test
+    public void parallelUpdateIndexTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 1").build();
+        Collection col2 = CollectionBuilder.createCollection(context, parentCommunity)
+                                           .withName("Collection 2").build();
+        for (int i = 0; i < 12; i++) {
+            ItemBuilder.createItem(context, i % 2 == 0 ? col1 : col2)
+                       .withTitle("Public item " + i)
+                       .withIssueDate("2017-10-17")
+                       .build();
+        }
+        context.restoreAuthSystemState();
+        // the worker threads use their own Context, so the test data must be visible to other sessions
+        context.commit();
+
+        indexer.deleteIndex();
+        indexer.commit();
+        assertSearchQuery(IndexableItem.TYPE, 0);
+
+        TestDSpaceRunnableHandler handler = new TestDSpaceRunnableHandler();
+        indexer.updateIndex(context, true, null, 3, handler);
+
+        assertSearchQuery(IndexableCollection.TYPE, 2);
+        assertSearchQuery(IndexableItem.TYPE, 10, 12, 0, -1);
+        assertTrue(handler.getInfoMessages().stream().anyMatch(message -> message.startsWith("Indexed 12 items")));
+    }
+
+    @Test
+    public void updateIndexOnlyIndexesStaleObjectsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection 1").build();
+        Item item1 = ItemBuilder.createItem(context, col)
+                                .withTitle("Public item 1")
+                                .build();
+        Item item2 = ItemBuilder.createItem(context, col)
+                                .withTitle("Public item 2")
+                                .build();
+        context.restoreAuthSystemState();
+
+        // remove one item from the index, the other one is up to date
+        indexer.unIndexContent(context, new IndexableItem(item1).getUniqueIndexID(), true);
+        assertSearchQuery(IndexableItem.TYPE, 1);
+        String lastIndexed = getLastIndexed(new IndexableItem(item2));
+
+        indexer.updateIndex(context, false);
+
+        assertSearchQuery(IndexableItem.TYPE, 2);
+        assertEquals(lastIndexed, getLastIndexed(new IndexableItem(item2)));
+    }
+
+    @Test
+    public void searchHitsOfSeveralTypesAreRetrievedInOrderTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection 1").build();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(ItemBuilder.createItem(context, col).withTitle("Public item " + i).build());
+        }
+        context.restoreAuthSystemState();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("search.resourcetype:(Item OR Collection OR Community)");
+        discoverQuery.setSortField(SearchUtils.RESOURCE_ID_FIELD, DiscoverQuery.SORT_ORDER.asc);
+        discoverQuery.setMaxResults(20);
+        DiscoverResult result = searchService.search(context, discoverQuery);
+
+        assertEquals(7, result.getIndexableObjects().size());
+        List<String> ids = result.getIndexableObjects().stream()
+                                 .map(indexableObject -> String.valueOf(indexableObject.getID()))
+                                 .collect(Collectors.toList());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        assertThat(result.getIndexableObjects(), hasItems(new IndexableCommunity(parentCommunity),
+                                                          new IndexableCollection(col),
+                                                          new IndexableItem(items.get(3))));
+        // the metadata of the items are loaded with the items
+        Item item = (Item) result.getIndexableObjects().stream()
+                                 .filter(indexableObject -> indexableObject instanceof IndexableItem)
+                                 .findFirst().get().getIndexedObject();
+        assertTrue(itemService.getMetadataFirstValue(item, "dc", "title", null, Item.ANY)
+                              .startsWith("Public item"));
+    }
+
+    @Test
+    public void searchHitsAreBuiltFromTheIndexProjectionTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection 1").build();
+        Item item = ItemBuilder.createItem(context, col)
+                               .withTitle("Projected item")
+                               .withAuthor("Smith, Donald")
+                               .withAuthor("Doe, John")
+                               .withIssueDate("2020-01-01")
+                               .withDescription("Not stored in the index")
+                               .build();
+        context.restoreAuthSystemState();
+        indexer.indexContent(context, new IndexableItem(item), true);
+        indexer.commit();
+
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.addFilterQueries("search.resourceid:" + item.getID());
+        discoverQuery.setIndexProjection(true);
+        DiscoverResult result = searchService.search(context, discoverQuery);
+
+        assertEquals(1, result.getIndexableObjects().size());
+        IndexableItemProjection projection = (IndexableItemProjection) result.getIndexableObjects().get(0);
+        assertFalse(projection.isLoaded());
+        assertEquals(item.getID(), projection.getID());
+        assertEquals(item.getHandle(), projection.getHandle());
+        assertTrue(projection.isArchived());
+        assertTrue(projection.isDiscoverable());
+        assertFalse(projection.isWithdrawn());
+        assertEquals(projection, new IndexableItem(item));
+        assertFalse(projection.isLoaded());
+
+        List<String> metadata = projection.getMetadata().stream()
+            .map(value -> value.getSchema() + "." + value.getElement()
+                + (value.getQualifier() != null ? "." + value.getQualifier() : "") + "=" + value.getValue())
+            .collect(Collectors.toList());
+        assertThat(metadata, hasItems("dc.title=Projected item", "dc.contributor.author=Smith, Donald",
+                                      "dc.contributor.author=Doe, John", "dc.date.issued=2020-01-01"));
+        assertThat(metadata, not(hasItem("dc.description=Not stored in the index")));
+        assertEquals("Projected item", projection.getFirstMetadataValue("dc", "title", null));
+
+        // the item is loaded from the database when needed
+        assertEquals(item, projection.getIndexedObject());
+        assertTrue(projection.isLoaded());
+    }
+
+    @Test
+    public void fullTextIsIndexedInChunksTest() throws Exception {
+        configurationService.setProperty("discovery.solr.fulltext.chunkSize", 20);
+        try {
+            context.turnOffAuthorisationSystem();
+            parentCommunity = CommunityBuilder.createCommunity(context)
+                                              .withName("Parent Community")
+                                              .build();
+            Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                              .withName("Collection 1").build();
+            Item item = ItemBuilder.createItem(context, col)
+                                   .withTitle("Item with full text")
+                                   .build();
+            BitstreamBuilder.createBitstream(context, item,
+                                             IOUtils.toInputStream("The quick brown fox jumps over the lazy dog",
+                                                                   "UTF-8"), "TEXT")
+                            .withMimeType("text/plain")
+                            .build();
+            indexer.indexContent(context, new IndexableItem(item), true);
+            indexer.commit();
+            context.restoreAuthSystemState();
+
+            SolrQuery query = new SolrQuery("fulltext:jumps");
+            query.addFilterQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":\"" + new IndexableItem(item).getUniqueIndexID()
+                                     + "\"");
+            query.setFields("fulltext");
+            QueryResponse response = solrSearchCore.getSolr().query(query);
+            assertEquals(1, response.getResults().getNumFound());
+            List<String> chunks = response.getResults().get(0).getFieldValues("fulltext").stream()
+                                          .map(String::valueOf)
+                                          .collect(Collectors.toList());
+            assertEquals(3, chunks.size());
+            assertEquals("The quick brown fox jumps over the lazy dog", String.join("", chunks).trim());
+        } finally {
+            configurationService.setProperty("discovery.solr.fulltext.chunkSize", null);
+        }
+    }
+
+    @Test
+    public void cleanIndexRemovesStaleDocumentsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection 1").build();
+        for (int i = 0; i < 5; i++) {
+            ItemBuilder.createItem(context, col).withTitle("Public item " + i).build();
+        }
+        context.restoreAuthSystemState();
+        // cleanIndex uses its own Context
+        context.commit();
+
+        List<String> staleIds = new ArrayList<>();
+        for (String type : List.of(IndexableItem.TYPE, IndexableItem.TYPE, IndexableCollection.TYPE)) {
+            SolrInputDocument doc = new SolrInputDocument();
+            String id = UUID.randomUUID().toString();
+            doc.addField(SearchUtils.RESOURCE_UNIQUE_ID, type + "-" + id);
+            doc.addField(SearchUtils.RESOURCE_TYPE_FIELD, type);
+            doc.addField(SearchUtils.RESOURCE_ID_FIELD, id);
+            solrSearchCore.getSolr().add(doc);
+            staleIds.add(type + "-" + id);
+        }
+        solrSearchCore.getSolr().commit();
+        assertEquals(10, countDocuments("*:*"));
+
+        configurationService.setProperty("discovery.clean.batch-size", 2);
+        try {
+            indexer.cleanIndex();
+        } finally {
+            configurationService.setProperty("discovery.clean.batch-size", null);
+        }
+
+        for (String staleId : staleIds) {
+            assertEquals(0, countDocuments(SearchUtils.RESOURCE_UNIQUE_ID + ":\"" + staleId + "\""));
+        }
+        assertEquals(5, countDocuments(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE));
+        assertEquals(1, countDocuments(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableCollection.TYPE));
+        assertEquals(1, countDocuments(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableCommunity.TYPE));
+    }
+
+    private long countDocuments(String query) throws SolrServerException, IOException {
+        SolrQuery solrQuery = new SolrQuery(query);
+        solrQuery.setRows(0);
+        return solrSearchCore.getSolr().query(solrQuery).getResults().getNumFound();
+    }
+
+    private String getLastIndexed(IndexableObject indexableObject) throws SolrServerException, IOException {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_UNIQUE_ID + ":" + indexableObject.getUniqueIndexID());
+        query.setFields(SearchUtils.LAST_INDEXED_FIELD);
+        QueryResponse response = solrSearchCore.getSolr().query(query);
+        assertEquals(1, response.getResults().getNumFound());
+        return String.valueOf(response.getResults().get(0).getFieldValue(SearchUtils.LAST_INDEXED_FIELD));
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
@@ -0,0 +1,56 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+public class FullTextChunkWriterTest {
+
+    @Test
+    public void testChunksAreCutAfterWhitespace() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        FullTextChunkWriter writer = new FullTextChunkWriter(20, chunks::add);
+        writer.write("The quick brown fox jumps over the lazy dog");
+        writer.close();
+
+        assertEquals(List.of("The quick brown fox ", "jumps over the lazy ", "dog"), chunks);
+    }
+
+    @Test
+    public void testChunksWithoutWhitespaceAreCutAtChunkSize() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        FullTextChunkWriter writer = new FullTextChunkWriter(10, chunks::add);
+        String text = StringUtils.repeat('a', 25);
+        for (char c : text.toCharArray()) {
+            writer.write(c);
+        }
+        writer.close();
+
+        assertEquals(List.of("aaaaaaaaaa", "aaaaaaaaaa", "aaaaa"), chunks);
+    }
+
+    @Test
+    public void testFlushDoesNotCutChunks() throws Exception {
+        List<String> chunks = new ArrayList<>();
+        FullTextChunkWriter writer = new FullTextChunkWriter(100, chunks::add);
+        writer.write("first part ");
+        writer.flush();
+        writer.write("second part");
+        assertTrue(chunks.isEmpty());
+        writer.close();
+
+        assertEquals(List.of("first part second part"), chunks);
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.MockSolrSearchCore;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Integration tests for the asynchronous discovery indexing queue.
+ */
+public class IndexQueueServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final MockSolrSearchCore solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(null, MockSolrSearchCore.class);
+
+    private Collection collection;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        context.restoreAuthSystemState();
+        configurationService.setProperty("discovery.index.async.enabled", true);
+    }
+
+    @After
+    @Override
+    public void destroy() throws Exception {
+        configurationService.setProperty("discovery.index.async.enabled", false);
+        // don't leave any queued records behind for the other tests
+        while (indexQueueService.processQueue(context) > 0) {
+            context.commit();
+        }
+        context.commit();
+        super.destroy();
+    }
+
+    @Test
+    public void changesAreIndexedOnceTheQueueIsProcessedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection).withTitle("Queued item").build();
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertEquals(0, countItems("Queued item"));
+        assertTrue(indexQueueService.countQueued(context) > 0);
+        assertTrue(indexQueueService.getLag(context).compareTo(Duration.ZERO) >= 0);
+
+        assertTrue(indexQueueService.processQueue(context) > 0);
+        context.commit();
+
+        assertEquals(1, countItems("Queued item"));
+        assertEquals(0, indexQueueService.countQueued(context));
+        assertEquals(Duration.ZERO, indexQueueService.getLag(context));
+        assertEquals(0, indexQueueService.processQueue(context));
+    }
+
+    @Test
+    public void objectsQueuedSeveralTimesAreCoalescedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("First title").build();
+        context.commit();
+        for (String title : new String[] {"Second title", "Third title"}) {
+            item = context.reloadEntity(item);
+            itemService.clearMetadata(context, item, "dc", "title", null, Item.ANY);
+            itemService.addMetadata(context, item, "dc", "title", null, null, title);
+            itemService.update(context, item);
+            context.commit();
+        }
+        context.restoreAuthSystemState();
+
+        long queued = indexQueueService.countQueued(context);
+        assertTrue(queued > 3);
+        assertEquals(queued, indexQueueService.processQueue(context));
+        context.commit();
+
+        assertEquals(0, countItems("First title"));
+        assertEquals(1, countItems("Third title"));
+        assertEquals(0, indexQueueService.countQueued(context));
+    }
+
+    @Test
+    public void deletionsAreQueuedTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Deleted item").build();
+        context.commit();
+        indexQueueService.processQueue(context);
+        context.commit();
+        assertEquals(1, countItems("Deleted item"));
+
+        itemService.delete(context, context.reloadEntity(item));
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertEquals(1, countItems("Deleted item"));
+        assertTrue(indexQueueService.processQueue(context) > 0);
+        context.commit();
+        assertEquals(0, countItems("Deleted item"));
+    }
+
+    @Test
+    public void queueIsProcessedWithSeveralThreadsTest() throws Exception {
+        configurationService.setProperty("discovery.index.async.threads", 3);
+        try {
+            context.turnOffAuthorisationSystem();
+            for (int i = 0; i < 10; i++) {
+                ItemBuilder.createItem(context, collection).withTitle("Parallel item").build();
+            }
+            context.commit();
+            context.restoreAuthSystemState();
+
+            assertEquals(0, countItems("Parallel item"));
+            indexQueueService.processQueue(context);
+            context.commit();
+            assertEquals(10, countItems("Parallel item"));
+        } finally {
+            configurationService.setProperty("discovery.index.async.threads", 1);
+        }
+    }
+
+    @Test
+    public void failedObjectsAreKeptOnTheQueueTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        ItemBuilder.createItem(context, collection).withTitle("Failed item").build();
+        context.commit();
+        context.restoreAuthSystemState();
+        long queued = indexQueueService.countQueued(context);
+
+        configurationService.setProperty("discovery.index.async.retry-delay", 0);
+        SolrClient solr = solrSearchCore.getSolr();
+        SolrClient failingSolr = spy(solr);
+        doThrow(new SolrServerException("Search core unavailable")).when(failingSolr).add(anyCollection());
+        ReflectionTestUtils.setField(solrSearchCore, "solr", failingSolr);
+        try {
+            assertEquals(queued, indexQueueService.processQueue(context));
+            context.commit();
+        } finally {
+            ReflectionTestUtils.setField(solrSearchCore, "solr", solr);
+        }
+        assertEquals(0, countItems("Failed item"));
+        assertEquals(queued, indexQueueService.countQueued(context));
+
+        try {
+            assertEquals(queued, indexQueueService.processQueue(context));
+            context.commit();
+        } finally {
+            configurationService.setProperty("discovery.index.async.retry-delay", null);
+        }
+        assertEquals(1, countItems("Failed item"));
+        assertEquals(0, indexQueueService.countQueued(context));
+    }
+
+    private long countItems(String title) throws SolrServerException, IOException {
+        SolrQuery query = new SolrQuery("dc.title:\"" + title + "\"");
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        return solrSearchCore.getSolr().query(query).getResults().getNumFound();
+    }
+}
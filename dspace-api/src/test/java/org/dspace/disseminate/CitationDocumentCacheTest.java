@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.function.IOConsumer;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link CitationDocumentCache}.
+ */
+public class CitationDocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final UUID item = UUID.randomUUID();
+    private final UUID bitstream = UUID.randomUUID();
+    private final UUID otherBitstream = UUID.randomUUID();
+
+    private final AtomicInteger generated = new AtomicInteger();
+
+    @Test
+    public void documentIsGeneratedOnce() throws IOException {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.getRoot(), 1000);
+
+        File file = cache.get(item, bitstream, "v1", write("cited"));
+        assertEquals("cited", Files.readString(file.toPath()));
+        assertEquals(file, cache.get(item, bitstream, "v1", write("other")));
+        assertEquals(1, generated.get());
+
+        // a new version of the bitstream or item is generated again
+        File newFile = cache.get(item, bitstream, "v2", write("changed"));
+        assertEquals("changed", Files.readString(newFile.toPath()));
+        assertEquals(2, generated.get());
+        assertEquals(2, cache.count());
+        assertEquals(12, cache.size());
+    }
+
+    @Test
+    public void leastRecentlyUsedDocumentsAreRemoved() throws IOException {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.getRoot(), 10);
+
+        File first = cache.get(item, bitstream, "v1", write("12345"));
+        File second = cache.get(item, otherBitstream, "v1", write("12345"));
+        // use the first one again
+        cache.get(item, bitstream, "v1", write("12345"));
+        File third = cache.get(UUID.randomUUID(), UUID.randomUUID(), "v1", write("12345"));
+
+        assertTrue(first.exists());
+        assertFalse(second.exists());
+        assertTrue(third.exists());
+        assertEquals(10, cache.size());
+
+        // a single document larger than the cache is still returned
+        File large = cache.get(item, bitstream, "v2", write("123456789012"));
+        assertTrue(large.exists());
+        assertEquals(1, cache.count());
+    }
+
+    @Test
+    public void invalidate() throws IOException {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.getRoot(), 1000);
+        File first = cache.get(item, bitstream, "v1", write("first"));
+        File second = cache.get(item, otherBitstream, "v1", write("second"));
+        File other = cache.get(UUID.randomUUID(), UUID.randomUUID(), "v1", write("other"));
+
+        cache.invalidate(bitstream);
+        assertFalse(first.exists());
+        assertTrue(second.exists());
+
+        cache.invalidate(item);
+        assertFalse(second.exists());
+        assertTrue(other.exists());
+        assertEquals(1, cache.count());
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    public void documentsAreKeptAcrossRestarts() throws IOException {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.getRoot(), 1000);
+        cache.get(item, bitstream, "v1", write("cited"));
+        // left by a generation which did not complete
+        File tempFile = folder.newFile("interrupted.pdf.tmp");
+
+        CitationDocumentCache restarted = new CitationDocumentCache(folder.getRoot(), 1000);
+        assertEquals(1, restarted.count());
+        assertFalse(tempFile.exists());
+        restarted.get(item, bitstream, "v1", write("other"));
+        assertEquals(1, generated.get());
+    }
+
+    @Test
+    public void failedGenerationIsNotCached() throws IOException {
+        CitationDocumentCache cache = new CitationDocumentCache(folder.getRoot(), 1000);
+
+        assertThrows(IOException.class, () -> cache.get(item, bitstream, "v1", file -> {
+            Files.writeString(file.toPath(), "partial", UTF_8);
+            throw new IOException("Invalid PDF");
+        }));
+        assertEquals(0, cache.count());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    private IOConsumer<File> write(String content) {
+        return file -> {
+            generated.incrementAndGet();
+            Files.writeString(file.toPath(), content, UTF_8);
+        };
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.disseminate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.BitstreamBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bitstream;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.disseminate.factory.DisseminateServiceFactory;
+import org.dspace.disseminate.service.CitationDocumentService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the cache of the cited documents of {@link CitationDocumentService}.
+ */
+public class CitationDocumentServiceIT extends AbstractIntegrationTestWithDatabase {
+
+    private final CitationDocumentService citationDocumentService =
+        DisseminateServiceFactory.getInstance().getCitationDocumentService();
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private Item item;
+
+    private Bitstream bitstream;
+
+    @Before
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity).build();
+        item = ItemBuilder.createItem(context, collection)
+                          .withTitle("Public item citation cover page test")
+                          .withAuthor("Smith, Donald")
+                          .build();
+        try (InputStream is = new FileInputStream(testProps.get("test.bitstream").toString())) {
+            bitstream = BitstreamBuilder.createBitstream(context, item, is)
+                                        .withMimeType("application/pdf")
+                                        .build();
+        }
+        context.restoreAuthSystemState();
+    }
+
+    @Test
+    public void citedDocumentIsCached() throws Exception {
+        File citedDocument = citationDocumentService.getCitedDocumentFile(context, bitstream);
+
+        try (PDDocument document = Loader.loadPDF(citedDocument)) {
+            assertThat(document.getNumberOfPages(), greaterThan(1));
+        }
+        assertThat(citationDocumentService.getCitedDocumentFile(context, bitstream), equalTo(citedDocument));
+    }
+
+    @Test
+    public void citedDocumentIsRemovedWhenTheItemChanges() throws Exception {
+        File citedDocument = citationDocumentService.getCitedDocumentFile(context, bitstream);
+
+        context.turnOffAuthorisationSystem();
+        itemService.addMetadata(context, item, "dc", "title", "alternative", null, "Changed");
+        itemService.update(context, item);
+        context.restoreAuthSystemState();
+        context.commit();
+        item = context.reloadEntity(item);
+        bitstream = context.reloadEntity(bitstream);
+
+        assertThat(citedDocument.exists(), is(false));
+        File newCitedDocument = citationDocumentService.getCitedDocumentFile(context, bitstream);
+        assertThat(newCitedDocument, not(equalTo(citedDocument)));
+        assertThat(newCitedDocument.exists(), is(true));
+    }
+
+    @Test
+    public void citedDocumentIsGeneratedAgainWhenTheConfigurationChanges() throws Exception {
+        File citedDocument = citationDocumentService.getCitedDocumentFile(context, bitstream);
+
+        configurationService.setProperty("citation-page.page_format", "A4");
+        try {
+            File newCitedDocument = citationDocumentService.getCitedDocumentFile(context, bitstream);
+            assertThat(newCitedDocument, not(equalTo(citedDocument)));
+            assertThat(newCitedDocument.exists(), is(true));
+        } finally {
+            configurationService.setProperty("citation-page.page_format", null);
+        }
+        assertThat(citationDocumentService.getCitedDocumentFile(context, bitstream), equalTo(citedDocument));
+    }
+}
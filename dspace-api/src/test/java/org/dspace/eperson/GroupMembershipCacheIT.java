@@ -0,0 +1,99 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.EPersonBuilder;
+import org.dspace.builder.GroupBuilder;
+import org.dspace.eperson.factory.EPersonServiceFactory;
+import org.dspace.eperson.service.GroupService;
+import org.dspace.utils.DSpace;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Integration tests of the group memberships cached across requests by {@link GroupMembershipCache}.
+ */
+public class GroupMembershipCacheIT extends AbstractIntegrationTestWithDatabase {
+
+    private final GroupService groupService = EPersonServiceFactory.getInstance().getGroupService();
+
+    private final GroupMembershipCache groupMembershipCache = new DSpace().getServiceManager()
+        .getServiceByName(GroupMembershipCache.class.getName(), GroupMembershipCache.class);
+
+    private Group parentGroup;
+    private Group childGroup;
+    private EPerson member;
+
+    @Before
+    public void setUpGroups() throws Exception {
+        context.turnOffAuthorisationSystem();
+        member = EPersonBuilder.createEPerson(context).withEmail("member@example.com").build();
+        parentGroup = GroupBuilder.createGroup(context).withName("parent").build();
+        childGroup = GroupBuilder.createGroup(context).withName("child").withParent(parentGroup)
+                                 .addMember(member).build();
+        context.restoreAuthSystemState();
+        context.commit();
+    }
+
+    @Test
+    public void membershipsAreCachedAcrossContexts() throws Exception {
+        assertThat(groupService.allMemberGroupsSet(context, member), hasItems(parentGroup, childGroup));
+        assertThat(groupMembershipCache.get(member.getID()), hasItems(parentGroup.getID(), childGroup.getID()));
+
+        // a new context (request) finds the memberships in the cache
+        long hits = groupMembershipCache.getStats().hitCount();
+        context.commit();
+        assertThat(groupService.isMember(context, member, parentGroup), is(true));
+        assertThat(groupMembershipCache.getStats().hitCount(), is(hits + 1));
+    }
+
+    @Test
+    public void addingAMemberInvalidatesItsGroups() throws Exception {
+        groupService.allMemberGroupsSet(context, member);
+        assertThat(groupMembershipCache.get(member.getID()), notNullValue());
+
+        context.turnOffAuthorisationSystem();
+        Group otherGroup = GroupBuilder.createGroup(context).withName("other").build();
+        groupService.addMember(context, otherGroup, member);
+        // the uncommitted change is visible to the context making it
+        assertThat(groupService.allMemberGroupsSet(context, member), hasItem(otherGroup));
+        groupService.update(context, otherGroup);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertThat(groupMembershipCache.get(member.getID()), nullValue());
+        assertThat(groupService.allMemberGroupsSet(context, member), hasItem(otherGroup));
+    }
+
+    @Test
+    public void removingASubgroupInvalidatesAllGroups() throws Exception {
+        groupService.allMemberGroupsSet(context, member);
+        assertThat(groupMembershipCache.get(member.getID()), notNullValue());
+
+        context.turnOffAuthorisationSystem();
+        parentGroup = context.reloadEntity(parentGroup);
+        childGroup = context.reloadEntity(childGroup);
+        groupService.removeMember(context, parentGroup, childGroup);
+        groupService.update(context, parentGroup);
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertThat(groupMembershipCache.get(member.getID()), nullValue());
+        assertThat(groupService.allMemberGroupsSet(context, member), not(hasItem(parentGroup)));
+        assertThat(groupService.isMember(context, member, parentGroup), is(false));
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link GroupMembershipCache}.
+ */
+public class GroupMembershipCacheTest {
+
+    private final UUID ePerson = UUID.randomUUID();
+    private final UUID otherEPerson = UUID.randomUUID();
+    private final Set<UUID> groups = Set.of(UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    public void putAndGet() {
+        GroupMembershipCache cache = new GroupMembershipCache(10, 60);
+
+        assertNull(cache.get(ePerson));
+        assertTrue(cache.put(ePerson, groups, cache.getVersion()));
+        assertEquals(groups, cache.get(ePerson));
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void entryComputedBeforeAnInvalidationIsNotStored() {
+        GroupMembershipCache cache = new GroupMembershipCache(10, 60);
+
+        long version = cache.getVersion();
+        // the groups change while the entry is computed
+        cache.invalidate(otherEPerson);
+
+        assertFalse(cache.put(ePerson, groups, version));
+        assertNull(cache.get(ePerson));
+        assertEquals(1, cache.getStaleCount());
+        assertTrue(cache.put(ePerson, groups, cache.getVersion()));
+    }
+
+    @Test
+    public void invalidate() {
+        GroupMembershipCache cache = new GroupMembershipCache(10, 60);
+        cache.put(ePerson, groups, cache.getVersion());
+        cache.put(otherEPerson, groups, cache.getVersion());
+
+        cache.invalidate(ePerson);
+        assertNull(cache.get(ePerson));
+        assertEquals(groups, cache.get(otherEPerson));
+
+        cache.invalidateAll();
+        assertNull(cache.get(otherEPerson));
+    }
+
+    @Test
+    public void disabledCache() {
+        GroupMembershipCache cache = new GroupMembershipCache(0, 60);
+
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.put(ePerson, groups, cache.getVersion()));
+        assertNull(cache.get(ePerson));
+    }
+}
@@ -347,6 +347,41 @@ public class GroupTest extends AbstractUnitTest {
         assertFalse("isMemberGroup 6", groupService.isParentOf(context, level2Group, topGroup));
     }
 
+    @Test
+    public void isSubgroupOfAfterChanges() throws SQLException, AuthorizeException, IOException {
+        context.turnOffAuthorisationSystem();
+        // second path from topGroup to level2Group, through sideGroup
+        Group sideGroup = createGroup("sideGroup");
+        groupService.addMember(context, topGroup, sideGroup);
+        groupService.addMember(context, sideGroup, level2Group);
+        groupService.update(context, sideGroup);
+        Group leafGroup = createGroup("leafGroup");
+        groupService.addMember(context, level2Group, leafGroup);
+        groupService.update(context, level2Group);
+
+        assertTrue("isSubgroupOfAfterChanges 1", groupService.isParentOf(context, topGroup, leafGroup));
+        assertTrue("isSubgroupOfAfterChanges 2", groupService.isParentOf(context, level1Group, leafGroup));
+        assertTrue("isSubgroupOfAfterChanges 3", groupService.isParentOf(context, sideGroup, leafGroup));
+
+        // topGroup still reaches level2Group through sideGroup
+        groupService.removeMember(context, level1Group, level2Group);
+        groupService.update(context, level1Group);
+        assertFalse("isSubgroupOfAfterChanges 4", groupService.isParentOf(context, level1Group, level2Group));
+        assertFalse("isSubgroupOfAfterChanges 5", groupService.isParentOf(context, level1Group, leafGroup));
+        assertTrue("isSubgroupOfAfterChanges 6", groupService.isParentOf(context, topGroup, level2Group));
+        assertTrue("isSubgroupOfAfterChanges 7", groupService.isParentOf(context, topGroup, leafGroup));
+        assertTrue("isSubgroupOfAfterChanges 8", groupService.isParentOf(context, topGroup, level1Group));
+
+        // and no more once sideGroup is deleted
+        groupService.delete(context, sideGroup);
+        assertFalse("isSubgroupOfAfterChanges 9", groupService.isParentOf(context, topGroup, level2Group));
+        assertFalse("isSubgroupOfAfterChanges 10", groupService.isParentOf(context, topGroup, leafGroup));
+        assertTrue("isSubgroupOfAfterChanges 11", groupService.isParentOf(context, level2Group, leafGroup));
+
+        groupService.delete(context, leafGroup);
+        context.restoreAuthSystemState();
+    }
+
     @Test
     public void isMemberEPerson() throws SQLException, AuthorizeException, EPersonDeletionException, IOException {
         EPerson ePerson = null;
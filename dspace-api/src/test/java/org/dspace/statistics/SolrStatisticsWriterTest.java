@@ -0,0 +1,133 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.LongSupplier;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Unit tests for {@link SolrStatisticsWriter}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SolrStatisticsWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private SolrClient solr;
+
+    @Test
+    public void documentsAreSentInBatches() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(solr.add(anyCollection())).thenAnswer(invocation -> {
+            Collection<SolrInputDocument> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return new UpdateResponse();
+        });
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 100, 3, 200, 0, false, spillFile());
+        for (int i = 0; i < 7; i++) {
+            assertThat(writer.write(document("view" + i)), is(true));
+        }
+        writer.shutdown(5000);
+
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum(), is(7));
+        assertThat(batchSizes.stream().allMatch(size -> size <= 3), is(true));
+        assertThat(writer.getWrittenCount(), is(7L));
+        assertThat(writer.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    public void documentsAreSpilledAndReplayedWhenSolrIsBack() throws Exception {
+        List<String> received = new ArrayList<>();
+        when(solr.add(anyCollection()))
+            .thenThrow(new SolrServerException("Solr is down"))
+            .thenAnswer(invocation -> {
+                Collection<SolrInputDocument> batch = invocation.getArgument(0);
+                for (SolrInputDocument document : batch) {
+                    received.add((String) document.getFieldValue("id"));
+                }
+                return new UpdateResponse();
+            });
+        File spillFile = spillFile();
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 100, 10, 50, 0, false, spillFile);
+
+        writer.write(document("first"));
+        waitFor(writer::getSpilledCount, 1);
+        assertThat(spillFile.exists(), is(true));
+
+        writer.write(document("second"));
+        waitFor(writer::getReplayedCount, 1);
+        writer.shutdown(5000);
+
+        assertThat(received, is(List.of("second", "first")));
+        assertThat(writer.getWrittenCount(), is(2L));
+        assertThat(spillFile.exists(), is(false));
+    }
+
+    @Test
+    public void documentsAreDroppedWhenTheBufferIsFull() throws Exception {
+        CountDownLatch solrIsSlow = new CountDownLatch(1);
+        when(solr.add(anyCollection())).thenAnswer(invocation -> {
+            solrIsSlow.await();
+            return new UpdateResponse();
+        });
+        SolrStatisticsWriter writer = new SolrStatisticsWriter(solr, 1, 1, 50, 0, false, spillFile());
+        int accepted = 0;
+        for (int i = 0; i < 5; i++) {
+            if (writer.write(document("view" + i))) {
+                accepted++;
+            }
+        }
+        solrIsSlow.countDown();
+        writer.shutdown(5000);
+
+        assertThat(writer.getDroppedCount(), greaterThanOrEqualTo(3L));
+        assertThat(writer.getDroppedCount(), is(5L - accepted));
+        assertThat(writer.getWrittenCount(), is((long) accepted));
+    }
+
+    private File spillFile() {
+        return new File(folder.getRoot(), "spill/statistics.jsonl");
+    }
+
+    private SolrInputDocument document(String id) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField("id", id);
+        document.addField("type", 2);
+        return document;
+    }
+
+    private void waitFor(LongSupplier counter, long expected) throws InterruptedException {
+        for (int i = 0; i < 100 && counter.getAsLong() < expected; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(counter.getAsLong(), is(expected));
+    }
+}
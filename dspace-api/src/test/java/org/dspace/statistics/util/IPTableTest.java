@@ -11,6 +11,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
 import java.util.Set;
 
 import org.dspace.statistics.util.IPTable.IPFormatException;
@@ -191,6 +192,80 @@ public class IPTableTest {
         assertFalse("Nonsense string should raise an exception.", contains);
     }
 
+    @Test
+    public void testIPv6Contains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::1");
+        instance.add("2001:db8:1::/48");
+        instance.add("fe80::10 - fe80::20");
+
+        assertTrue("Address that was add()ed should match",
+                   instance.contains("2001:0db8:0000:0000:0000:0000:0000:0001"));
+        assertFalse("Address that was not add()ed should not match", instance.contains("2001:db8::2"));
+        assertTrue("Range should contain lower limit", instance.contains("2001:db8:1::"));
+        assertTrue("Range should contain upper limit", instance.contains("2001:db8:1:ffff:ffff:ffff:ffff:ffff"));
+        assertFalse("Range should not contain value above upper limit", instance.contains("2001:db8:2::"));
+        assertTrue("Range should contain value in between limits", instance.contains("[fe80::15]"));
+        assertTrue("Zone index should be ignored", instance.contains("fe80::10%eth0"));
+        assertFalse("Range should not contain value above upper limit", instance.contains("fe80::21"));
+        assertFalse("IPv4 address should not match IPv6 ranges", instance.contains(LOCALHOST));
+    }
+
+    @Test
+    public void testIPv4MappedIPv6Contains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("192.168.1");
+        instance.add("::ffff:10.0.0.1");
+
+        assertTrue(instance.contains("::ffff:192.168.1.20"));
+        assertTrue(instance.contains("::ffff:c0a8:0114"));
+        assertTrue(instance.contains("10.0.0.1"));
+        assertFalse(instance.contains("::ffff:192.168.2.20"));
+    }
+
+    @Test
+    public void testOverlappingRangesAreMerged() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0/24");
+        instance.add("10.0.1.0 - 10.0.1.10");
+        instance.add("10.0.0.5");
+        instance.add("10.0.1.5 - 10.0.2.0");
+        instance.add("2001:db8::/64");
+        instance.add("2001:db8:0:1::/64");
+
+        assertEquals("10.0.0.0-10.0.2.0, 2001:db8:0:0:0:0:0:0-2001:db8:0:1:ffff:ffff:ffff:ffff",
+                     instance.toString());
+        assertTrue(instance.contains("10.0.1.200"));
+        assertFalse(instance.contains("10.0.2.1"));
+    }
+
+    @Test
+    public void testLargeTableContains() throws Exception {
+        IPTable instance = new IPTable();
+        // 100k disjoint ranges of 16 addresses, every other block of 32 addresses
+        for (long i = 0; i < 100_000; i++) {
+            long lo = i * 32;
+            instance.add(IPTable.longToIp(lo) + "-" + IPTable.longToIp(lo + 15));
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long ip = (long) (random.nextDouble() * 100_000 * 32);
+            assertEquals("Lookup of " + IPTable.longToIp(ip), ip % 32 < 16, instance.contains(IPTable.longToIp(ip)));
+        }
+    }
+
+    @Test(expected = IPFormatException.class)
+    public void testAddHostNameIsNotResolved() throws Exception {
+        new IPTable().add("localhost");
+    }
+
+    @Test(expected = IPFormatException.class)
+    public void testContainsBadIPv6Format() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::1");
+        instance.contains("2001:db8::1::2");
+    }
+
     /**
      * Test of toSet method, of class IPTable.
      */
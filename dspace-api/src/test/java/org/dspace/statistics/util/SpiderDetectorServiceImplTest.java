@@ -322,6 +322,30 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
 
     }
 
+    /**
+     * Test that the addresses of a X-Forwarded-For list are matched, whatever the spacing of the list.
+     */
+    @Test
+    public void testIsSpiderProxyIPs() {
+        assertTrue("Spider address in X-Forwarded-For list did not match IP patterns",
+                   spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, "10.1.1.1, 192.168.2.1", null, null));
+        assertFalse("X-Forwarded-For list matched IP patterns",
+                    spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, "10.1.1.1, " + NOT_A_BOT_ADDRESS, null, null));
+    }
+
+    /**
+     * Test that the verdict for an agent is the same when it is looked up again.
+     */
+    @Test
+    public void testRepeatedAgentLookups() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue("'msnbot' didn't match pattern",
+                       spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "msnbot is watching you"));
+            assertFalse("'Firefox' matched a pattern",
+                        spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "Firefox"));
+        }
+    }
+
 
     /**
      * Method to make sure the SpiderDetector is using CaseSensitive matching again after each test
@@ -0,0 +1,106 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SpiderPatternMatcher}.
+ */
+public class SpiderPatternMatcherTest extends AbstractDSpaceTest {
+
+    @Test
+    public void testToLiteral() {
+        assertEquals("bot", SpiderPatternMatcher.toLiteral("bot"));
+        assertEquals("boitho.com-dc", SpiderPatternMatcher.toLiteral("boitho\\.com-dc"));
+        assertEquals("curl/", SpiderPatternMatcher.toLiteral("curl\\/"));
+        assertNull(SpiderPatternMatcher.toLiteral("^ruby$"));
+        assertNull(SpiderPatternMatcher.toLiteral("aria2\\/\\d"));
+        assertNull(SpiderPatternMatcher.toLiteral("daum(oa)?"));
+        assertNull(SpiderPatternMatcher.toLiteral("collection@infegy.com"));
+    }
+
+    @Test
+    public void testLiteralPatterns() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(Arrays.asList("abcd", "bc", "crawl", "bcx"));
+        assertTrue(matcher.matches("xabcx"));
+        assertTrue(matcher.matches("abxbcd"));
+        assertTrue(matcher.matches("Webcrawler"));
+        assertFalse(matcher.matches("abdc"));
+        assertFalse(matcher.matches(""));
+        assertFalse(matcher.matches(null));
+    }
+
+    @Test
+    public void testRegularExpressions() {
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(
+            Arrays.asList("^ruby$", "aria2\\/\\d", "(?i)googlebot", "(a)\\1b", "[invalid"));
+        assertTrue(matcher.matches("ruby"));
+        assertFalse(matcher.matches("ruby on rails"));
+        assertTrue(matcher.matches("aria2/1.35"));
+        assertTrue(matcher.matches("Mozilla/5.0 (compatible; GoogleBot/2.1)"));
+        assertFalse(matcher.matches("Ruby"));
+        assertTrue(matcher.matches("xaab"));
+        assertFalse(matcher.matches("[invalid"));
+        assertFalse(new SpiderPatternMatcher(Arrays.asList("[invalid")).matches("[invalid"));
+        assertTrue(new SpiderPatternMatcher(new ArrayList<>()).isEmpty());
+    }
+
+    /**
+     * The matcher must give the same verdicts as matching each of the shipped agent patterns in turn.
+     */
+    @Test
+    public void testSameVerdictsAsSeparatePatterns() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        SpiderDetectorService spiderDetectorService = new SpiderDetectorServiceImpl(configurationService,
+            CoreServiceFactory.getInstance().getClientInfoService());
+        File agentsDir = new File(configurationService.getProperty("dspace.dir"), "config/spiders/agents");
+        List<String> patterns = new ArrayList<>();
+        for (File file : agentsDir.listFiles()) {
+            patterns.addAll(spiderDetectorService.readPatterns(file));
+        }
+        SpiderPatternMatcher matcher = new SpiderPatternMatcher(patterns);
+
+        String[] agents = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0",
+            "Mozilla/5.0 (X11; Linux x86_64; rv:109.0) Gecko/20100101 Firefox/115.0",
+            "msnbot/2.0b (+http://search.msn.com/msnbot.htm)",
+            "curl/8.4.0",
+            "python-requests/2.31.0",
+            "Java/17.0.2",
+            "",
+            "x",
+            "ruby"
+        };
+        for (String agent : agents) {
+            boolean expected = false;
+            for (String pattern : patterns) {
+                if (Pattern.compile(pattern).matcher(agent).find()) {
+                    expected = true;
+                    break;
+                }
+            }
+            assertEquals("Verdict for '" + agent + "'", expected, matcher.matches(agent));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LazyRangeInputStream}.
+ */
+public class LazyRangeInputStreamTest {
+
+    private static final String CONTENT = "0123456789";
+
+    private final List<Long> retrievedOffsets = new ArrayList<>();
+
+    @Test
+    public void contentIsRetrievedFromTheSkippedPosition() throws IOException {
+        try (InputStream inputStream = new LazyRangeInputStream(CONTENT.length(), this::retrieve)) {
+            assertThat(inputStream.skip(4), is(4L));
+            assertThat(inputStream.skip(2), is(2L));
+            assertThat(retrievedOffsets.isEmpty(), is(true));
+
+            assertThat(IOUtils.toString(inputStream, UTF_8), is("6789"));
+        }
+        assertThat(retrievedOffsets, is(List.of(6L)));
+    }
+
+    @Test
+    public void skipStopsAtTheEndOfTheContent() throws IOException {
+        try (InputStream inputStream = new LazyRangeInputStream(CONTENT.length(), this::retrieve)) {
+            assertThat(inputStream.skip(20), is(10L));
+            assertThat(inputStream.read(), is(-1));
+        }
+        assertThat(retrievedOffsets.isEmpty(), is(true));
+    }
+
+    @Test
+    public void contentIsNotRetrievedIfNotRead() throws IOException {
+        InputStream inputStream = new LazyRangeInputStream(CONTENT.length(), this::retrieve);
+        inputStream.close();
+        assertThat(retrievedOffsets.isEmpty(), is(true));
+    }
+
+    private InputStream retrieve(long offset) {
+        retrievedOffsets.add(offset);
+        return new ByteArrayInputStream(CONTENT.substring((int) offset).getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.storage.bitstore;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.IOUtils;
+import org.dspace.core.Utils;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MultiDigestInputStream}.
+ */
+public class MultiDigestInputStreamTest {
+
+    private static final List<String> ALGORITHMS = List.of("MD5", "SHA-256", "SHA-512");
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void digestsAreComputedByTheReader() throws Exception {
+        byte[] content = randomContent(100_000);
+        try (MultiDigestInputStream inputStream = new MultiDigestInputStream(new ByteArrayInputStream(content),
+                                                                             ALGORITHMS, null, 0)) {
+            assertThat(IOUtils.toByteArray(inputStream), is(content));
+            assertThat(inputStream.getDigests(), is(expectedDigests(content)));
+        }
+    }
+
+    @Test
+    public void digestsAreComputedInParallelAfterTheThreshold() throws Exception {
+        // larger than the bytes waiting to be digested
+        byte[] content = randomContent(MultiDigestInputStream.MAX_PENDING_BYTES + 1_000_000);
+        try (MultiDigestInputStream inputStream = new MultiDigestInputStream(new ByteArrayInputStream(content),
+                                                                             ALGORITHMS, executor, 1000)) {
+            byte[] buffer = new byte[8192];
+            // the buffer is reused while the previous bytes are digested
+            while (inputStream.read(buffer) != -1) {
+                buffer[0] = 0;
+            }
+            assertThat(inputStream.getDigests(), is(expectedDigests(content)));
+        }
+    }
+
+    @Test
+    public void skippedBytesAreDigested() throws Exception {
+        byte[] content = randomContent(50_000);
+        try (InputStream in = new ByteArrayInputStream(content);
+             MultiDigestInputStream inputStream = new MultiDigestInputStream(in, ALGORITHMS, executor, 0)) {
+            assertThat(inputStream.read(), is(content[0] & 0xff));
+            assertThat(inputStream.skip(20_000), is(20_000L));
+            IOUtils.consume(inputStream);
+            assertThat(inputStream.getDigests(), is(expectedDigests(content)));
+        }
+    }
+
+    private static byte[] randomContent(int length) {
+        byte[] content = new byte[length];
+        new Random(length).nextBytes(content);
+        return content;
+    }
+
+    private static Map<String, String> expectedDigests(byte[] content) throws Exception {
+        return Map.of("MD5", Utils.toHex(MessageDigest.getInstance("MD5").digest(content)),
+                      "SHA-256", Utils.toHex(MessageDigest.getInstance("SHA-256").digest(content)),
+                      "SHA-512", Utils.toHex(MessageDigest.getInstance("SHA-512").digest(content)));
+    }
+}
@@ -194,6 +194,112 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutWithMultipartUpload() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.setUploadConcurrency(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String contentFiveParts = "Test bitstream content uploaded in five parts";
+        String contentExactlyTwoParts = "Twenty bytes of data";
+        Bitstream bitstreamFiveParts = createBitstream(contentFiveParts);
+        Bitstream bitstreamExactlyTwoParts = createBitstream(contentExactlyTwoParts);
+        context.restoreAuthSystemState();
+
+        checkMultipartPut(contentFiveParts, bitstreamFiveParts);
+        checkMultipartPut(contentExactlyTwoParts, bitstreamExactlyTwoParts);
+
+    }
+
+    private void checkMultipartPut(String content, Bitstream bitstream) throws IOException {
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+    }
+
+    @Test
+    public void testBitstreamGetWithReadAhead() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content read in chunks of 22 bytes, several chunks ahead";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        for (int readAheadChunks : new int[] {0, 1, 5}) {
+            s3BitStoreService.setReadAheadChunks(readAheadChunks);
+
+            try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+                assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+            }
+
+            StringBuilder readByteByByte = new StringBuilder();
+            try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+                int read;
+                while ((read = inputStream.read()) != -1) {
+                    readByteByByte.append((char) read);
+                }
+            }
+            assertThat(readByteByByte.toString(), is(content));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetWithExhaustedReadAheadMemory() throws IOException {
+
+        // the budget is smaller than a chunk, so all the chunks are downloaded when they are read
+        s3BitStoreService.setReadAheadMemory(10);
+        s3BitStoreService.setReadAheadChunks(5);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content read in chunks of 22 bytes, without any read-ahead memory";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+        }
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 30, 25)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(30, 55)));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetRange() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream content retrieved from the middle of the second chunk";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 30, 25)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(30, 55)));
+        }
+        try (InputStream inputStream = s3BitStoreService.get(bitstream, 50, 1000)) {
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(50)));
+        }
+
+    }
+
     @Test
     public void testBitstreamPutAndGetWithSubFolder() throws IOException {
 
@@ -11,6 +11,7 @@ import static org.dspace.app.rest.utils.ContextUtil.obtainContext;
 import static org.dspace.app.rest.utils.RegexUtils.REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID;
 import static org.springframework.web.bind.annotation.RequestMethod.PUT;
 
+import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
@@ -19,6 +20,7 @@ import java.util.UUID;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.core.Response;
+import org.apache.catalina.Globals;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -46,6 +48,8 @@ import org.dspace.usage.UsageEvent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -232,6 +236,23 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                // Let the servlet container send local files itself, without copying them through the heap
+                ResponseEntity sendfileResponse = sendFile(request, httpHeaders, bitstreamResource);
+                if (sendfileResponse != null) {
+                    return sendfileResponse;
+                }
+
+                // Only retrieve the requested ranges from the store, Spring skips to the start of each of them
+                String range = request.getHeader(HttpHeaders.RANGE);
+                if (StringUtils.isNotBlank(range)) {
+                    try {
+                        bitstreamResource.setRequestedRanges(HttpRange.parseRanges(range));
+                    } catch (IllegalArgumentException e) {
+                        // Spring answers the invalid ranges
+                        log.debug("Invalid Range header: {}", range);
+                    }
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
@@ -262,6 +283,68 @@ public class BitstreamRestController {
         return name;
     }
 
+    /**
+     * Prepare the response to be sent by the servlet container with its sendfile support (Tomcat transfers the file
+     * with FileChannel.transferTo), when the bitstream is stored in a local file and is larger than the
+     * "webui.content_sendfile_threshold". Only full downloads and single ranges are sent this way, other Range
+     * requests (multiple or unsatisfiable ranges) are still answered by Spring.
+     *
+     * @param request           HTTP request
+     * @param httpHeaders       the headers of the response
+     * @param bitstreamResource the content to send
+     * @return the response without body, or null if the content has to be written by Spring
+     * @throws IOException if the local file of the bitstream can't be determined
+     */
+    private ResponseEntity sendFile(HttpServletRequest request, HttpHeaders httpHeaders,
+                                    org.dspace.app.rest.utils.BitstreamResource bitstreamResource)
+        throws IOException {
+        long threshold = configurationService.getLongProperty("webui.content_sendfile_threshold", 49152);
+        long length = bitstreamResource.contentLength();
+        if (threshold < 0 || length < threshold
+            || !Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+            return null;
+        }
+        File file = bitstreamResource.getLocalFile();
+        if (file == null || file.length() != length) {
+            return null;
+        }
+
+        long start = 0;
+        long end = length;
+        HttpStatus status = HttpStatus.OK;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(range)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() != 1) {
+                    return null;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                if (start >= length) {
+                    // unsatisfiable range, HttpRange doesn't check it: Spring answers with a 416 status
+                    return null;
+                }
+                end = ranges.get(0).getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            httpHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        }
+        httpHeaders.setContentLength(end - start);
+        // Spring only quotes the ETag of the responses with a 200 status
+        String checksum = bitstreamResource.getChecksum();
+        if (StringUtils.isNotBlank(checksum)) {
+            httpHeaders.setETag("\"" + checksum + "\"");
+        }
+
+        request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+        request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+        request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, end);
+        log.debug("Sending {} bytes of {} with sendfile", end - start, file);
+        return ResponseEntity.status(status).headers(httpHeaders).build();
+    }
+
     /**
      * Check for a success or other non-error response message
      * @param response HTTP resposnse
@@ -13,7 +13,9 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.DiscoveryIndexQueueHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
+import org.dspace.app.rest.health.GroupMembershipCacheHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
@@ -83,6 +85,19 @@ public class ActuatorConfiguration {
         return new SolrHealthIndicator(solrServerResolver.getServer());
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoveryIndexQueue")
+    @ConditionalOnProperty(name = "discovery.index.async.enabled", havingValue = "true")
+    public DiscoveryIndexQueueHealthIndicator discoveryIndexQueueHealthIndicator() {
+        return new DiscoveryIndexQueueHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("groupMembershipCache")
+    public GroupMembershipCacheHealthIndicator groupMembershipCacheHealthIndicator() {
+        return new GroupMembershipCacheHealthIndicator();
+    }
+
     @Bean
     @ConditionalOnEnabledHealthIndicator("seo")
     public SEOHealthIndicator seoHealthIndicator() {
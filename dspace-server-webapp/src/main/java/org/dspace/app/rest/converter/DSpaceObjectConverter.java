@@ -62,10 +62,11 @@ public abstract class DSpaceObjectConverter<M extends DSpaceObject, R extends or
         if (obj.getID() != null) {
             resource.setUuid(obj.getID().toString());
         }
-        resource.setName(obj.getName());
-
+        // the metadata are retrieved first, with the context of the request: the name is then read from the
+        // metadata cached on the object
         MetadataValueList metadataValues = getPermissionFilteredMetadata(
                 ContextUtil.obtainCurrentRequestContext(), obj);
+        resource.setName(obj.getName());
         resource.setMetadata(converter.toRest(metadataValues, projection));
         return resource;
     }
@@ -24,6 +24,7 @@ import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.IndexableObject;
 import org.dspace.discovery.configuration.DiscoveryConfiguration;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -43,6 +44,9 @@ public class DiscoverResultConverter {
     @Autowired
     protected ConverterService converter;
 
+    @Autowired
+    private IndexableItemProjectionConverter itemProjectionConverter;
+
     @Autowired
     private DiscoverFacetsConverter facetConverter;
     @Autowired
@@ -98,6 +102,10 @@ public class DiscoverResultConverter {
 
     private RestAddressableModel convertDSpaceObject(final IndexableObject indexableObject,
                                                      final Projection projection) {
+        if (indexableObject instanceof IndexableItemProjection
+            && !((IndexableItemProjection) indexableObject).isLoaded()) {
+            return itemProjectionConverter.convert((IndexableItemProjection) indexableObject, projection);
+        }
         return converter.toRest(indexableObject.getIndexedObject(), projection);
     }
 
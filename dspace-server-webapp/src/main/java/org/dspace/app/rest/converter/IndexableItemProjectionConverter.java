@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.converter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.rest.model.ItemRest;
+import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.ContextUtil;
+import org.dspace.app.util.service.MetadataExposureService;
+import org.dspace.content.dto.MetadataValueDTO;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItemProjection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converter building the {@link ItemRest} of a search result from the fields stored in the Discovery index, without
+ * loading the item from the database. Only the metadata stored in the index are returned; the linked resources of
+ * the item (bundles, thumbnail, owning collection...) are still loaded from the database when they are embedded.
+ * <p>
+ * The read access to the item is not checked again: the search results are already restricted to the items the
+ * current user can read by the Discovery index.
+ */
+@Component
+public class IndexableItemProjectionConverter {
+
+    private static final Logger log = LogManager.getLogger();
+
+    @Autowired
+    private MetadataExposureService metadataExposureService;
+
+    @Autowired
+    private MetadataValueDTOListConverter metadataConverter;
+
+    public ItemRest convert(IndexableItemProjection indexableItem, Projection projection) {
+        ItemRest item = new ItemRest();
+        item.setProjection(projection);
+        item.setUuid(indexableItem.getID().toString());
+        item.setHandle(indexableItem.getHandle());
+        item.setName(indexableItem.getFirstMetadataValue("dc", "title", null));
+        item.setInArchive(indexableItem.isArchived());
+        item.setDiscoverable(indexableItem.isDiscoverable());
+        item.setWithdrawn(indexableItem.isWithdrawn());
+        item.setLastModified(indexableItem.getLastModified());
+        item.setEntityType(indexableItem.getEntityType());
+        item.setMetadata(metadataConverter.convert(getVisibleMetadata(ContextUtil.obtainCurrentRequestContext(),
+                                                                      indexableItem)));
+        return projection.transformRest(item);
+    }
+
+    private List<MetadataValueDTO> getVisibleMetadata(Context context, IndexableItemProjection indexableItem) {
+        List<MetadataValueDTO> visibleMetadata = new ArrayList<>();
+        if (indexableItem.isWithdrawn()) {
+            return visibleMetadata;
+        }
+        try {
+            for (MetadataValueDTO metadataValue : indexableItem.getMetadata()) {
+                if (!metadataExposureService.isHidden(context, metadataValue.getSchema(), metadataValue.getElement(),
+                                                      metadataValue.getQualifier())) {
+                    visibleMetadata.add(metadataValue);
+                }
+            }
+        } catch (SQLException e) {
+            log.error("Error filtering item metadata based on permissions", e);
+        }
+        return visibleMetadata;
+    }
+}
@@ -74,7 +74,8 @@ public class ItemConverter
      */
     @Override
     public MetadataValueList getPermissionFilteredMetadata(Context context, Item obj) {
-        List<MetadataValue> fullList = itemService.getMetadata(obj, Item.ANY, Item.ANY, Item.ANY, Item.ANY, true);
+        List<MetadataValue> fullList = itemService.getMetadata(context, obj, Item.ANY, Item.ANY, Item.ANY, Item.ANY,
+                                                               true);
         List<MetadataValue> returnList = new LinkedList<>();
         try {
             if (obj.isWithdrawn() && (Objects.isNull(context) ||
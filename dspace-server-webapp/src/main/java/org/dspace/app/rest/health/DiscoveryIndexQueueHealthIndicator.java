@@ -0,0 +1,54 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the depth and the lag of the asynchronous discovery
+ * indexing queue. The status is UP_WITH_ISSUES when the oldest queued record is older than
+ * discovery.index.async.max-lag seconds, which means the search index is lagging behind the database.
+ */
+public class DiscoveryIndexQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            long depth = indexQueueService.countQueued(context);
+            Duration lag = indexQueueService.getLag(context);
+            long maxLag = configurationService.getLongProperty("discovery.index.async.max-lag", 300);
+
+            if (lag.getSeconds() > maxLag) {
+                builder.status(UP_WITH_ISSUES_STATUS);
+            } else {
+                builder.up();
+            }
+            builder.withDetail("queueDepth", depth).withDetail("lagSeconds", lag.getSeconds());
+        } finally {
+            context.abort();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import com.google.common.cache.CacheStats;
+import org.dspace.eperson.GroupMembershipCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the size and the hit and miss counts of the group
+ * membership cache shared by all the requests.
+ */
+public class GroupMembershipCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private GroupMembershipCache groupMembershipCache;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        CacheStats stats = groupMembershipCache.getStats();
+        builder.up()
+               .withDetail("size", groupMembershipCache.size())
+               .withDetail("hits", stats.hitCount())
+               .withDetail("misses", stats.missCount())
+               .withDetail("hitRate", stats.hitRate())
+               .withDetail("evictions", stats.evictionCount())
+               .withDetail("staleEntries", groupMembershipCache.getStaleCount());
+    }
+
+}
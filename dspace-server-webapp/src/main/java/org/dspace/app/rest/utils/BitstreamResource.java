@@ -7,27 +7,34 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Bitstream;
 import org.dspace.content.factory.ContentServiceFactory;
 import org.dspace.content.service.BitstreamService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.disseminate.service.CitationDocumentService;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.EPersonService;
+import org.dspace.storage.bitstore.LazyRangeInputStream;
 import org.dspace.utils.DSpace;
 import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpRange;
 import org.springframework.util.DigestUtils;
 
 /**
@@ -48,12 +55,18 @@ public class BitstreamResource extends AbstractResource {
 
     protected final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
     protected final EPersonService ePersonService = EPersonServiceFactory.getInstance().getEPersonService();
+    protected final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
     protected final CitationDocumentService citationDocumentService =
             new DSpace().getServiceManager()
                     .getServicesByType(CitationDocumentService.class).get(0);
 
     protected BitstreamDocument document;
 
+    /**
+     * The ranges of the content requested by the client, empty if the whole content is requested
+     */
+    protected List<HttpRange> requestedRanges = List.of();
+
     public BitstreamResource(String name, UUID uuid, UUID currentUserUUID, Set<UUID> currentSpecialGroups,
                              boolean shouldGenerateCoverPage) {
         this.name = name;
@@ -64,22 +77,19 @@ public class BitstreamResource extends AbstractResource {
     }
 
     /**
-     * Get Potential cover page by array, this method should only be called when a coverpage should be generated
-     * In case of failure the original file will be returned
+     * Get Potential cover page from the cache of the cited documents, this method should only be called when a
+     * coverpage should be generated
      *
      * @param context   the DSpace context
      * @param bitstream the pdf for which we want to generate a coverpage
-     * @return a byte array containing the cover page
+     * @return the file containing the document with the cover page, or null if it could not be generated
      */
-    byte[] getCoverpageByteArray(Context context, Bitstream bitstream)
-            throws IOException, SQLException, AuthorizeException {
+    File getCoverpageFile(Context context, Bitstream bitstream) {
         try {
-            var citedDocument = citationDocumentService.makeCitedDocument(context, bitstream);
-            return citedDocument.getLeft();
+            return citationDocumentService.getCitedDocumentFile(context, bitstream);
         } catch (Exception e) {
             LOG.warn("Could not generate cover page. Will fallback to original document", e);
-            // Return the original bitstream without the cover page
-            return IOUtils.toByteArray(bitstreamService.retrieve(context, bitstream));
+            return null;
         }
     }
 
@@ -88,11 +98,29 @@ public class BitstreamResource extends AbstractResource {
         return "bitstream [" + uuid + "]";
     }
 
+    /**
+     * Get the content of the document. The content of the bitstream is only retrieved when it is read, from the
+     * position the stream was skipped to, so that a Range request doesn't read the bytes before the range.
+     * A document with a cover page is read from the cache of the cited documents.
+     */
     @Override
     public InputStream getInputStream() throws IOException {
         fetchDocument();
 
-        return document.inputStream();
+        if (document.coverPage() != null) {
+            try {
+                return new FileInputStream(document.coverPage());
+            } catch (FileNotFoundException e) {
+                // removed from the cache since it was fetched, get it again
+                LOG.debug("cover page {} was removed from the cache", document.coverPage());
+                document = null;
+                fetchDocument();
+                if (document.coverPage() != null) {
+                    return new FileInputStream(document.coverPage());
+                }
+            }
+        }
+        return new LazyRangeInputStream(document.length(), this::retrieve);
     }
 
     @Override
@@ -119,25 +147,101 @@ public class BitstreamResource extends AbstractResource {
         }
 
         try (Context context = initializeContext()) {
-            Bitstream bitstream = bitstreamService.find(context, uuid);
+            Bitstream bitstream = findBitstream(context);
+            // the content is retrieved when it is read, check now that it can be
+            authorizeService.authorizeAction(context, bitstream, Constants.READ);
             if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(context, bitstream);
+                var coverPage = getCoverpageFile(context, bitstream);
 
+                // In case of failure the original file will be sent
                 this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
+                        coverPage != null ? coverPage.length() : bitstream.getSizeBytes(),
+                        coverPage);
             } else {
                 this.document = new BitstreamDocument(bitstream.getChecksum(),
                         bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                        null);
             }
-        } catch (SQLException | AuthorizeException | IOException e) {
+        } catch (SQLException | AuthorizeException e) {
             throw new RuntimeException(e);
         }
 
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Find the bitstream in a context initialized by {@link #initializeContext()}, and check that it can be
+     * retrieved in this context
+     *
+     * @param context the DSpace context
+     * @return the bitstream
+     */
+    Bitstream findBitstream(Context context) throws SQLException, AuthorizeException {
+        return bitstreamService.find(context, uuid);
+    }
+
+    /**
+     * Set the ranges of the content requested by the client (HTTP Range header), so that only these ranges are
+     * retrieved from the store.
+     *
+     * @param requestedRanges the requested ranges
+     */
+    public void setRequestedRanges(List<HttpRange> requestedRanges) {
+        this.requestedRanges = requestedRanges;
+    }
+
+    /**
+     * Retrieve the content of the bitstream from the given position: to the end of the requested range starting at
+     * this position, or to the end of the bitstream if no range starts there
+     *
+     * @param offset the position of the first byte to retrieve
+     * @return the content of the bitstream
+     */
+    InputStream retrieve(long offset) throws IOException {
+        try (Context context = initializeContext()) {
+            Bitstream bitstream = findBitstream(context);
+            return bitstreamService.retrieve(context, bitstream, offset, getRetrievedLength(offset));
+        } catch (SQLException | AuthorizeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @param offset the position of the first byte to retrieve
+     * @return the length of the requested range starting at this position, or the length of the rest of the
+     * bitstream if no range starts there
+     */
+    long getRetrievedLength(long offset) {
+        long length = document.length();
+        long end = -1;
+        for (HttpRange range : requestedRanges) {
+            if (range.getRangeStart(length) == offset) {
+                end = Math.max(end, range.getRangeEnd(length) + 1);
+            }
+        }
+        return (end < 0 ? length : end) - offset;
+    }
+
+    /**
+     * Get the file holding the content of the bitstream, so that it can be sent by the servlet container without
+     * being copied through the JVM
+     *
+     * @return the file, or null if a cover page is sent or the bitstream is not stored in a local file
+     */
+    public File getLocalFile() throws IOException {
+        fetchDocument();
+
+        if (document.coverPage() != null) {
+            return null;
+        }
+        try (Context context = initializeContext()) {
+            Bitstream bitstream = findBitstream(context);
+            return bitstreamService.getLocalFile(context, bitstream);
+        } catch (SQLException | AuthorizeException e) {
+            throw new IOException(e);
+        }
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
@@ -165,5 +269,9 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    /**
+     * The document to send: the cached file of the document with its cover page, if one was generated, otherwise
+     * the content of the bitstream itself is retrieved when it is read
+     */
+    record BitstreamDocument(String etag, long length, File coverPage) {}
 }
@@ -7,7 +7,6 @@
  */
 package org.dspace.app.rest.utils;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Set;
@@ -62,44 +61,29 @@ public class BitstreamResourceAccessByToken extends BitstreamResource {
             throw new RuntimeException("Request a copy is not enabled, download via access token will not be allowed");
         }
 
-        // If document is already set for this BitstreamResource, return
-        if (document != null) {
-            return;
-        }
-
-        try (Context fileRetrievalContext = initializeContext()) {
-            // Set special privileges for context for this access
-            // Note - this is a try-with-resources statement. The context has a very limited lifetime.
-            // However, be very careful using context in this block! It should ONLY perform authorization
-            // of the access token and retrieval of the bitstream content.
-            fileRetrievalContext.turnOffAuthorisationSystem();
-            // Get bitstream from uuid
-            Bitstream bitstream = bitstreamService.find(fileRetrievalContext, uuid);
+        super.fetchDocument();
+    }
 
-            try {
-                // Explicitly authenticate the access request acceptance for the bitstream
-                // even if we have already done it in the REST controller and throw Authorize exception if not valid
-                requestItemService.authorizeAccessByAccessToken(fileRetrievalContext, bitstream, accessToken);
+    /**
+     * Find the bitstream with special privileges for this access, after checking the access token.
+     * Be very careful using the context afterwards! It should ONLY perform the retrieval of the bitstream content.
+     */
+    @Override
+    Bitstream findBitstream(Context fileRetrievalContext) throws SQLException, AuthorizeException {
+        // Set special privileges for context for this access
+        fileRetrievalContext.turnOffAuthorisationSystem();
+        // Get bitstream from uuid
+        Bitstream bitstream = bitstreamService.find(fileRetrievalContext, uuid);
 
-            } catch (AuthorizeException e) {
-                throw new AuthorizeException("Authorization to bitstream " + uuid + " by access token FAILED");
-            }
-            if (shouldGenerateCoverPage) {
-                var coverPage = getCoverpageByteArray(fileRetrievalContext, bitstream);
+        try {
+            // Explicitly authenticate the access request acceptance for the bitstream
+            // even if we have already done it in the REST controller and throw Authorize exception if not valid
+            requestItemService.authorizeAccessByAccessToken(fileRetrievalContext, bitstream, accessToken);
 
-                this.document = new BitstreamDocument(etag(bitstream),
-                        coverPage.length,
-                        new ByteArrayInputStream(coverPage));
-            } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(fileRetrievalContext, bitstream));
-            }
-        } catch (SQLException | AuthorizeException | IOException e) {
-            throw new RuntimeException(e);
+        } catch (AuthorizeException e) {
+            throw new AuthorizeException("Authorization to bitstream " + uuid + " by access token FAILED");
         }
-
-        LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
+        return bitstream;
     }
 
 }
\ No newline at end of file
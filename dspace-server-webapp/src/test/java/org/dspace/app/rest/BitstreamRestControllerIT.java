@@ -22,6 +22,7 @@ import static org.dspace.core.Constants.DEFAULT_BITSTREAM_READ;
 import static org.dspace.core.Constants.READ;
 import static org.dspace.core.Constants.WRITE;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -42,6 +43,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -58,6 +60,7 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.catalina.Globals;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.CharEncoding;
@@ -349,6 +352,92 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveBitstreamWithSendfile() throws Exception {
+        configurationService.setProperty("webui.content_sendfile_threshold", 0);
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .withIssueDate("2017-10-17")
+                                          .withAuthor("Smith, Donald").withAuthor("Doe, John")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withDescription("This is a bitstream to test sendfile downloads")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //** WHEN **
+        //We download the bitstream through a connector supporting sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true))
+
+                   //** THEN **
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", bitstreamContent.getBytes().length))
+                   .andExpect(header().string("ETag", "\"" + bitstream.getChecksum() + "\""))
+                   //The file of the bitstream is sent by the container, not in the body
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, notNullValue()))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 0L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 10L))
+                   .andExpect(content().bytes(new byte[0]));
+
+        //** WHEN **
+        //We download only a specific byte range of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true)
+                                .header("Range", "bytes=1-3"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 3))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_START_ATTR, 1L))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILE_END_ATTR, 4L));
+
+        //** WHEN **
+        //We request several ranges, which are still sent by Spring
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true)
+                                .header("Range", "bytes=1-3,5-6"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, nullValue()));
+
+        //** WHEN **
+        //We request a range starting after the end of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(Globals.SENDFILE_SUPPORTED_ATTR, true)
+                                .header("Range", "bytes=10-"))
+
+                   //** THEN **
+                   .andExpect(status().is(416))
+                   .andExpect(header().string("Content-Range", "bytes */10"))
+                   .andExpect(request().attribute(Globals.SENDFILE_FILENAME_ATTR, nullValue()));
+
+        //Only the full download is logged as a statistics record
+        checkNumberOfStatsRecords(bitstream, 1);
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 